@@ -1,13 +1,20 @@
 package com.bakery.api.config;
 
+import com.bakery.api.config.custom.CachingJwtTokenStore;
 import com.bakery.api.config.custom.CustomAccessTokenConverter;
+import com.bakery.api.config.custom.JwkSetSignatureVerifier;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtSignatureAlgorithm;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
 import org.springframework.security.oauth2.config.annotation.web.configuration.EnableResourceServer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.ResourceServerConfigurerAdapter;
 import org.springframework.security.oauth2.config.annotation.web.configurers.ResourceServerSecurityConfigurer;
@@ -16,34 +23,67 @@ import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+import org.springframework.web.client.RestTemplate;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
 
+import static com.bakery.common.JsonWebKeyVerifiers.verifierOf;
 import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.springframework.http.HttpMethod.OPTIONS;
 import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
 import static org.springframework.util.StreamUtils.copyToString;
+import static org.springframework.util.StringUtils.hasText;
 
 @EnableResourceServer
 @EnableGlobalMethodSecurity(prePostEnabled = true)
 @Configuration
 public class ResourceConfig extends ResourceServerConfigurerAdapter {
 
+    /**
+     * cache.jwt.enabled 가 true 인 경우 검증된 토큰을 exp 까지 캐시한다.
+     */
     @Bean
-    public TokenStore tokenStore(JwtAccessTokenConverter jwtAccessTokenConverter) {
-        return new JwtTokenStore(jwtAccessTokenConverter);
+    public TokenStore tokenStore(StreamingJwtAccessTokenConverter jwtAccessTokenConverter,
+                                 @Value("${cache.jwt.enabled:true}") boolean enabled,
+                                 @Value("${cache.jwt.maximumSize:10000}") long maximumSize, MeterRegistry meterRegistry) {
+        if (!enabled) {
+            return new JwtTokenStore(jwtAccessTokenConverter);
+        }
+        return new CachingJwtTokenStore(jwtAccessTokenConverter, maximumSize, meterRegistry);
     }
 
     @Bean
-    public JwtAccessTokenConverter accessTokenConverter(@Value("${jwt.publicKey.location}") String location, ResourceLoader resourceLoader) throws IOException {
-        JwtAccessTokenConverter jwtAccessTokenConverter = new JwtAccessTokenConverter();
-        Resource resource = resourceLoader.getResource(location);
-        InputStream inputStream = resource.getInputStream();
-        String publicKey = copyToString(inputStream, UTF_8);
-        jwtAccessTokenConverter.setVerifierKey(publicKey);
-        jwtAccessTokenConverter.setAccessTokenConverter(new CustomAccessTokenConverter());
-        return jwtAccessTokenConverter;
+    public StreamingJwtAccessTokenConverter accessTokenConverter(SignatureVerifier jwtSignatureVerifier) {
+        return new StreamingJwtAccessTokenConverter(jwtSignatureVerifier, new CustomAccessTokenConverter());
+    }
+
+    /**
+     * jwt.jwkSet.uri 가 설정된 경우 인증 모듈의 JWK Set 에서 kid 로 검증 키를 찾으므로 키 교체 시 재기동하지 않아도 된다.
+     * 설정되지 않은 경우 jwt.publicKey.location 의 공개키 하나로 검증한다.
+     *
+     * @param refreshInterval    JWK Set 재조회 간격
+     * @param minRefreshInterval 알 수 없는 kid 로 JWK Set 을 재조회하는 최소 간격
+     */
+    @Bean
+    public SignatureVerifier jwtSignatureVerifier(@Value("${jwt.publicKey.location:}") String location, @Value("${jwt.algorithm:RS256}") JwtSignatureAlgorithm algorithm,
+                                                  ResourceLoader resourceLoader, @Value("${jwt.jwkSet.uri:}") String jwkSetUri,
+                                                  @Value("${jwt.jwkSet.refreshInterval:5m}") Duration refreshInterval,
+                                                  @Value("${jwt.jwkSet.minRefreshInterval:30s}") Duration minRefreshInterval,
+                                                  @Value("${jwt.jwkSet.timeout:2s}") Duration timeout,
+                                                  RestTemplateBuilder restTemplateBuilder, MeterRegistry meterRegistry) throws IOException, GeneralSecurityException {
+        SignatureVerifier publicKeyVerifier = hasText(location) ? publicKeyVerifier(location, algorithm, resourceLoader) : null;
+        if (!hasText(jwkSetUri)) {
+            return publicKeyVerifier;
+        }
+        RestTemplate restTemplate = restTemplateBuilder
+                .setConnectTimeout(timeout)
+                .setReadTimeout(timeout)
+                .build();
+        return new JwkSetSignatureVerifier(URI.create(jwkSetUri), restTemplate, publicKeyVerifier, refreshInterval, minRefreshInterval, meterRegistry);
     }
 
     @Bean
@@ -54,6 +94,20 @@ public class ResourceConfig extends ResourceServerConfigurerAdapter {
         return defaultTokenServices;
     }
 
+    /**
+     * jwt.algorithm 설정과 공개키의 알고리즘이 일치해야 인증 모듈의 서명 알고리즘과 동일한 검증기를 사용한다.
+     */
+    private static SignatureVerifier publicKeyVerifier(String location, JwtSignatureAlgorithm algorithm, ResourceLoader resourceLoader) throws IOException, GeneralSecurityException {
+        JsonWebKey publicKey;
+        try (InputStream inputStream = resourceLoader.getResource(location).getInputStream()) {
+            publicKey = JsonWebKey.readPem(copyToString(inputStream, UTF_8));
+        }
+        if (publicKey.getAlgorithm() != algorithm) {
+            throw new IllegalArgumentException("jwt.algorithm " + algorithm + " does not match public key " + publicKey.getAlgorithm());
+        }
+        return verifierOf(publicKey);
+    }
+
     @Override
     public void configure(ResourceServerSecurityConfigurer resources) {
         resources.resourceId("api");
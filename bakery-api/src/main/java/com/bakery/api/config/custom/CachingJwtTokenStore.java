@@ -0,0 +1,156 @@
+package com.bakery.api.config.custom;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * 서명 검증과 클레임 변환을 마친 토큰을 토큰 SHA-256 다이제스트 기준으로 캐시하여, 같은 토큰으로 반복 요청하는 경우 검증을 생략한다.
+ * 항목은 토큰의 exp 시점에 만료되고, 검증에 실패한 토큰은 캐시하지 않는다.
+ * DefaultTokenServices 는 요청마다 readAccessToken, readAuthentication 을 호출하므로 JwtTokenStore 는 요청당 두 번 검증하였다.
+ * 캐시에 없는 토큰은 StreamingJwtAccessTokenConverter 로 한 번 검증하고 본문을 한 번 읽는다.
+ * 캐시 통계는 cache 이름 jwt 로, 검증 시간은 jwt.verification, 캐시로 생략한 검증 시간은 jwt.verification.saved 로 기록한다.
+ * 생략한 검증 시간은 요청당 한 번만 기록되도록 readAuthentication 에서 캐시를 사용한 경우에만 기록한다.
+ */
+public class CachingJwtTokenStore extends JwtTokenStore {
+
+    private static final String DIGEST_ALGORITHM = "SHA-256";
+
+    private final StreamingJwtAccessTokenConverter jwtAccessTokenConverter;
+
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private final ThreadLocal<MessageDigest> digests = ThreadLocal.withInitial(CachingJwtTokenStore::createDigest);
+
+    private final Timer verificationTimer;
+
+    private final LongAdder savedNanos = new LongAdder();
+
+    public CachingJwtTokenStore(StreamingJwtAccessTokenConverter jwtAccessTokenConverter, long maximumSize, MeterRegistry meterRegistry) {
+        super(jwtAccessTokenConverter);
+        this.jwtAccessTokenConverter = jwtAccessTokenConverter;
+        this.verifiedTokens = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new ExpireAtTokenExpiration())
+                .recordStats()
+                .build();
+        this.verificationTimer = meterRegistry.timer("jwt.verification");
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt");
+        FunctionCounter
+                .builder("jwt.verification.saved", savedNanos, saved -> saved.sum() / 1e9)
+                .baseUnit("seconds")
+                .description("캐시 조회로 생략한 토큰 검증 시간")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public OAuth2AccessToken readAccessToken(String tokenValue) {
+        return verify(tokenValue, false)
+                .decodedAccessToken
+                .getAccessToken();
+    }
+
+    /**
+     * OAuth2AuthenticationManager 가 요청마다 details 를 설정하므로 캐시된 인증 객체를 복사하여 반환한다.
+     */
+    @Override
+    public OAuth2Authentication readAuthentication(String token) {
+        OAuth2Authentication authentication = verify(token, true)
+                .decodedAccessToken
+                .getAuthentication();
+        return new OAuth2Authentication(authentication.getOAuth2Request(), authentication.getUserAuthentication());
+    }
+
+    /**
+     * @param tokenValue  엑세스 토큰
+     * @param recordSaved 캐시를 사용한 경우 생략한 검증 시간을 기록할지 여부
+     */
+    private VerifiedToken verify(String tokenValue, boolean recordSaved) {
+        String key = digest(tokenValue);
+        VerifiedToken verifiedToken = verifiedTokens.getIfPresent(key);
+        if (verifiedToken != null) {
+            if (recordSaved) {
+                savedNanos.add(verifiedToken.verificationNanos);
+            }
+            return verifiedToken;
+        }
+        long start = System.nanoTime();
+        DecodedAccessToken decodedAccessToken = jwtAccessTokenConverter.decodeAccessToken(tokenValue);
+        long verificationNanos = System.nanoTime() - start;
+        verificationTimer.record(verificationNanos, NANOSECONDS);
+        verifiedToken = new VerifiedToken(decodedAccessToken, verificationNanos);
+        verifiedTokens.put(key, verifiedToken);
+        return verifiedToken;
+    }
+
+    private String digest(String tokenValue) {
+        return Base64
+                .getEncoder()
+                .encodeToString(digests.get().digest(tokenValue.getBytes(US_ASCII)));
+    }
+
+    private static MessageDigest createDigest() {
+        try {
+            return MessageDigest.getInstance(DIGEST_ALGORITHM);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @RequiredArgsConstructor
+    private static class VerifiedToken {
+
+        private final DecodedAccessToken decodedAccessToken;
+
+        private final long verificationNanos;
+
+    }
+
+    /**
+     * exp 가 없는 토큰은 크기 제한에 의해서만 제거된다.
+     */
+    private static class ExpireAtTokenExpiration implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            Date expiration = value.decodedAccessToken
+                    .getAccessToken()
+                    .getExpiration();
+            if (expiration == null) {
+                return Long.MAX_VALUE;
+            }
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, expiration.getTime() - System.currentTimeMillis()));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+
+    }
+
+}
@@ -1,32 +1,143 @@
 package com.bakery.api.config.custom;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
 import org.springframework.security.oauth2.provider.token.DefaultAccessTokenConverter;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
-import static java.lang.Long.parseLong;
+import static com.bakery.common.GrantedAuthorities.setOf;
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+import static java.util.Collections.singletonMap;
+import static org.springframework.security.oauth2.provider.token.UserAuthenticationConverter.USERNAME;
 
+/**
+ * 사용자 토큰의 인증 객체는 CustomUserAuthenticationConverter 에서 TokenUser 로 생성한다.
+ * read 는 JWT 본문을 Map 으로 변환하지 않고 스트리밍 파서로 한 번 읽어 엑세스 토큰과 인증 객체를 바로 생성한다.
+ */
 @Component
 public class CustomAccessTokenConverter extends DefaultAccessTokenConverter {
 
-    @Override
-    public OAuth2Authentication extractAuthentication(Map<String, ?> map) {
-        OAuth2Authentication oAuth2Authentication = super.extractAuthentication(map);
-        Authentication userAuthentication = oAuth2Authentication.getUserAuthentication();
-        Long id = parseLong(map.get("user_id").toString());
-        TokenUser tokenUser = new TokenUser(id, userAuthentication.getName());
-        CustomUserAuthenticationToken customUserAuthenticationToken = new CustomUserAuthenticationToken(
-                tokenUser,
-                userAuthentication.getCredentials(),
-                userAuthentication.getAuthorities()
-        );
-        return new OAuth2Authentication(
-                oAuth2Authentication.getOAuth2Request(),
-                customUserAuthenticationToken
+    private static final String USER_ID = "user_id";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    public CustomAccessTokenConverter() {
+        setUserTokenConverter(new CustomUserAuthenticationConverter());
+    }
+
+    /**
+     * extractAccessToken(tokenValue, map), extractAuthentication(map) 과 같은 토큰, 인증 객체를 생성한다.
+     * 인증 객체로 옮긴 사용자 클레임(user_name, user_id, authorities)은 토큰의 추가 정보에 담지 않는다.
+     *
+     * @param tokenValue 엑세스 토큰
+     * @param claims     서명 검증을 마친 JWT 본문
+     */
+    public DecodedAccessToken read(String tokenValue, String claims) throws IOException {
+        String clientId = null;
+        String username = null;
+        Long userId = null;
+        Long expiration = null;
+        Set<String> scope = emptySet();
+        Set<String> resourceIds = emptySet();
+        List<String> authorityNames = emptyList();
+        Map<String, Object> additionalInformation = new HashMap<>();
+        try (JsonParser parser = OBJECT_MAPPER.getFactory().createParser(claims)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new InvalidTokenException("Cannot convert access token to JSON");
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.getCurrentName();
+                if (parser.nextToken() == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (name) {
+                    case AUD:
+                        resourceIds = strings(parser, null, new LinkedHashSet<>(2));
+                        break;
+                    case CLIENT_ID:
+                        clientId = parser.getText();
+                        break;
+                    case SCOPE:
+                        scope = strings(parser, " ", new LinkedHashSet<>());
+                        break;
+                    case EXP:
+                        expiration = parser.getValueAsLong();
+                        break;
+                    case USERNAME:
+                        username = parser.getText();
+                        break;
+                    case USER_ID:
+                        userId = parser.getValueAsLong();
+                        break;
+                    case AUTHORITIES:
+                        authorityNames = strings(parser, ",", new ArrayList<>());
+                        break;
+                    default:
+                        additionalInformation.put(name, parser.readValueAs(Object.class));
+                }
+            }
+        }
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(tokenValue);
+        if (expiration != null) {
+            accessToken.setExpiration(new Date(expiration * 1000L));
+        }
+        accessToken.setScope(scope);
+        accessToken.setAdditionalInformation(additionalInformation);
+        Collection<GrantedAuthority> authorities = setOf(authorityNames);
+        Authentication user = null;
+        if (username != null) {
+            user = new CustomUserAuthenticationToken(new TokenUser(userId, username), "N/A", authorities);
+        }
+        OAuth2Request request = new OAuth2Request(
+                singletonMap(CLIENT_ID, clientId),
+                clientId,
+                user == null ? authorities : null,
+                true,
+                scope,
+                resourceIds,
+                null,
+                null,
+                null
         );
+        return new DecodedAccessToken(accessToken, new OAuth2Authentication(request, user));
+    }
+
+    /**
+     * 배열 또는 구분자로 연결된 문자열 클레임을 읽는다.
+     *
+     * @param delimiter 문자열 클레임의 구분자, null 인 경우 단일 값
+     */
+    private <T extends Collection<String>> T strings(JsonParser parser, String delimiter, T values) throws IOException {
+        if (parser.currentToken() == JsonToken.START_ARRAY) {
+            while (parser.nextToken() != JsonToken.END_ARRAY) {
+                values.add(parser.getText());
+            }
+        } else if (delimiter == null) {
+            values.add(parser.getText());
+        } else {
+            for (String value : parser.getText().split(delimiter)) {
+                values.add(value.trim());
+            }
+        }
+        return values;
     }
 
 }
@@ -0,0 +1,49 @@
+package com.bakery.api.config.custom;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.provider.token.DefaultUserAuthenticationConverter;
+import org.springframework.util.StringUtils;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static com.bakery.common.GrantedAuthorities.setOf;
+import static java.lang.Long.parseLong;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptySet;
+
+/**
+ * 토큰 클레임의 사용자 정보를 TokenUser 인증 객체로 바로 변환한다.
+ * 권한은 GrantedAuthorities 에서 공유 인스턴스를 사용하여 요청마다 권한 객체를 생성하지 않는다.
+ */
+public class CustomUserAuthenticationConverter extends DefaultUserAuthenticationConverter {
+
+    private static final String USER_ID = "user_id";
+
+    @Override
+    public Authentication extractAuthentication(Map<String, ?> map) {
+        if (!map.containsKey(USERNAME)) {
+            return null;
+        }
+        TokenUser tokenUser = new TokenUser(parseLong(map.get(USER_ID).toString()), (String) map.get(USERNAME));
+        return new CustomUserAuthenticationToken(tokenUser, "N/A", getAuthorities(map));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Collection<GrantedAuthority> getAuthorities(Map<String, ?> map) {
+        Object authorities = map.get(AUTHORITIES);
+        if (authorities instanceof List) {
+            return setOf((List<String>) authorities);
+        }
+        if (authorities instanceof String) {
+            return setOf(asList(StringUtils.commaDelimitedListToStringArray((String) authorities)));
+        }
+        if (authorities instanceof Collection) {
+            return setOf(asList(StringUtils.toStringArray((Collection<String>) authorities)));
+        }
+        return emptySet();
+    }
+
+}
@@ -0,0 +1,19 @@
+package com.bakery.api.config.custom;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+/**
+ * 하나의 JWT 에서 읽은 엑세스 토큰과 인증 객체
+ */
+@Getter
+@RequiredArgsConstructor
+public class DecodedAccessToken {
+
+    private final OAuth2AccessToken accessToken;
+
+    private final OAuth2Authentication authentication;
+
+}
@@ -0,0 +1,178 @@
+package com.bakery.api.config.custom;
+
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtHeader;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.jwt.crypto.sign.InvalidSignatureException;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestOperations;
+
+import java.io.IOException;
+import java.net.URI;
+import java.security.GeneralSecurityException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static com.bakery.common.JsonWebKeyVerifiers.verifierOf;
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.springframework.http.HttpMethod.GET;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+
+/**
+ * 인증 모듈의 JWK Set 을 주기적으로 조회하여 JWT 헤더의 kid 로 검증 키를 선택하는 검증기
+ * 공개키는 조회 시 한 번만 파싱하여 kid 별 검증기로 보관하고, 재조회는 ETag(If-None-Match)로 변경된 경우에만 본문을 받는다.
+ * 알 수 없는 kid 는 키 교체 직후일 수 있으므로 minRefreshInterval 이 지난 경우 즉시 다시 조회한다.
+ * 조회에 실패한 경우 기존 키로 계속 검증하며, 조회 결과는 jwt.jwkset.refresh(result=updated, not_modified, failed)로 기록한다.
+ * kid 가 없는 토큰(kid 추가 이전 발급)과 다시 조회해도 찾을 수 없는 kid 의 토큰은 defaultVerifier(jwt.publicKey.location)로 검증한다.
+ */
+@Slf4j
+public class JwkSetSignatureVerifier implements SignatureVerifier, DisposableBean {
+
+    public static final String REFRESH_COUNTER = "jwt.jwkset.refresh";
+
+    private final URI jwkSetUri;
+
+    private final RestOperations restOperations;
+
+    private final SignatureVerifier defaultVerifier;
+
+    private final long minRefreshIntervalNanos;
+
+    private final MeterRegistry meterRegistry;
+
+    private final ScheduledExecutorService scheduler;
+
+    private volatile Map<String, SignatureVerifier> verifiers = emptyMap();
+
+    private String eTag;
+
+    private long lastRefreshNanos;
+
+    /**
+     * 생성 시 한 번 조회하며, 실패한 경우에도 refreshInterval 마다 다시 조회한다.
+     *
+     * @param defaultVerifier    kid 가 없거나 찾을 수 없는 토큰의 검증기, null 인 경우 해당 토큰은 거부한다.
+     * @param refreshInterval    주기적으로 조회하는 간격, 0 인 경우 주기적으로 조회하지 않는다.
+     * @param minRefreshInterval 알 수 없는 kid 로 조회하는 최소 간격
+     */
+    public JwkSetSignatureVerifier(URI jwkSetUri, RestOperations restOperations, SignatureVerifier defaultVerifier,
+                                   Duration refreshInterval, Duration minRefreshInterval, MeterRegistry meterRegistry) {
+        this.jwkSetUri = jwkSetUri;
+        this.restOperations = restOperations;
+        this.defaultVerifier = defaultVerifier;
+        this.minRefreshIntervalNanos = minRefreshInterval.toNanos();
+        this.meterRegistry = meterRegistry;
+        refresh();
+        if (!refreshInterval.isZero()) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("jwk-set-refresh-"));
+            this.scheduler.scheduleWithFixedDelay(this::refresh, refreshInterval.toMillis(), refreshInterval.toMillis(), MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    @Override
+    public String algorithm() {
+        return defaultVerifier != null ? defaultVerifier.algorithm() : RS256.getJcaName();
+    }
+
+    /**
+     * @throws InvalidSignatureException 알 수 없는 kid, 키와 다른 alg, 서명이 잘못된 경우
+     */
+    @Override
+    public void verify(byte[] content, byte[] signature) {
+        JwtHeader header = JwtHeader.parse(content);
+        String keyId = header.getKeyId();
+        SignatureVerifier verifier;
+        if (keyId == null) {
+            verifier = defaultVerifier;
+        } else {
+            verifier = verifiers.get(keyId);
+            if (verifier == null) {
+                refreshIfStale();
+                verifier = verifiers.getOrDefault(keyId, defaultVerifier);
+            }
+        }
+        if (verifier == null) {
+            throw new InvalidSignatureException("Unknown key id: " + keyId);
+        }
+        if (header.getAlgorithm() == null || !header.getAlgorithm().getJcaName().equals(verifier.algorithm())) {
+            throw new InvalidSignatureException("Algorithm does not match key: " + keyId);
+        }
+        verifier.verify(content, signature);
+    }
+
+    /**
+     * JWK Set 을 조회하여 kid 별 검증기를 교체한다. 변경이 없는 경우(304)와 실패한 경우 기존 검증기를 유지한다.
+     *
+     * @return 검증기를 교체한 경우 true
+     */
+    public synchronized boolean refresh() {
+        lastRefreshNanos = System.nanoTime();
+        try {
+            HttpHeaders headers = new HttpHeaders();
+            headers.setAccept(asList(MediaType.valueOf(JsonWebKey.JWK_SET_CONTENT_TYPE), MediaType.APPLICATION_JSON));
+            if (eTag != null) {
+                headers.setIfNoneMatch(eTag);
+            }
+            ResponseEntity<byte[]> response = restOperations.exchange(jwkSetUri, GET, new HttpEntity<>(headers), byte[].class);
+            if (response.getStatusCode() == NOT_MODIFIED) {
+                meterRegistry.counter(REFRESH_COUNTER, "result", "not_modified").increment();
+                return false;
+            }
+            if (response.getBody() == null) {
+                throw new IOException("JWK Set response has no body");
+            }
+            List<JsonWebKey> keys = JsonWebKey.readSet(response.getBody());
+            if (keys.isEmpty()) {
+                throw new IOException("JWK Set has no signature keys");
+            }
+            Map<String, SignatureVerifier> verifiers = new HashMap<>();
+            for (JsonWebKey key : keys) {
+                verifiers.put(key.getKeyId(), verifierOf(key));
+            }
+            this.verifiers = unmodifiableMap(verifiers);
+            this.eTag = response.getHeaders().getETag();
+            meterRegistry.counter(REFRESH_COUNTER, "result", "updated").increment();
+            log.info("loaded {} keys {} from {}", verifiers.size(), verifiers.keySet(), jwkSetUri);
+            return true;
+        } catch (IOException | GeneralSecurityException | RestClientException e) {
+            meterRegistry.counter(REFRESH_COUNTER, "result", "failed").increment();
+            log.warn("failed to refresh JWK Set from {}, keep {} keys", jwkSetUri, verifiers.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 다른 스레드가 이미 조회한 경우 minRefreshInterval 동안은 다시 조회하지 않는다.
+     */
+    private synchronized void refreshIfStale() {
+        if (System.nanoTime() - lastRefreshNanos >= minRefreshIntervalNanos) {
+            refresh();
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.bakery.api.config.custom;
+
+import org.springframework.security.jwt.Jwt;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+
+/**
+ * JwtAccessTokenConverter 는 토큰을 읽을 때마다 서명 검증 후 본문을 Map 으로 변환하고, 엑세스 토큰과 인증 객체를 각각 Map 에서 생성한다.
+ * decodeAccessToken 은 서명을 한 번 검증하고 CustomAccessTokenConverter.read 로 본문을 한 번 읽어 둘을 함께 생성한다.
+ */
+public class StreamingJwtAccessTokenConverter extends JwtAccessTokenConverter {
+
+    private final SignatureVerifier verifier;
+
+    private final CustomAccessTokenConverter accessTokenConverter;
+
+    public StreamingJwtAccessTokenConverter(SignatureVerifier verifier, CustomAccessTokenConverter accessTokenConverter) {
+        this.verifier = verifier;
+        this.accessTokenConverter = accessTokenConverter;
+        setVerifier(verifier);
+        setAccessTokenConverter(accessTokenConverter);
+    }
+
+    /**
+     * @return ResourceConfig 에서 jwt.algorithm 에 따라 생성한 서명 검증기
+     */
+    public SignatureVerifier getVerifier() {
+        return verifier;
+    }
+
+    /**
+     * JwtTokenStore.readAccessToken 과 같이 리프레시 토큰(ati 클레임 포함)은 엑세스 토큰으로 사용할 수 없다.
+     *
+     * @throws InvalidTokenException 서명 또는 본문이 잘못된 경우, 리프레시 토큰인 경우
+     */
+    public DecodedAccessToken decodeAccessToken(String tokenValue) {
+        DecodedAccessToken decodedAccessToken;
+        try {
+            Jwt jwt = JwtHelper.decodeAndVerify(tokenValue, verifier);
+            decodedAccessToken = accessTokenConverter.read(tokenValue, jwt.getClaims());
+        } catch (InvalidTokenException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new InvalidTokenException("Cannot convert access token to JSON", e);
+        }
+        if (decodedAccessToken
+                .getAccessToken()
+                .getAdditionalInformation()
+                .containsKey(ATI)) {
+            throw new InvalidTokenException("Encoded token is a refresh token");
+        }
+        return decodedAccessToken;
+    }
+
+}
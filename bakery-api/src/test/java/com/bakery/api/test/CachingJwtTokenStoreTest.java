@@ -0,0 +1,140 @@
+package com.bakery.api.test;
+
+import com.bakery.api.config.custom.CachingJwtTokenStore;
+import com.bakery.api.config.custom.CustomAccessTokenConverter;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.api.config.custom.TokenUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.RsaSigner;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CachingJwtTokenStore 검증된 토큰 캐시 단위 테스트")
+public class CachingJwtTokenStoreTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private KeyPair keyPair;
+
+    private MeterRegistry meterRegistry;
+
+    private CachingJwtTokenStore tokenStore;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPair = keyPairGenerator.generateKeyPair();
+        StreamingJwtAccessTokenConverter jwtAccessTokenConverter = new StreamingJwtAccessTokenConverter(
+                new RsaVerifier((RSAPublicKey) keyPair.getPublic()),
+                new CustomAccessTokenConverter()
+        );
+        meterRegistry = new SimpleMeterRegistry();
+        tokenStore = new CachingJwtTokenStore(jwtAccessTokenConverter, 100, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("같은 토큰으로 반복 조회하면 서명 검증 없이 캐시된 인증 정보를 반환하는 경우")
+    public void readAuthentication_CacheHit() throws Exception {
+        // given
+        String token = token(System.currentTimeMillis() / 1000 + 60);
+        OAuth2AccessToken accessToken = tokenStore.readAccessToken(token);
+        OAuth2Authentication first = tokenStore.readAuthentication(accessToken);
+        // when
+        OAuth2Authentication second = tokenStore.readAuthentication(tokenStore.readAccessToken(token));
+        // then
+        assertEquals(first, second);
+        assertNotSame(first, second);
+        assertEquals(1L, ((TokenUser) second.getPrincipal()).getId());
+        assertEquals("bakery@example.com", second.getName());
+        assertEquals(accessToken.getExpiration(), tokenStore.readAccessToken(token).getExpiration());
+        assertEquals(1, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(4, meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", "hit").functionCounter().count());
+        assertTrue(meterRegistry.get("jwt.verification.saved").functionCounter().count() > 0);
+    }
+
+    @Test
+    @DisplayName("요청마다 생략한 검증 시간을 한 번만 기록하는 경우")
+    public void loadAuthentication_RecordSavedOncePerRequest() throws Exception {
+        // given
+        String token = token(System.currentTimeMillis() / 1000 + 60);
+        DefaultTokenServices tokenServices = new DefaultTokenServices();
+        tokenServices.setTokenStore(tokenStore);
+        tokenServices.loadAuthentication(token);
+        double verificationSeconds = meterRegistry.get("jwt.verification").timer().totalTime(SECONDS);
+        double savedAfterFirst = meterRegistry.get("jwt.verification.saved").functionCounter().count();
+        // when
+        tokenServices.loadAuthentication(token);
+        // then
+        assertEquals(1, meterRegistry.get("jwt.verification").timer().count());
+        assertEquals(verificationSeconds, savedAfterFirst, 1e-9);
+        assertEquals(verificationSeconds * 2, meterRegistry.get("jwt.verification.saved").functionCounter().count(), 1e-9);
+    }
+
+    @Test
+    @DisplayName("서명이 잘못된 토큰은 캐시하지 않는 경우")
+    public void readAccessToken_InvalidSignature() throws Exception {
+        // given
+        String token = token(System.currentTimeMillis() / 1000 + 60);
+        String tampered = token.substring(0, token.lastIndexOf('.') + 1) + "invalid";
+        // when & then
+        assertThrows(InvalidTokenException.class, () -> tokenStore.readAccessToken(tampered));
+        assertThrows(InvalidTokenException.class, () -> tokenStore.readAccessToken(tampered));
+        assertEquals(0, meterRegistry.get("cache.size").tag("cache", "jwt").gauge().value());
+        assertEquals(0, meterRegistry.get("jwt.verification").timer().count());
+    }
+
+    @Test
+    @DisplayName("토큰 만료 시간이 지나면 캐시에서 제거되어 다시 검증하는 경우")
+    public void readAccessToken_ExpireAtTokenExpiration() throws Exception {
+        // given
+        long exp = System.currentTimeMillis() / 1000 + 1;
+        String token = token(exp);
+        tokenStore.readAccessToken(token);
+        // when
+        while (System.currentTimeMillis() <= exp * 1000) {
+            Thread.sleep(50);
+        }
+        OAuth2AccessToken accessToken = tokenStore.readAccessToken(token);
+        // then
+        assertTrue(accessToken.isExpired());
+        assertEquals(2, meterRegistry.get("jwt.verification").timer().count());
+    }
+
+    private String token(long exp) throws Exception {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("aud", asList("api"));
+        claims.put("user_id", 1L);
+        claims.put("user_name", "bakery@example.com");
+        claims.put("scope", asList("profile", "review"));
+        claims.put("exp", exp);
+        claims.put("authorities", asList("user", "admin"));
+        claims.put("jti", randomUUID().toString());
+        claims.put("client_id", "client");
+        return JwtHelper
+                .encode(objectMapper.writeValueAsString(claims), new RsaSigner((RSAPrivateKey) keyPair.getPrivate()))
+                .getEncoded();
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.bakery.api.test;
+
+import com.bakery.api.config.custom.CustomAccessTokenConverter;
+import com.bakery.api.config.custom.DecodedAccessToken;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.api.config.custom.TokenUser;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.MacSigner;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Arrays.asList;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CustomAccessTokenConverter 스트리밍 클레임 변환 단위 테스트")
+public class CustomAccessTokenConverterTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final CustomAccessTokenConverter accessTokenConverter = new CustomAccessTokenConverter();
+
+    @Test
+    @DisplayName("사용자 토큰을 Map 변환과 동일한 토큰, 인증 객체로 읽는 경우")
+    public void read_UserToken() throws Exception {
+        // given
+        Map<String, Object> claims = userClaims();
+        claims.put("custom", "value");
+        String json = objectMapper.writeValueAsString(claims);
+        Map<String, Object> map = JsonParserFactory.create().parseMap(json);
+        map.put("exp", ((Number) map.get("exp")).longValue()); // JwtAccessTokenConverter.decode 와 동일
+        OAuth2AccessToken expectedToken = accessTokenConverter.extractAccessToken("token", map);
+        OAuth2Authentication expected = accessTokenConverter.extractAuthentication(map);
+        // when
+        DecodedAccessToken actual = accessTokenConverter.read("token", json);
+        // then
+        OAuth2Authentication authentication = actual.getAuthentication();
+        assertEquals(expected.getOAuth2Request(), authentication.getOAuth2Request());
+        assertEquals(expected.getUserAuthentication().getClass(), authentication.getUserAuthentication().getClass());
+        assertEquals(expected.getAuthorities(), authentication.getAuthorities());
+        assertEquals(((TokenUser) expected.getPrincipal()).getId(), ((TokenUser) authentication.getPrincipal()).getId());
+        assertEquals("bakery@example.com", authentication.getName());
+        assertEquals(expectedToken.getExpiration(), actual.getAccessToken().getExpiration());
+        assertEquals(expectedToken.getScope(), actual.getAccessToken().getScope());
+        assertEquals(claims.get("jti"), actual.getAccessToken().getAdditionalInformation().get("jti"));
+        assertEquals("value", actual.getAccessToken().getAdditionalInformation().get("custom"));
+    }
+
+    @Test
+    @DisplayName("클라이언트 토큰과 문자열 클레임을 Map 변환과 동일하게 읽는 경우")
+    public void read_ClientToken() throws Exception {
+        // given
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("aud", "api");
+        claims.put("scope", "profile review");
+        claims.put("exp", System.currentTimeMillis() / 1000 + 60);
+        claims.put("authorities", asList("client"));
+        claims.put("jti", randomUUID().toString());
+        claims.put("client_id", "client");
+        String json = objectMapper.writeValueAsString(claims);
+        OAuth2Authentication expected = accessTokenConverter.extractAuthentication(JsonParserFactory.create().parseMap(json));
+        // when
+        OAuth2Authentication actual = accessTokenConverter
+                .read("token", json)
+                .getAuthentication();
+        // then
+        assertTrue(actual.isClientOnly());
+        assertEquals(expected, actual);
+        assertEquals(expected.getOAuth2Request().getResourceIds(), actual.getOAuth2Request().getResourceIds());
+        assertEquals(expected.getOAuth2Request().getScope(), actual.getOAuth2Request().getScope());
+        assertEquals(expected.getAuthorities(), actual.getAuthorities());
+    }
+
+    @Test
+    @DisplayName("서명이 잘못된 토큰, 리프레시 토큰을 엑세스 토큰으로 사용하는 경우 실패")
+    public void decodeAccessToken_Fail() throws Exception {
+        // given
+        MacSigner signer = new MacSigner("secret");
+        StreamingJwtAccessTokenConverter jwtAccessTokenConverter = new StreamingJwtAccessTokenConverter(signer, accessTokenConverter);
+        String accessToken = JwtHelper
+                .encode(objectMapper.writeValueAsString(userClaims()), signer)
+                .getEncoded();
+        Map<String, Object> refreshClaims = userClaims();
+        refreshClaims.put("ati", randomUUID().toString());
+        String refreshToken = JwtHelper
+                .encode(objectMapper.writeValueAsString(refreshClaims), signer)
+                .getEncoded();
+        String otherSignature = JwtHelper
+                .encode(objectMapper.writeValueAsString(userClaims()), new MacSigner("other"))
+                .getEncoded();
+        // when & then
+        assertEquals("bakery@example.com", jwtAccessTokenConverter.decodeAccessToken(accessToken).getAuthentication().getName());
+        assertThrows(InvalidTokenException.class, () -> jwtAccessTokenConverter.decodeAccessToken(refreshToken));
+        assertThrows(InvalidTokenException.class, () -> jwtAccessTokenConverter.decodeAccessToken(otherSignature));
+        assertThrows(InvalidTokenException.class, () -> jwtAccessTokenConverter.decodeAccessToken("invalid"));
+    }
+
+    private Map<String, Object> userClaims() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("aud", asList("api"));
+        claims.put("user_id", 1L);
+        claims.put("user_name", "bakery@example.com");
+        claims.put("scope", asList("profile", "review"));
+        claims.put("exp", System.currentTimeMillis() / 1000 + 60);
+        claims.put("authorities", asList("user", "admin"));
+        claims.put("jti", randomUUID().toString());
+        claims.put("client_id", "client");
+        return claims;
+    }
+
+}
@@ -0,0 +1,206 @@
+package com.bakery.api.test;
+
+import com.bakery.api.config.custom.JwkSetSignatureVerifier;
+import com.bakery.common.JsonWebKey;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.InvalidSignatureException;
+import org.springframework.security.jwt.crypto.sign.RsaSigner;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.RestTemplate;
+
+import java.net.URI;
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.RSAPrivateKey;
+import java.security.interfaces.RSAPublicKey;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpHeaders.IF_NONE_MATCH;
+import static org.springframework.http.HttpStatus.NOT_MODIFIED;
+import static org.springframework.test.web.client.ExpectedCount.once;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.header;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withServerError;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+@DisplayName("JwkSetSignatureVerifier kid 검증 키 선택 단위 테스트")
+public class JwkSetSignatureVerifierTest {
+
+    private static final URI JWK_SET_URI = URI.create("http://localhost:9600/auth/oauth/jwks");
+
+    private KeyPair keyPair;
+
+    private KeyPair nextKeyPair;
+
+    private MockRestServiceServer server;
+
+    private RestTemplate restTemplate;
+
+    private MeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        keyPair = keyPairGenerator.generateKeyPair();
+        nextKeyPair = keyPairGenerator.generateKeyPair();
+        restTemplate = new RestTemplate();
+        server = MockRestServiceServer
+                .bindTo(restTemplate)
+                .build();
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    @DisplayName("토큰 헤더의 kid 로 JWK Set 의 키를 찾아 검증하는 경우")
+    public void verify_KeyId() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        JwkSetSignatureVerifier verifier = verifier(null, Duration.ZERO);
+        String token = token(keyPair, keyId(keyPair));
+        // when
+        JwtHelper.decodeAndVerify(token, verifier);
+        // then
+        server.verify();
+        assertEquals(1, meterRegistry.get(JwkSetSignatureVerifier.REFRESH_COUNTER).tag("result", "updated").counter().count());
+    }
+
+    @Test
+    @DisplayName("ETag 가 같아 304 로 응답한 경우 기존 키를 유지하는 경우")
+    public void refresh_NotModified() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        server
+                .expect(once(), requestTo(JWK_SET_URI))
+                .andExpect(header(IF_NONE_MATCH, "\"v1\""))
+                .andRespond(withStatus(NOT_MODIFIED));
+        JwkSetSignatureVerifier verifier = verifier(null, Duration.ZERO);
+        // when
+        boolean refreshed = verifier.refresh();
+        // then
+        server.verify();
+        assertFalse(refreshed);
+        JwtHelper.decodeAndVerify(token(keyPair, keyId(keyPair)), verifier);
+        assertEquals(1, meterRegistry.get(JwkSetSignatureVerifier.REFRESH_COUNTER).tag("result", "not_modified").counter().count());
+    }
+
+    @Test
+    @DisplayName("알 수 없는 kid 의 토큰은 JWK Set 을 다시 조회하여 교체된 키로 검증하는 경우")
+    public void verify_UnknownKeyIdRefresh() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        expectJwkSet(nextKeyPair, "\"v2\"");
+        JwkSetSignatureVerifier verifier = verifier(null, Duration.ZERO);
+        String token = token(nextKeyPair, keyId(nextKeyPair));
+        // when
+        JwtHelper.decodeAndVerify(token, verifier);
+        // then
+        server.verify();
+        assertEquals(2, meterRegistry.get(JwkSetSignatureVerifier.REFRESH_COUNTER).tag("result", "updated").counter().count());
+    }
+
+    @Test
+    @DisplayName("minRefreshInterval 이내에는 알 수 없는 kid 로 다시 조회하지 않는 경우")
+    public void verify_UnknownKeyIdWithinMinRefreshInterval() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        JwkSetSignatureVerifier verifier = new JwkSetSignatureVerifier(JWK_SET_URI, restTemplate, null, Duration.ZERO, Duration.ofMinutes(1), meterRegistry);
+        String token = token(nextKeyPair, keyId(nextKeyPair));
+        // when
+        // then
+        assertThrows(InvalidSignatureException.class, () -> JwtHelper.decodeAndVerify(token, verifier));
+        server.verify();
+    }
+
+    @Test
+    @DisplayName("JWK Set 조회에 실패한 경우 기존 키를 유지하고 kid 가 없는 토큰은 기본 검증기로 검증하는 경우")
+    public void refresh_Failed() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        server
+                .expect(once(), requestTo(JWK_SET_URI))
+                .andRespond(withServerError());
+        JwkSetSignatureVerifier verifier = verifier(new RsaVerifier((RSAPublicKey) nextKeyPair.getPublic()), Duration.ZERO);
+        // when
+        boolean refreshed = verifier.refresh();
+        // then
+        server.verify();
+        assertFalse(refreshed);
+        JwtHelper.decodeAndVerify(token(keyPair, keyId(keyPair)), verifier);
+        JwtHelper.decodeAndVerify(token(nextKeyPair, null), verifier);
+        assertEquals(1, meterRegistry.get(JwkSetSignatureVerifier.REFRESH_COUNTER).tag("result", "failed").counter().count());
+    }
+
+    @Test
+    @DisplayName("kid 가 없는 토큰을 기본 검증기 없이 검증하거나 다른 키로 서명한 경우 실패")
+    public void verify_Invalid() throws Exception {
+        // given
+        expectJwkSet(keyPair, "\"v1\"");
+        JwkSetSignatureVerifier verifier = verifier(null, Duration.ZERO);
+        // when
+        // then
+        assertThrows(InvalidSignatureException.class, () -> JwtHelper.decodeAndVerify(token(keyPair, null), verifier));
+        assertThrows(InvalidSignatureException.class, () -> JwtHelper.decodeAndVerify(token(nextKeyPair, keyId(keyPair)), verifier));
+        assertThrows(InvalidSignatureException.class, () -> JwtHelper.decodeAndVerify(tokenWithAlgorithm(keyPair, "ES256"), verifier));
+    }
+
+    private JwkSetSignatureVerifier verifier(RsaVerifier defaultVerifier, Duration minRefreshInterval) {
+        return new JwkSetSignatureVerifier(JWK_SET_URI, restTemplate, defaultVerifier, Duration.ZERO, minRefreshInterval, meterRegistry);
+    }
+
+    private void expectJwkSet(KeyPair keyPair, String eTag) throws Exception {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(eTag);
+        server
+                .expect(once(), requestTo(JWK_SET_URI))
+                .andRespond(withSuccess(
+                        JsonWebKey.writeSet(singletonList(JsonWebKey.of(keyPair.getPublic()))),
+                        MediaType.valueOf(JsonWebKey.JWK_SET_CONTENT_TYPE)
+                ).headers(headers));
+    }
+
+    private String keyId(KeyPair keyPair) {
+        return JsonWebKey
+                .of(keyPair.getPublic())
+                .getKeyId();
+    }
+
+    private String token(KeyPair keyPair, String keyId) {
+        Map<String, String> headers = new HashMap<>();
+        if (keyId != null) {
+            headers.put("kid", keyId);
+        }
+        return JwtHelper
+                .encode("{\"user_name\":\"bakery@example.com\"}", new RsaSigner((RSAPrivateKey) keyPair.getPrivate()), headers)
+                .getEncoded();
+    }
+
+    /**
+     * JwtHelper.encode 는 alg 를 서명 알고리즘으로 덮어쓰므로 직접 서명한다.
+     */
+    private String tokenWithAlgorithm(KeyPair keyPair, String algorithm) {
+        Base64.Encoder encoder = Base64
+                .getUrlEncoder()
+                .withoutPadding();
+        String signingInput = encoder.encodeToString(String.format("{\"alg\":\"%s\",\"kid\":\"%s\"}", algorithm, keyId(keyPair)).getBytes(UTF_8))
+                + "." + encoder.encodeToString("{\"user_name\":\"bakery@example.com\"}".getBytes(UTF_8));
+        byte[] signature = new RsaSigner((RSAPrivateKey) keyPair.getPrivate()).sign(signingInput.getBytes(UTF_8));
+        return signingInput + "." + encoder.encodeToString(signature);
+    }
+
+}
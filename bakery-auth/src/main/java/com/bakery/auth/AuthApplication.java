@@ -10,7 +10,6 @@ import org.springframework.boot.ApplicationRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
-import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Profile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
@@ -20,16 +19,10 @@ import javax.persistence.EntityManager;
 
 import static com.bakery.auth.enums.Oauth2GrantType.*;
 import static java.lang.String.format;
-import static org.springframework.security.crypto.factory.PasswordEncoderFactories.createDelegatingPasswordEncoder;
 
 @SpringBootApplication
 public class AuthApplication {
 
-    @Bean
-    public PasswordEncoder passwordEncoder() {
-        return createDelegatingPasswordEncoder();
-    }
-
     @Profile(value = {"default", "dev"})
     @ConditionalOnProperty(name = "spring.jpa.hibernate.ddl-auto", havingValue = "create")
     @Component
@@ -0,0 +1,73 @@
+package com.bakery.auth.cache;
+
+import com.bakery.auth.model.AccountDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * refresh_token, remember-me 로그인에서 반복 조회되는 계정을 email 기준으로 짧은 시간 동안 캐시한다.
+ * 인증 과정에서 eraseCredentials 로 비밀번호가 지워지므로 캐시된 값은 반환하지 않고 복사본을 반환한다.
+ * 비밀번호, 권한이 변경되면 account:invalidate 채널로 email 을 발행하여 모든 인증 서버 노드의 캐시를 무효화한다.
+ */
+@Slf4j
+@Component
+public class AccountDetailsCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "account:invalidate";
+
+    private final Cache<String, AccountDetails> cache;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    public AccountDetailsCache(@Value("${cache.account.maximumSize:10000}") long maximumSize, @Value("${cache.account.ttl:30s}") Duration ttl,
+                               StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.cache = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.stringRedisTemplate = stringRedisTemplate;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "account");
+    }
+
+    /**
+     * @param email  계정 email
+     * @param loader 캐시에 없는 경우 계정을 조회하는 함수
+     * @return 캐시된 계정의 복사본
+     */
+    public AccountDetails get(String email, Function<String, AccountDetails> loader) {
+        return new AccountDetails(cache.get(email, loader));
+    }
+
+    /**
+     * 현재 노드의 캐시를 무효화하고 다른 노드에 무효화 메시지를 발행한다.
+     *
+     * @param email 변경된 계정 email
+     */
+    public void evict(String email) {
+        cache.invalidate(email);
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, email);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String email = new String(message.getBody(), UTF_8);
+        log.debug("email : {} has been invalidated", email);
+        cache.invalidate(email);
+    }
+
+}
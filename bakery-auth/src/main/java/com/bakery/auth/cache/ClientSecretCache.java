@@ -0,0 +1,120 @@
+package com.bakery.auth.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * 클라이언트 인증 시 검증에 성공한 client_secret 을 짧은 시간 동안 기억하여 매 토큰 요청마다 bcrypt 를 수행하지 않도록 한다.
+ * 캐시 키는 저장된 secret 해시와 요청된 secret 을 인스턴스별 임의 키로 HMAC 한 값으로, 평문 secret 은 보관하지 않는다.
+ * 저장된 해시가 키에 포함되므로 secret 이 변경되면 기존 항목은 더 이상 일치하지 않는다.
+ * cache.client-secret.enabled 가 true 인 경우에만 사용한다.
+ */
+@Component
+public class ClientSecretCache {
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+
+    private final Cache<String, Boolean> verifiedSecrets;
+
+    private final SecretKeySpec hmacKey;
+
+    private final ThreadLocal<Mac> macs = ThreadLocal.withInitial(this::createMac);
+
+    public ClientSecretCache(@Value("${cache.client-secret.enabled:false}") boolean enabled,
+                             @Value("${cache.client-secret.maximumSize:10000}") long maximumSize,
+                             @Value("${cache.client-secret.ttl:60s}") Duration ttl, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.verifiedSecrets = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedSecrets, "client.secret");
+    }
+
+    /**
+     * @param passwordEncoder 클라이언트 secret 검증에 사용할 PasswordEncoder
+     * @return 캐시를 사용하지 않는 경우 전달받은 PasswordEncoder, 사용하는 경우 검증 결과를 캐시하는 PasswordEncoder
+     */
+    public PasswordEncoder wrap(PasswordEncoder passwordEncoder) {
+        return enabled ? new CachingPasswordEncoder(passwordEncoder) : passwordEncoder;
+    }
+
+    private String key(CharSequence rawSecret, String encodedSecret) {
+        Mac mac = macs.get();
+        mac.update(encodedSecret.getBytes(UTF_8));
+        mac.update((byte) 0);
+        return Base64
+                .getEncoder()
+                .encodeToString(mac.doFinal(rawSecret.toString().getBytes(UTF_8)));
+    }
+
+    private Mac createMac() {
+        try {
+            Mac mac = Mac.getInstance(HMAC_ALGORITHM);
+            mac.init(hmacKey);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * 검증에 성공한 경우만 캐시하고, 실패한 경우는 매번 위임한다.
+     */
+    @RequiredArgsConstructor
+    private class CachingPasswordEncoder implements PasswordEncoder {
+
+        private final PasswordEncoder delegate;
+
+        @Override
+        public String encode(CharSequence rawPassword) {
+            return delegate.encode(rawPassword);
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            if (rawPassword == null || encodedPassword == null) {
+                return delegate.matches(rawPassword, encodedPassword);
+            }
+            String key = key(rawPassword, encodedPassword);
+            if (verifiedSecrets.getIfPresent(key) != null) {
+                return true;
+            }
+            boolean matches = delegate.matches(rawPassword, encodedPassword);
+            if (matches) {
+                verifiedSecrets.put(key, TRUE);
+            }
+            return matches;
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return delegate.upgradeEncoding(encodedPassword);
+        }
+
+    }
+
+}
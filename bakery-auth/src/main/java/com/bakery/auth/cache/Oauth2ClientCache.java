@@ -0,0 +1,166 @@
+package com.bakery.auth.cache;
+
+import com.bakery.auth.model.Oauth2ClientDetails;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.oauth2.provider.NoSuchClientException;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * Redis(client 해시) 앞단의 인스턴스 로컬 클라이언트 캐시(L1)
+ * 동일한 client_id 의 동시 미스는 하나의 조회로 합쳐지고, refresh 시간이 지난 항목은 기존 값을 반환하면서 비동기로 다시 조회한다.
+ * 클라이언트 정보가 변경되면 client:invalidate 채널로 client_id 를 발행하여 모든 인증 서버 노드의 로컬 캐시를 무효화한다.
+ * 존재하지 않는 client_id 는 짧은 시간 동안 별도로 캐시하여(negative cache) 반복 요청이 DB 조회로 이어지지 않도록 한다.
+ * cache.client.negative.redis 를 활성화하면 다른 노드와 client:missing:{client_id} 키로 공유한다.
+ * 운영 중 DB 를 직접 수정한 경우 redis-cli 에서 PUBLISH client:invalidate {client_id} 로 동일하게 무효화할 수 있다.
+ */
+@Slf4j
+@Component
+public class Oauth2ClientCache implements MessageListener {
+
+    public static final String INVALIDATION_CHANNEL = "client:invalidate";
+
+    public static final String MISSING_KEY_PREFIX = "client:missing:";
+
+    public static final String NEGATIVE_HIT_COUNTER = "oauth2.client.negative.hit";
+
+    private final LoadingCache<String, Oauth2ClientDetails> cache;
+
+    private final Cache<String, Boolean> missingClients;
+
+    private final Duration negativeTtl;
+
+    private final boolean negativeRedis;
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    private final Counter localNegativeHits;
+
+    private final Counter redisNegativeHits;
+
+    public Oauth2ClientCache(@Value("${cache.client.maximumSize:10000}") long maximumSize, @Value("${cache.client.ttl:30s}") Duration ttl,
+                             @Value("${cache.client.refresh:20s}") Duration refresh,
+                             @Value("${cache.client.negative.maximumSize:10000}") long negativeMaximumSize,
+                             @Value("${cache.client.negative.ttl:10s}") Duration negativeTtl,
+                             @Value("${cache.client.negative.redis:false}") boolean negativeRedis,
+                             CacheLoader<String, Oauth2ClientDetails> oauth2ClientLoader,
+                             StringRedisTemplate stringRedisTemplate, MeterRegistry meterRegistry) {
+        this.cache = Caffeine
+                .newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .refreshAfterWrite(refresh)
+                .recordStats()
+                .build(oauth2ClientLoader);
+        this.missingClients = Caffeine
+                .newBuilder()
+                .maximumSize(negativeMaximumSize)
+                .expireAfterWrite(negativeTtl)
+                .build();
+        this.negativeTtl = negativeTtl;
+        this.negativeRedis = negativeRedis;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.localNegativeHits = negativeHitCounter(meterRegistry, "local");
+        this.redisNegativeHits = negativeHitCounter(meterRegistry, "redis");
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "client");
+    }
+
+    /**
+     * @param clientId 조회할 클라이언트 id
+     * @return 캐시된 클라이언트, 없는 경우 Oauth2ClientLoader 로 조회한 클라이언트
+     * @throws NoSuchClientException 존재하지 않는 클라이언트인 경우
+     */
+    public Oauth2ClientDetails get(String clientId) {
+        Oauth2ClientDetails clientDetails = cache.getIfPresent(clientId);
+        if (clientDetails != null) {
+            return clientDetails;
+        }
+        if (isMissing(clientId)) {
+            throw new NoSuchClientException(clientId);
+        }
+        try {
+            return cache.get(clientId);
+        } catch (NoSuchClientException e) {
+            markMissing(clientId);
+            throw e;
+        }
+    }
+
+    /**
+     * 현재 노드의 로컬 캐시를 무효화하고 다른 노드에 무효화 메시지를 발행한다.
+     *
+     * @param clientId 변경된 클라이언트 id
+     */
+    public void evict(String clientId) {
+        invalidate(clientId);
+        if (negativeRedis) {
+            stringRedisTemplate.delete(missingKey(clientId));
+        }
+        stringRedisTemplate.convertAndSend(INVALIDATION_CHANNEL, clientId);
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        String clientId = new String(message.getBody(), UTF_8);
+        log.debug("client id : {} has been invalidated", clientId);
+        invalidate(clientId);
+    }
+
+    private void invalidate(String clientId) {
+        cache.invalidate(clientId);
+        missingClients.invalidate(clientId);
+    }
+
+    private boolean isMissing(String clientId) {
+        if (missingClients.getIfPresent(clientId) != null) {
+            localNegativeHits.increment();
+            return true;
+        }
+        if (negativeRedis && TRUE.equals(stringRedisTemplate.hasKey(missingKey(clientId)))) {
+            redisNegativeHits.increment();
+            missingClients.put(clientId, TRUE);
+            return true;
+        }
+        return false;
+    }
+
+    private void markMissing(String clientId) {
+        missingClients.put(clientId, TRUE);
+        if (negativeRedis) {
+            stringRedisTemplate
+                    .opsForValue()
+                    .set(missingKey(clientId), "1", negativeTtl);
+        }
+    }
+
+    /**
+     * @return client:missing:{client_id} 형식의 키, Cluster 에서는 해시 태그인 client_id 로 슬롯이 정해진다.
+     */
+    public static String missingKey(String clientId) {
+        return MISSING_KEY_PREFIX + "{" + clientId + "}";
+    }
+
+    private Counter negativeHitCounter(MeterRegistry meterRegistry, String level) {
+        return Counter
+                .builder(NEGATIVE_HIT_COUNTER)
+                .description("존재하지 않는 클라이언트 캐시 적중 횟수")
+                .tag("level", level)
+                .register(meterRegistry);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.bakery.auth.cache;
+
+import com.bakery.auth.model.Oauth2ClientDetails;
+import com.bakery.auth.repository.Oauth2ClientRedisRepository;
+import com.bakery.auth.repository.Oauth2ClientRepository;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.oauth2.provider.NoSuchClientException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+/**
+ * 로컬 캐시(L1)에 없는 클라이언트를 Redis -> DB 순서로 조회한다.
+ * 캐시 조회 시에는 트랜잭션을 시작하지 않고(커넥션 미사용), Redis 에도 없는 경우에만 읽기 전용 트랜잭션으로 DB 를 조회한다.
+ * 조회 위치별 횟수는 oauth2.client.load 카운터로 기록한다.
+ */
+@Slf4j
+@Component
+public class Oauth2ClientLoader implements CacheLoader<String, Oauth2ClientDetails> {
+
+    public static final String LOAD_COUNTER = "oauth2.client.load";
+
+    private final Oauth2ClientRepository oauth2ClientRepository;
+
+    private final Oauth2ClientRedisRepository oauth2ClientRedisRepository;
+
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    private final Counter redisLoads;
+
+    private final Counter databaseLoads;
+
+    public Oauth2ClientLoader(Oauth2ClientRepository oauth2ClientRepository, Oauth2ClientRedisRepository oauth2ClientRedisRepository,
+                              PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.oauth2ClientRepository = oauth2ClientRepository;
+        this.oauth2ClientRedisRepository = oauth2ClientRedisRepository;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.redisLoads = loadCounter(meterRegistry, "redis");
+        this.databaseLoads = loadCounter(meterRegistry, "db");
+    }
+
+    @Override
+    public Oauth2ClientDetails load(String clientId) {
+        Optional<Oauth2ClientDetails> byId = oauth2ClientRedisRepository.findById(clientId);
+        if (byId.isPresent()) {
+            log.debug("client id : {} is caching", clientId);
+            redisLoads.increment();
+            return byId.get();
+        }
+        databaseLoads.increment();
+        Oauth2ClientDetails oauth2ClientDetails = readOnlyTransactionTemplate.execute(status ->
+                oauth2ClientRepository
+                        .findByClientId(clientId)
+                        .map(Oauth2ClientDetails::new)
+                        .orElseThrow(() -> new NoSuchClientException(clientId))
+        );
+        log.debug("client id : {} has been cached", clientId);
+        oauth2ClientRedisRepository.save(oauth2ClientDetails);
+        return oauth2ClientDetails;
+    }
+
+    private Counter loadCounter(MeterRegistry meterRegistry, String source) {
+        return Counter
+                .builder(LOAD_COUNTER)
+                .description("로컬 캐시 미스로 인한 클라이언트 조회 횟수")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+}
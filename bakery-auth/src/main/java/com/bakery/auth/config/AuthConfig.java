@@ -1,11 +1,16 @@
 package com.bakery.auth.config;
 
+import com.bakery.auth.cache.ClientSecretCache;
 import com.bakery.auth.config.custom.CustomCompositeTokenGranter;
 import com.bakery.auth.config.custom.PkceAuthorizationCodeService;
 import com.bakery.auth.config.custom.PkceAuthorizationCodeTokenGranter;
 import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.auth.config.custom.UnsupportedGrantTypeFilter;
 import com.bakery.auth.service.Oauth2ClientService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -13,14 +18,18 @@ import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.config.annotation.configurers.ClientDetailsServiceConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerConfigurerAdapter;
-import org.springframework.security.oauth2.config.annotation.web.configuration.EnableAuthorizationServer;
+import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerEndpointsConfiguration;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
 import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerSecurityConfigurer;
 import org.springframework.security.oauth2.provider.token.TokenStore;
 import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
 
+import static com.bakery.auth.enums.Oauth2GrantType.AUTHORIZATION_CODE;
+
+/**
+ * 엔드포인트 설정은 @EnableAuthorizationServer 대신 TokenEndpointSecurityConfig 가 import 한다.
+ */
 @Configuration
-@EnableAuthorizationServer
 @RequiredArgsConstructor
 public class AuthConfig extends AuthorizationServerConfigurerAdapter {
 
@@ -36,18 +45,38 @@ public class AuthConfig extends AuthorizationServerConfigurerAdapter {
 
     private final PkceAuthorizationCodeService pkceAuthorizationCodeService;
 
+    private final MeterRegistry meterRegistry;
+
+    private final ClientSecretCache clientSecretCache;
+
     @Bean
     public TokenStore tokenStore() {
         return new JwtTokenStore(customJwtTokenConverter);
     }
 
+    /**
+     * 클라이언트 인증 필터(Basic, client_id/client_secret)는 Spring Security 필터 체인 안에서 실행되므로
+     * 필터 체인보다 먼저 실행되도록 등록하여 지원하지 않는 grant_type 은 클라이언트 조회 없이 거부한다.
+     */
+    @Bean
+    public FilterRegistrationBean<UnsupportedGrantTypeFilter> unsupportedGrantTypeFilter(AuthorizationServerEndpointsConfiguration endpoints) throws Exception {
+        FilterRegistrationBean<UnsupportedGrantTypeFilter> registrationBean = new FilterRegistrationBean<>(
+                new UnsupportedGrantTypeFilter(
+                        endpoints.oauth2EndpointHandlerMapping().getServletPath("/oauth/token"),
+                        (CustomCompositeTokenGranter) endpoints.getEndpointsConfigurer().getTokenGranter()
+                )
+        );
+        registrationBean.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registrationBean;
+    }
+
 
     @Override
     public void configure(AuthorizationServerSecurityConfigurer security) throws Exception {
         security
                 .allowFormAuthenticationForClients()
                 .checkTokenAccess("isAuthenticated()")
-                .passwordEncoder(passwordEncoder);
+                .passwordEncoder(clientSecretCache.wrap(passwordEncoder));
     }
 
     @Override
@@ -69,9 +98,10 @@ public class AuthConfig extends AuthorizationServerConfigurerAdapter {
                 endpoints.getAuthorizationCodeServices(),
                 endpoints.getTokenServices(),
                 endpoints.getOAuth2RequestFactory(),
-                authenticationManager
+                authenticationManager,
+                meterRegistry
         );
-        compositeTokenGranter.addGranter(tokenGranter);
+        compositeTokenGranter.addGranter(AUTHORIZATION_CODE, tokenGranter);
         endpoints
                 .pathMapping("/oauth/token", "/auth/oauth/token")
                 .pathMapping("/oauth/check_token", "/auth/oauth/check_token")
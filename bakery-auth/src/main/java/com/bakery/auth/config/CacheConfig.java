@@ -0,0 +1,28 @@
+package com.bakery.auth.config;
+
+import com.bakery.auth.cache.AccountDetailsCache;
+import com.bakery.auth.cache.Oauth2ClientCache;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * 로컬 캐시 무효화 메시지 구독
+     */
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidationListenerContainer(RedisConnectionFactory redisConnectionFactory,
+                                                                            Oauth2ClientCache oauth2ClientCache,
+                                                                            AccountDetailsCache accountDetailsCache) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(redisConnectionFactory);
+        container.addMessageListener(oauth2ClientCache, new ChannelTopic(Oauth2ClientCache.INVALIDATION_CHANNEL));
+        container.addMessageListener(accountDetailsCache, new ChannelTopic(AccountDetailsCache.INVALIDATION_CHANNEL));
+        return container;
+    }
+
+}
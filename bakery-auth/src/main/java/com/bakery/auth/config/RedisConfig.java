@@ -1,20 +1,44 @@
 package com.bakery.auth.config;
 
+import com.bakery.auth.config.custom.VersionedRedisSerializer;
+import com.bakery.auth.config.custom.VersionedRedisSerializer.Format;
+import io.lettuce.core.ReadFrom;
+import io.lettuce.core.cluster.ClusterClientOptions;
+import io.lettuce.core.cluster.ClusterTopologyRefreshOptions;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 import org.springframework.context.annotation.Profile;
+import org.springframework.data.redis.connection.RedisClusterConfiguration;
+import org.springframework.data.redis.connection.RedisConfiguration;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisPassword;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceClientConfiguration.LettuceClientConfigurationBuilder;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericToStringSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 import org.springframework.session.data.redis.config.ConfigureRedisAction;
 import org.springframework.session.data.redis.config.annotation.web.http.EnableRedisHttpSession;
 
+import java.time.Duration;
+import java.util.HashSet;
+
 import static org.springframework.session.data.redis.config.ConfigureRedisAction.NO_OP;
 
+/**
+ * spring.redis.cluster.nodes 가 설정된 경우 Cluster, spring.redis.sentinel.master 가 설정된 경우 Sentinel, 그 외에는 단일 노드로 연결한다.
+ * 쓰기와 최신 값이 필요한 조회(code 소비, remember-me 세대 확인)는 redisTemplate 으로 primary 에서 처리하고,
+ * 오래된 값을 허용하는 조회(클라이언트 캐시)는 replicaRedisTemplate 으로 redis.replica.readFrom 노드에서 처리한다.
+ * 인증 서버의 스크립트는 모두 하나의 키만 사용하므로 Cluster 에서도 CROSSSLOT 오류 없이 동작한다.
+ */
 @Profile("!test")
 @EnableRedisRepositories
 @EnableRedisHttpSession(maxInactiveIntervalInSeconds = 1800, redisNamespace = "login")
@@ -28,20 +52,108 @@ public class RedisConfig {
         return NO_OP;
     }
 
+    @Primary
+    @Bean
+    public LettuceConnectionFactory redisConnectionFactory(RedisProperties redisProperties) {
+        return lettuceConnectionFactory(redisConfiguration(redisProperties), redisProperties.getTimeout(), null);
+    }
+
+    /**
+     * @param readFrom 조회할 노드(replicaPreferred, replica, nearest, any ...), replica 가 없는 단일 노드에서는 primary 에서 조회한다.
+     */
+    @Bean
+    public LettuceConnectionFactory replicaRedisConnectionFactory(RedisProperties redisProperties,
+                                                                  @Value("${redis.replica.readFrom:replicaPreferred}") String readFrom) {
+        return lettuceConnectionFactory(redisConfiguration(redisProperties), redisProperties.getTimeout(), ReadFrom.valueOf(readFrom));
+    }
+
+    /**
+     * Spring Session 은 springSessionDefaultRedisSerializer 이름의 빈으로 세션 속성을 저장하며, redisTemplate 값에도 같은 직렬화를 사용한다.
+     *
+     * @param format 저장 형식(jdk, json, cbor), 읽기는 형식과 관계없이 가능하므로 운영 중 변경할 수 있다.
+     */
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer(@Value("${redis.serializer.format:cbor}") String format) {
+        return new VersionedRedisSerializer(Format.valueOf(format.toUpperCase()), RedisConfig.class.getClassLoader());
+    }
+
+    @Primary
     @Bean
-    public RedisConnectionFactory redisConnectionFactory(@Value("${spring.redis.host}") String host,
-                                                         @Value("${spring.redis.port}") int port) {
-        return new LettuceConnectionFactory(host, port);
+    public RedisTemplate<String, Object> redisTemplate(@Qualifier("redisConnectionFactory") RedisConnectionFactory redisConnectionFactory,
+                                                       @Qualifier("springSessionDefaultRedisSerializer") RedisSerializer<Object> valueSerializer) {
+        return redisTemplateOf(redisConnectionFactory, valueSerializer);
     }
 
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
+    public RedisTemplate<String, Object> replicaRedisTemplate(@Qualifier("replicaRedisConnectionFactory") RedisConnectionFactory replicaRedisConnectionFactory,
+                                                              @Qualifier("springSessionDefaultRedisSerializer") RedisSerializer<Object> valueSerializer) {
+        return redisTemplateOf(replicaRedisConnectionFactory, valueSerializer);
+    }
+
+    /**
+     * @return spring.redis 설정에 해당하는 Cluster, Sentinel, 단일 노드 설정
+     */
+    public static RedisConfiguration redisConfiguration(RedisProperties redisProperties) {
+        RedisPassword password = RedisPassword.of(redisProperties.getPassword());
+        RedisProperties.Cluster cluster = redisProperties.getCluster();
+        if (cluster != null && cluster.getNodes() != null && !cluster.getNodes().isEmpty()) {
+            RedisClusterConfiguration configuration = new RedisClusterConfiguration(cluster.getNodes());
+            if (cluster.getMaxRedirects() != null) {
+                configuration.setMaxRedirects(cluster.getMaxRedirects());
+            }
+            configuration.setPassword(password);
+            return configuration;
+        }
+        RedisProperties.Sentinel sentinel = redisProperties.getSentinel();
+        if (sentinel != null && sentinel.getMaster() != null) {
+            RedisSentinelConfiguration configuration = new RedisSentinelConfiguration(sentinel.getMaster(), new HashSet<>(sentinel.getNodes()));
+            configuration.setDatabase(redisProperties.getDatabase());
+            configuration.setPassword(password);
+            return configuration;
+        }
+        RedisStandaloneConfiguration configuration = new RedisStandaloneConfiguration(redisProperties.getHost(), redisProperties.getPort());
+        configuration.setDatabase(redisProperties.getDatabase());
+        configuration.setPassword(password);
+        return configuration;
+    }
+
+    /**
+     * Cluster 에서는 MOVED/ASK 응답이나 연결 끊김이 발생하면 토폴로지를 다시 조회하여 failover 된 primary 로 재연결한다.
+     *
+     * @param timeout  명령 타임아웃, null 인 경우 Lettuce 기본값
+     * @param readFrom 조회할 노드, null 인 경우 primary
+     */
+    public static LettuceConnectionFactory lettuceConnectionFactory(RedisConfiguration configuration, Duration timeout, ReadFrom readFrom) {
+        LettuceClientConfigurationBuilder builder = LettuceClientConfiguration.builder();
+        if (timeout != null) {
+            builder.commandTimeout(timeout);
+        }
+        if (readFrom != null) {
+            builder.readFrom(readFrom);
+        }
+        if (configuration instanceof RedisClusterConfiguration) {
+            builder.clientOptions(
+                    ClusterClientOptions
+                            .builder()
+                            .topologyRefreshOptions(
+                                    ClusterTopologyRefreshOptions
+                                            .builder()
+                                            .enableAllAdaptiveRefreshTriggers()
+                                            .build()
+                            )
+                            .build()
+            );
+        }
+        return new LettuceConnectionFactory(configuration, builder.build());
+    }
+
+    public static RedisTemplate<String, Object> redisTemplateOf(RedisConnectionFactory redisConnectionFactory, RedisSerializer<Object> valueSerializer) {
         RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
         redisTemplate.setConnectionFactory(redisConnectionFactory);
         redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericToStringSerializer<>(Object.class));
+        redisTemplate.setValueSerializer(valueSerializer);
         redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericToStringSerializer<>(Object.class));
+        redisTemplate.setHashValueSerializer(valueSerializer);
         return redisTemplate;
     }
 
@@ -1,16 +1,26 @@
 package com.bakery.auth.config;
 
+import com.bakery.auth.config.custom.BoundedPasswordEncoder;
 import com.bakery.auth.config.custom.CustomRememberMeService;
 import com.bakery.auth.config.custom.CustomRememberMeTokenRepository;
+import com.bakery.auth.config.custom.PasswordVerificationExecutor;
+import com.bakery.auth.config.custom.TemporarilyUnavailableFilter;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
+import org.springframework.security.config.annotation.authentication.configurers.userdetails.DaoAuthenticationConfigurer;
 import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.builders.WebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+
+import static com.bakery.auth.controller.JwkSetController.JWK_SET_PATH;
 
 @Configuration
 @EnableGlobalMethodSecurity(prePostEnabled = true)
@@ -21,14 +31,34 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     private final CustomRememberMeTokenRepository persistentTokenRepository;
 
+    private final PasswordEncoder passwordEncoder;
+
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+
     @Bean
     @Override
     public AuthenticationManager authenticationManagerBean() throws Exception {
         return super.authenticationManagerBean();
     }
 
+    /**
+     * 계정 비밀번호 검증은 PasswordVerificationExecutor 에서 수행하고,
+     * UserDetailsService 가 UserDetailsPasswordService 를 구현한 경우 로그인 시 낮은 strength 의 해시를 갱신한다.
+     */
+    @Override
+    protected void configure(AuthenticationManagerBuilder auth) throws Exception {
+        DaoAuthenticationConfigurer<AuthenticationManagerBuilder, UserDetailsService> configurer = auth
+                .userDetailsService(userDetailsService)
+                .passwordEncoder(new BoundedPasswordEncoder(passwordEncoder, passwordVerificationExecutor));
+        if (userDetailsService instanceof UserDetailsPasswordService) {
+            configurer.userDetailsPasswordManager((UserDetailsPasswordService) userDetailsService);
+        }
+    }
+
     @Override
     protected void configure(HttpSecurity http) throws Exception {
+        http
+                .addFilterBefore(new TemporarilyUnavailableFilter(), UsernamePasswordAuthenticationFilter.class);
         http
                 .headers()
                 .frameOptions()
@@ -60,7 +90,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .userDetailsService(userDetailsService);
         http
                 .authorizeRequests()
-                .mvcMatchers("/auth/login").permitAll()
+                .mvcMatchers("/auth/login", JWK_SET_PATH).permitAll()
                 .anyRequest()
                 .authenticated();
     }
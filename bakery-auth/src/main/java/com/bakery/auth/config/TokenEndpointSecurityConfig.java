@@ -0,0 +1,73 @@
+package com.bakery.auth.config;
+
+import com.bakery.auth.config.custom.StatelessPathHttpSessionIdResolver;
+import org.springframework.boot.autoconfigure.web.ServerProperties;
+import org.springframework.boot.context.properties.PropertyMapper;
+import org.springframework.boot.web.servlet.server.Session;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerEndpointsConfiguration;
+import org.springframework.security.oauth2.config.annotation.web.configuration.AuthorizationServerSecurityConfiguration;
+import org.springframework.security.oauth2.provider.endpoint.FrameworkEndpointHandlerMapping;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.session.web.http.CookieHttpSessionIdResolver;
+import org.springframework.session.web.http.DefaultCookieSerializer;
+import org.springframework.session.web.http.HttpSessionIdResolver;
+
+import static com.bakery.auth.controller.JwkSetController.JWK_SET_PATH;
+import static org.springframework.security.config.http.SessionCreationPolicy.STATELESS;
+
+/**
+ * @EnableAuthorizationServer 의 토큰 엔드포인트(token, token_key, check_token) 보안 체인
+ * 클라이언트 인증만 사용하는 서버 간 호출이므로 세션을 생성, 조회하지 않는다(기본 NEVER 는 세션 쿠키가 있으면 Redis 에서 세션을 조회하고 갱신한다).
+ * 로그인, 인가 화면은 SecurityConfig 의 세션 기반 체인에서 처리한다.
+ */
+@Order(0)
+@Configuration
+public class TokenEndpointSecurityConfig extends AuthorizationServerSecurityConfiguration {
+
+    @Override
+    protected void configure(HttpSecurity http) throws Exception {
+        super.configure(http);
+        http
+                .sessionManagement()
+                .sessionCreationPolicy(STATELESS);
+    }
+
+    /**
+     * 토큰 엔드포인트와 JWK Set 은 세션 쿠키가 전달되어도 Spring Session 이 Redis 를 사용하지 않도록 한다.
+     * HttpSessionIdResolver 를 등록하면 Spring Boot 의 쿠키 설정이 적용되지 않으므로 server.servlet.session.cookie 를 직접 적용한다.
+     */
+    @Bean
+    public HttpSessionIdResolver httpSessionIdResolver(AuthorizationServerEndpointsConfiguration endpoints, ServerProperties serverProperties) throws Exception {
+        FrameworkEndpointHandlerMapping handlerMapping = endpoints.oauth2EndpointHandlerMapping();
+        RequestMatcher tokenEndpoints = new OrRequestMatcher(
+                new AntPathRequestMatcher(handlerMapping.getServletPath("/oauth/token")),
+                new AntPathRequestMatcher(handlerMapping.getServletPath("/oauth/token_key")),
+                new AntPathRequestMatcher(handlerMapping.getServletPath("/oauth/check_token")),
+                new AntPathRequestMatcher(JWK_SET_PATH)
+        );
+        CookieHttpSessionIdResolver cookieHttpSessionIdResolver = new CookieHttpSessionIdResolver();
+        cookieHttpSessionIdResolver.setCookieSerializer(cookieSerializer(serverProperties.getServlet().getSession().getCookie()));
+        return new StatelessPathHttpSessionIdResolver(cookieHttpSessionIdResolver, tokenEndpoints);
+    }
+
+    private DefaultCookieSerializer cookieSerializer(Session.Cookie cookie) {
+        DefaultCookieSerializer cookieSerializer = new DefaultCookieSerializer();
+        PropertyMapper map = PropertyMapper
+                .get()
+                .alwaysApplyingWhenNonNull();
+        map.from(cookie::getName).to(cookieSerializer::setCookieName);
+        map.from(cookie::getDomain).to(cookieSerializer::setDomainName);
+        map.from(cookie::getPath).to(cookieSerializer::setCookiePath);
+        map.from(cookie::getHttpOnly).to(cookieSerializer::setUseHttpOnlyCookie);
+        map.from(cookie::getSecure).to(cookieSerializer::setUseSecureCookie);
+        map.from(cookie::getMaxAge).to(maxAge -> cookieSerializer.setCookieMaxAge((int) maxAge.getSeconds()));
+        return cookieSerializer;
+    }
+
+}
@@ -0,0 +1,32 @@
+package com.bakery.auth.config.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 해싱(encode, matches)을 PasswordVerificationExecutor 에서 수행하는 PasswordEncoder
+ * 해시 형식만 확인하는 upgradeEncoding 은 호출 스레드에서 바로 위임한다.
+ */
+@RequiredArgsConstructor
+public class BoundedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+
+    private final PasswordVerificationExecutor passwordVerificationExecutor;
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return passwordVerificationExecutor.execute(() -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return passwordVerificationExecutor.execute(() -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+
+}
@@ -1,42 +1,89 @@
 package com.bakery.auth.config.custom;
 
+import com.bakery.auth.enums.Oauth2GrantType;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.oauth2.common.OAuth2AccessToken;
-import org.springframework.security.oauth2.provider.*;
+import org.springframework.security.oauth2.common.exceptions.UnsupportedGrantTypeException;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.security.oauth2.provider.OAuth2RequestFactory;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
 import org.springframework.security.oauth2.provider.client.ClientCredentialsTokenGranter;
 import org.springframework.security.oauth2.provider.code.AuthorizationCodeServices;
 import org.springframework.security.oauth2.provider.password.ResourceOwnerPasswordTokenGranter;
 import org.springframework.security.oauth2.provider.refresh.RefreshTokenGranter;
 import org.springframework.security.oauth2.provider.token.AuthorizationServerTokenServices;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.EnumMap;
+import java.util.Map;
 
+import static com.bakery.auth.enums.Oauth2GrantType.*;
+
+/**
+ * grant_type 별 TokenGranter 를 EnumMap 으로 관리하여 한 번의 조회로 위임한다.
+ * CompositeTokenGranter 처럼 모든 granter 를 순회하며 grant_type 을 비교하지 않는다.
+ * 등록되지 않은 grant_type 은 UnsupportedGrantTypeFilter 가 클라이언트 인증 전에 supports 로 확인하여 거부한다.
+ * grant_type 별 처리 시간은 oauth2.token.grant 타이머로 기록한다.
+ */
 public class CustomCompositeTokenGranter implements TokenGranter {
 
-    private final CompositeTokenGranter compositeTokenGranter;
+    public static final String GRANT_TIMER = "oauth2.token.grant";
+
+    private final Map<Oauth2GrantType, TokenGranter> tokenGranters = new EnumMap<>(Oauth2GrantType.class);
+
+    private final Map<Oauth2GrantType, Timer> timers = new EnumMap<>(Oauth2GrantType.class);
+
+    private final MeterRegistry meterRegistry;
 
     public CustomCompositeTokenGranter(ClientDetailsService cds, AuthorizationCodeServices acs,
                                        AuthorizationServerTokenServices asts, OAuth2RequestFactory orf,
-                                       AuthenticationManager am) {
-        List<TokenGranter> tokenGranters = new ArrayList<>();
-//        tokenGranters.add(new AuthorizationCodeTokenGranter(asts, acs, cds, orf)); PkceAuthorizationCodeTokenGranter 에서 구현
-//        tokenGranters.add(new ImplicitTokenGranter(asts, cds, orf));
-        tokenGranters.add(new RefreshTokenGranter(asts, cds, orf));
-        tokenGranters.add(new ClientCredentialsTokenGranter(asts, cds, orf));
+                                       AuthenticationManager am, MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+//        addGranter(AUTHORIZATION_CODE, new AuthorizationCodeTokenGranter(asts, acs, cds, orf)); PkceAuthorizationCodeTokenGranter 에서 구현
+//        addGranter(IMPLICIT, new ImplicitTokenGranter(asts, cds, orf));
+        addGranter(REFRESH_TOKEN, new RefreshTokenGranter(asts, cds, orf));
+        addGranter(CLIENT_CREDENTIALS, new ClientCredentialsTokenGranter(asts, cds, orf));
         if (am != null) {
-            tokenGranters.add(new ResourceOwnerPasswordTokenGranter(am, asts, cds, orf));
+            addGranter(PASSWORD, new ResourceOwnerPasswordTokenGranter(am, asts, cds, orf));
         }
-        this.compositeTokenGranter = new CompositeTokenGranter(tokenGranters);
     }
 
-    public void addGranter(TokenGranter tokenGranter) {
-        this.compositeTokenGranter.addTokenGranter(tokenGranter);
+    /**
+     * @param grantType    위임할 grant_type, 이미 등록된 경우 교체한다.
+     * @param tokenGranter 해당 grant_type 의 토큰을 발급하는 granter
+     */
+    public void addGranter(Oauth2GrantType grantType, TokenGranter tokenGranter) {
+        tokenGranters.put(grantType, tokenGranter);
+        timers.computeIfAbsent(grantType, key ->
+                Timer
+                        .builder(GRANT_TIMER)
+                        .description("grant_type 별 토큰 발급 처리 시간")
+                        .tag("grant_type", key.toString())
+                        .register(meterRegistry)
+        );
+    }
+
+    /**
+     * @param grantType 요청의 grant_type
+     * @return 해당 grant_type 의 granter 가 등록된 경우 true
+     */
+    public boolean supports(String grantType) {
+        Oauth2GrantType type = Oauth2GrantType.from(grantType);
+        return type != null && tokenGranters.containsKey(type);
     }
 
     @Override
     public OAuth2AccessToken grant(String grantType, TokenRequest tokenRequest) {
-        return compositeTokenGranter.grant(grantType, tokenRequest);
+        Oauth2GrantType type = Oauth2GrantType.from(grantType);
+        TokenGranter tokenGranter = type != null ? tokenGranters.get(type) : null;
+        if (tokenGranter == null) {
+            throw new UnsupportedGrantTypeException("Unsupported grant type: " + grantType);
+        }
+        return timers
+                .get(type)
+                .record(() -> tokenGranter.grant(grantType, tokenRequest));
     }
 
 }
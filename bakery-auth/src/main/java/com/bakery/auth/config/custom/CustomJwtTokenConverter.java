@@ -1,49 +1,181 @@
 package com.bakery.auth.config.custom;
 
 import com.bakery.auth.model.AccountDetails;
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtSignatureAlgorithm;
+import lombok.SneakyThrows;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.Resource;
 import org.springframework.core.io.ResourceLoader;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
 import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.ExpiringOAuth2RefreshToken;
 import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2RefreshToken;
+import org.springframework.security.oauth2.common.util.JsonParser;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
 import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
-import org.springframework.security.oauth2.provider.token.store.KeyStoreKeyFactory;
 import org.springframework.stereotype.Component;
 
+import java.io.InputStream;
 import java.security.KeyPair;
-import java.util.HashMap;
+import java.security.KeyStore;
+import java.security.PrivateKey;
+import java.security.PublicKey;
+import java.security.interfaces.ECPrivateKey;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
-import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.unmodifiableList;
+import static org.springframework.security.oauth2.common.util.JsonParserFactory.create;
+import static org.springframework.util.StreamUtils.copyToString;
 
 @Component
 public class CustomJwtTokenConverter extends JwtAccessTokenConverter {
 
+    private final JsonParser jsonParser = create();
+
+    private final JwtTokenEncoder encoder;
+
+    private final List<JsonWebKey> jsonWebKeys = new ArrayList<>();
+
+    /**
+     * @param algorithm      jwt.algorithm 서명 알고리즘, 키 저장소의 키 쌍과 알고리즘이 일치해야 한다. (RS256: RSA, ES256: EC P-256)
+     * @param additionalKeys jwt.jwkSet.additionalKeys 서명에는 사용하지 않고 JWK Set 에 함께 게시할 공개키(PEM) 위치, 교체 전후의 키를 지정한다.
+     */
     public CustomJwtTokenConverter(@Value("${jwt.keyPair.location}") String location, @Value("${jwt.keyPair.storePass}") String storePass,
-                                   @Value("${jwt.keyPair.alias}") String alias, ResourceLoader resourceLoader) {
-        Resource resource = resourceLoader.getResource(location);
-        KeyStoreKeyFactory keyStoreKeyFactory = new KeyStoreKeyFactory(resource, storePass.toCharArray());
-        KeyPair keyPair = keyStoreKeyFactory.getKeyPair(alias);
-        setKeyPair(keyPair);
+                                   @Value("${jwt.keyPair.alias}") String alias, @Value("${jwt.algorithm:RS256}") JwtSignatureAlgorithm algorithm,
+                                   @Value("${jwt.jwkSet.additionalKeys:}") String[] additionalKeys, ResourceLoader resourceLoader) {
+        KeyPair keyPair = getKeyPair(resourceLoader.getResource(location), storePass, alias);
+        if (algorithm == ES256) {
+            setSigner(new EllipticCurveSigner((ECPrivateKey) keyPair.getPrivate(), algorithm.getJcaName()));
+        } else {
+            setKeyPair(keyPair);
+        }
+        JsonWebKey signingKey = JsonWebKey.of(keyPair.getPublic());
+        if (signingKey.getAlgorithm() != algorithm) {
+            throw new IllegalArgumentException("jwt.algorithm " + algorithm + " does not match key pair " + signingKey.getAlgorithm());
+        }
+        jsonWebKeys.add(signingKey);
+        for (String additionalKey : additionalKeys) {
+            JsonWebKey jsonWebKey = readPublicKey(resourceLoader.getResource(additionalKey));
+            if (jsonWebKeys.stream().noneMatch(key -> key.getKeyId().equals(jsonWebKey.getKeyId()))) {
+                jsonWebKeys.add(jsonWebKey);
+            }
+        }
+        setVerifier(new KeyIdSignatureVerifier(jsonWebKeys));
+        this.encoder = new JwtTokenEncoder(algorithm, keyPair.getPrivate(), signingKey.getKeyId());
     }
 
+    /**
+     * @return JWK Set 에 게시할 키 목록, 첫 번째 키가 현재 서명 키
+     */
+    public List<JsonWebKey> getJsonWebKeys() {
+        return unmodifiableList(jsonWebKeys);
+    }
+
+    /**
+     * JwtAccessTokenConverter 의 발급 흐름과 동일한 토큰을 생성하되 Map 직렬화 대신 JwtTokenEncoder 로 클레임을 바로 기록한다.
+     * user_id 는 부가 정보에 넣었다 제거하지 않고 JWT 클레임에만 기록한다.
+     */
     @Override
     public OAuth2AccessToken enhance(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
-        String grantType = authentication.getOAuth2Request().getGrantType();
-        if (!CLIENT_CREDENTIALS.toString().equals(grantType)) {
-            AccountDetails account = (AccountDetails) authentication.getPrincipal();
-            Map<String, Object> info = new HashMap<>();
-            info.put("user_id", account.getId());
-            ((DefaultOAuth2AccessToken) accessToken).setAdditionalInformation(info);
-            accessToken = super.enhance(accessToken, authentication);
-            accessToken
-                    .getAdditionalInformation()
-                    .remove("user_id");
-            return accessToken;
-        } else {
-            return super.enhance(accessToken, authentication);
+        Long userId = getUserId(authentication);
+        DefaultOAuth2AccessToken result = new DefaultOAuth2AccessToken(accessToken);
+        Map<String, Object> information = new LinkedHashMap<>(accessToken.getAdditionalInformation());
+        String tokenId = information
+                .computeIfAbsent(TOKEN_ID, key -> result.getValue())
+                .toString();
+        result.setAdditionalInformation(information);
+        result.setValue(encoder.encode(result, authentication, userId));
+        OAuth2RefreshToken refreshToken = result.getRefreshToken();
+        if (refreshToken != null) {
+            result.setRefreshToken(encodeRefreshToken(accessToken, refreshToken, tokenId, authentication, userId));
+        }
+        return result;
+    }
+
+    @Override
+    protected String encode(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+        return encoder.encode(accessToken, authentication, getUserId(authentication));
+    }
+
+    /**
+     * 만료 기한이 있는 재발급 토큰도 한 번만 서명한다.
+     *
+     * @param accessTokenId 재발급 토큰의 ati 클레임으로 사용할 엑세스 토큰 jti
+     */
+    private OAuth2RefreshToken encodeRefreshToken(OAuth2AccessToken accessToken, OAuth2RefreshToken refreshToken, String accessTokenId,
+                                                  OAuth2Authentication authentication, Long userId) {
+        DefaultOAuth2AccessToken encodedRefreshToken = new DefaultOAuth2AccessToken(accessToken);
+        Map<String, Object> information = new LinkedHashMap<>(accessToken.getAdditionalInformation());
+        information.put(TOKEN_ID, getRefreshTokenId(refreshToken.getValue()));
+        information.put(ACCESS_TOKEN_ID, accessTokenId);
+        encodedRefreshToken.setAdditionalInformation(information);
+        if (refreshToken instanceof ExpiringOAuth2RefreshToken) {
+            Date expiration = ((ExpiringOAuth2RefreshToken) refreshToken).getExpiration();
+            encodedRefreshToken.setExpiration(expiration);
+            return new DefaultExpiringOAuth2RefreshToken(encoder.encode(encodedRefreshToken, authentication, userId), expiration);
+        }
+        encodedRefreshToken.setExpiration(null);
+        return new DefaultOAuth2RefreshToken(encoder.encode(encodedRefreshToken, authentication, userId));
+    }
+
+    /**
+     * 재사용하는 재발급 토큰(JWT)은 기존 jti 를 유지하고, 새로 생성된 재발급 토큰은 값 자체를 jti 로 사용한다.
+     */
+    private String getRefreshTokenId(String value) {
+        if (value.indexOf('.') < 0) {
+            return value;
+        }
+        try {
+            Object tokenId = jsonParser
+                    .parseMap(JwtHelper.decode(value).getClaims())
+                    .get(TOKEN_ID);
+            return tokenId != null ? tokenId.toString() : value;
+        } catch (IllegalArgumentException e) {
+            return value;
+        }
+    }
+
+    private Long getUserId(OAuth2Authentication authentication) {
+        if (authentication.isClientOnly()) {
+            return null;
+        }
+        return ((AccountDetails) authentication.getPrincipal()).getId();
+    }
+
+    /**
+     * PEM(X.509 SubjectPublicKeyInfo) 형식의 RSA 또는 EC 공개키
+     */
+    @SneakyThrows
+    private JsonWebKey readPublicKey(Resource resource) {
+        try (InputStream inputStream = resource.getInputStream()) {
+            return JsonWebKey.readPem(copyToString(inputStream, UTF_8));
+        }
+    }
+
+    /**
+     * KeyStoreKeyFactory 는 RSA 키만 지원하므로 키 저장소에서 직접 키 쌍을 읽는다.
+     */
+    @SneakyThrows
+    private KeyPair getKeyPair(Resource resource, String storePass, String alias) {
+        KeyStore keyStore = KeyStore.getInstance("jks");
+        try (InputStream inputStream = resource.getInputStream()) {
+            keyStore.load(inputStream, storePass.toCharArray());
         }
+        PrivateKey privateKey = (PrivateKey) keyStore.getKey(alias, storePass.toCharArray());
+        PublicKey publicKey = keyStore
+                .getCertificate(alias)
+                .getPublicKey();
+        return new KeyPair(publicKey, privateKey);
     }
 
 }
@@ -18,21 +18,25 @@ public class CustomRememberMeTokenRepository implements PersistentTokenRepositor
 
     private final RememberMeTokenRedisRepository rememberMeTokenRedisRepository;
 
+    private final RememberMeLastUsedBuffer rememberMeLastUsedBuffer;
+
     /**
-     * remember-me 토큰 생성하고 캐시한다.
+     * remember-me 토큰 생성하고 캐시한다. 토큰에는 계정의 현재 세대 값을 함께 저장한다.
      *
      * @param token remember-me 토큰
      */
     @Override
     public void createNewToken(PersistentRememberMeToken token) {
         log.debug("username : {} remember me logged in", token.getUsername());
-        RememberMeToken rememberMeToken = new RememberMeToken(token);
+        long generation = rememberMeTokenRedisRepository.findGeneration(token.getUsername());
+        RememberMeToken rememberMeToken = new RememberMeToken(token, generation);
         rememberMeTokenRedisRepository.save(rememberMeToken);
     }
 
     /**
      * remember-me 토큰을 사용해서 로그인을 수행한 경우 remember-me 토큰의 tokenValue, lastUser 값을 변경한다.
      * 토큰 쿠키의 값은 series, tokenValue 값을 인코딩한 값인데 series 부분은 유지되고 tokenValue 부분을 변경하여 쿠키를 변경한다.
+     * lastUsed 버퍼를 사용하는 경우 tokenValue 만 즉시 변경하고 lastUsed 는 버퍼에서 모아 반영한다.
      *
      * @param series     remember-me 토큰 식별키
      * @param tokenValue remember-me 토큰 값
@@ -41,11 +45,16 @@ public class CustomRememberMeTokenRepository implements PersistentTokenRepositor
     @Override
     public void updateToken(String series, String tokenValue, Date lastUsed) {
         log.debug("series id : {} remember-me token was used", series);
-        rememberMeTokenRedisRepository.updateTokenAndLastUsed(series, tokenValue, lastUsed);
+        if (rememberMeLastUsedBuffer.isEnabled()) {
+            rememberMeTokenRedisRepository.updateToken(series, tokenValue);
+            rememberMeLastUsedBuffer.put(series, lastUsed);
+        } else {
+            rememberMeTokenRedisRepository.updateTokenAndLastUsed(series, tokenValue, lastUsed);
+        }
     }
 
     /**
-     * remember-me 쿠키로 토큰을 조회한다.
+     * remember-me 쿠키로 토큰을 조회한다. 토큰 생성 이후 계정의 토큰이 모두 폐기된 경우 토큰을 삭제하고 null 을 반환한다.
      *
      * @param seriesId remember-me 토큰 식별키
      * @return
@@ -56,11 +65,17 @@ public class CustomRememberMeTokenRepository implements PersistentTokenRepositor
         if (byId.isPresent()) {
             log.debug("series id : {} remember-me token is caching", seriesId);
             RememberMeToken rememberMeToken = byId.get();
+            if (rememberMeToken.isRevoked(rememberMeTokenRedisRepository.findGeneration(rememberMeToken.getEmail()))) {
+                log.debug("series id : {} remember-me token was revoked", seriesId);
+                rememberMeTokenRedisRepository.deleteById(seriesId);
+                return null;
+            }
+            Date lastUsed = rememberMeLastUsedBuffer.get(seriesId);
             return new PersistentRememberMeToken(
                     rememberMeToken.getEmail(),
                     rememberMeToken.getSeries(),
                     rememberMeToken.getToken(),
-                    rememberMeToken.getLastUsed()
+                    lastUsed != null ? lastUsed : rememberMeToken.getLastUsed()
             );
         } else {
             return null;
@@ -69,14 +84,15 @@ public class CustomRememberMeTokenRepository implements PersistentTokenRepositor
 
     /**
      * remember-me 토큰 사용 시, 토큰의 series 부분은 동일하나 tokenValue 부분이 다른 경우
-     * 토큰 탈취 또는 위조 공격으로 간주하여 해당 계정의 remember-me 토큰을 모두 제거한다.
+     * 토큰 탈취 또는 위조 공격으로 간주하여 해당 계정의 세대 값을 올려 remember-me 토큰을 모두 폐기한다.
+     * 폐기된 토큰은 getTokenForSeries 에서 조회될 때 삭제되거나 TTL 로 만료된다.
      *
      * @param username 계정 이름
      */
     @Override
     public void removeUserTokens(String username) {
         log.warn("username : {} delete all remember-me token", username);
-        rememberMeTokenRedisRepository.deleteAllByEmail(username);
+        rememberMeTokenRedisRepository.incrementGeneration(username);
     }
 
     /**
@@ -86,6 +102,7 @@ public class CustomRememberMeTokenRepository implements PersistentTokenRepositor
      */
     public void removeUserToken(String series) {
         log.debug("series id : {} delete remember-me token", series);
+        rememberMeLastUsedBuffer.remove(series);
         rememberMeTokenRedisRepository.deleteById(series);
     }
 
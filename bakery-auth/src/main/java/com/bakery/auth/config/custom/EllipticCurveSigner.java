@@ -0,0 +1,75 @@
+package com.bakery.auth.config.custom;
+
+import org.springframework.security.jwt.crypto.sign.Signer;
+
+import java.security.GeneralSecurityException;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+
+/**
+ * spring-security-jwt 에서 제공하지 않는 ECDSA 서명 구현
+ * JCA 는 DER 형식의 서명을 반환하므로 JWS(RFC 7518) 규격의 R || S 고정 길이 형식으로 변환한다.
+ * 검증은 동일한 형식을 기대하는 EllipticCurveVerifier 를 사용한다.
+ */
+public class EllipticCurveSigner implements Signer {
+
+    private final ECPrivateKey key;
+
+    private final String algorithm;
+
+    private final int coordinateLength;
+
+    public EllipticCurveSigner(ECPrivateKey key, String algorithm) {
+        this.key = key;
+        this.algorithm = algorithm;
+        this.coordinateLength = (key.getParams().getOrder().bitLength() + 7) / 8;
+    }
+
+    @Override
+    public byte[] sign(byte[] bytes) {
+        try {
+            Signature signature = Signature.getInstance(algorithm);
+            signature.initSign(key);
+            signature.update(bytes);
+            return transcodeSignatureToJose(signature.sign(), coordinateLength);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Override
+    public String algorithm() {
+        return algorithm;
+    }
+
+    /**
+     * SEQUENCE { INTEGER r, INTEGER s } 형식의 DER 서명을 R || S 형식으로 변환
+     *
+     * @param der              JCA 에서 생성한 DER 서명
+     * @param coordinateLength 곡선 좌표 길이(P-256: 32)
+     * @return 좌표 길이 * 2 크기의 서명
+     */
+    public static byte[] transcodeSignatureToJose(byte[] der, int coordinateLength) {
+        int offset = der[1] == (byte) 0x81 ? 3 : 2;
+        int rLength = der[offset + 1];
+        int rOffset = offset + 2;
+        int sLength = der[rOffset + rLength + 1];
+        int sOffset = rOffset + rLength + 2;
+        byte[] jose = new byte[coordinateLength * 2];
+        copyInteger(der, rOffset, rLength, jose, 0, coordinateLength);
+        copyInteger(der, sOffset, sLength, jose, coordinateLength, coordinateLength);
+        return jose;
+    }
+
+    /**
+     * 부호 비트를 위한 0x00 패딩은 제거하고 짧은 값은 앞을 0으로 채워 좌표 길이에 맞춘다.
+     */
+    private static void copyInteger(byte[] der, int offset, int length, byte[] jose, int destination, int coordinateLength) {
+        while (length > coordinateLength && der[offset] == 0) {
+            offset++;
+            length--;
+        }
+        System.arraycopy(der, offset, jose, destination + coordinateLength - length, length);
+    }
+
+}
@@ -0,0 +1,243 @@
+package com.bakery.auth.config.custom;
+
+import com.bakery.common.JwtSignatureAlgorithm;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.security.GeneralSecurityException;
+import java.security.PrivateKey;
+import java.security.Signature;
+import java.security.interfaces.ECPrivateKey;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Map;
+
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.springframework.security.oauth2.provider.token.AccessTokenConverter.*;
+import static org.springframework.security.oauth2.provider.token.UserAuthenticationConverter.AUTHORITIES;
+import static org.springframework.security.oauth2.provider.token.UserAuthenticationConverter.USERNAME;
+
+/**
+ * DefaultAccessTokenConverter 와 동일한 클레임을 Map, 문자열 변환 없이 스레드별로 재사용하는 버퍼에 바로 기록하는 JWT 인코더
+ * 헤더(alg, kid, typ)는 미리 인코딩해두고 클레임은 고정된 순서로 스트리밍 직렬화한 뒤 Base64URL 인코딩, 서명까지 같은 버퍼에서 처리한다.
+ * 클레임 순서: user_name, authorities, scope, exp, jti, ati, user_id, 기타 부가 정보, client_id, aud
+ */
+public class JwtTokenEncoder {
+
+    public static final String USER_ID = "user_id";
+
+    private static final byte[] BASE64_URL = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789-_".getBytes(US_ASCII);
+
+    private static final byte PERIOD = '.';
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+
+    private final byte[] encodedHeader;
+
+    private final PrivateKey privateKey;
+
+    private final JwtSignatureAlgorithm algorithm;
+
+    private final int coordinateLength;
+
+    private final ThreadLocal<EncodingBuffer> buffers = ThreadLocal.withInitial(EncodingBuffer::new);
+
+    /**
+     * @param keyId 헤더의 kid, API 모듈은 JWK Set 에서 kid 로 검증 키를 찾는다.
+     */
+    public JwtTokenEncoder(JwtSignatureAlgorithm algorithm, PrivateKey privateKey, String keyId) {
+        this.algorithm = algorithm;
+        this.privateKey = privateKey;
+        this.coordinateLength = algorithm == ES256
+                ? (((ECPrivateKey) privateKey).getParams().getOrder().bitLength() + 7) / 8
+                : 0;
+        byte[] header = format("{\"alg\":\"%s\",\"kid\":\"%s\",\"typ\":\"JWT\"}", algorithm.name(), keyId).getBytes(UTF_8);
+        EncodingBuffer buffer = new EncodingBuffer();
+        buffer.append(header, 0, header.length);
+        this.encodedHeader = Arrays.copyOf(buffer.output, buffer.length);
+    }
+
+    /**
+     * @param token          jti, ati 등 부가 정보가 포함된 토큰
+     * @param authentication 토큰 발급 대상 인증 정보
+     * @param userId         사용자 식별키, 클라이언트 토큰인 경우 null
+     * @return 서명된 JWT
+     */
+    public String encode(OAuth2AccessToken token, OAuth2Authentication authentication, Long userId) {
+        EncodingBuffer buffer = buffers.get();
+        try {
+            buffer.reset();
+            writeClaims(buffer.claims, token, authentication, userId);
+            System.arraycopy(encodedHeader, 0, buffer.ensureCapacity(encodedHeader.length + 1), 0, encodedHeader.length);
+            buffer.length = encodedHeader.length;
+            buffer.output[buffer.length++] = PERIOD;
+            buffer.append(buffer.claims.array(), 0, buffer.claims.size());
+            byte[] signature = sign(buffer);
+            buffer.ensureCapacity(buffer.length + 1);
+            buffer.output[buffer.length++] = PERIOD;
+            buffer.append(signature, 0, signature.length);
+            return new String(buffer.output, 0, buffer.length, US_ASCII);
+        } catch (IOException | GeneralSecurityException | RuntimeException e) {
+            buffers.remove();
+            throw new IllegalStateException("Cannot encode access token", e);
+        }
+    }
+
+    private void writeClaims(ByteArrayOutputStream out, OAuth2AccessToken token, OAuth2Authentication authentication,
+                             Long userId) throws IOException {
+        OAuth2Request request = authentication.getOAuth2Request();
+        Map<String, Object> information = token.getAdditionalInformation();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            if (!authentication.isClientOnly()) {
+                generator.writeStringField(USERNAME, authentication.getName());
+                writeAuthorities(generator, authentication.getAuthorities());
+            } else {
+                writeAuthorities(generator, request.getAuthorities());
+            }
+            if (token.getScope() != null) {
+                writeStrings(generator, SCOPE, token.getScope());
+            }
+            if (token.getExpiration() != null) {
+                generator.writeNumberField(EXP, token.getExpiration().getTime() / 1000);
+            }
+            for (String key : new String[]{JTI, ATI}) {
+                if (information.containsKey(key)) {
+                    generator.writeObjectField(key, information.get(key));
+                }
+            }
+            if (userId != null) {
+                generator.writeNumberField(USER_ID, userId);
+            }
+            for (Map.Entry<String, Object> entry : information.entrySet()) {
+                String key = entry.getKey();
+                if (!JTI.equals(key) && !ATI.equals(key) && !CLIENT_ID.equals(key) && !AUD.equals(key)) {
+                    generator.writeObjectField(key, entry.getValue());
+                }
+            }
+            generator.writeStringField(CLIENT_ID, request.getClientId());
+            if (request.getResourceIds() != null && !request.getResourceIds().isEmpty()) {
+                writeStrings(generator, AUD, request.getResourceIds());
+            }
+            generator.writeEndObject();
+        }
+    }
+
+    private void writeAuthorities(JsonGenerator generator, Collection<? extends GrantedAuthority> authorities) throws IOException {
+        if (authorities == null || authorities.isEmpty()) {
+            return;
+        }
+        generator.writeArrayFieldStart(AUTHORITIES);
+        for (GrantedAuthority authority : authorities) {
+            generator.writeString(authority.getAuthority());
+        }
+        generator.writeEndArray();
+    }
+
+    private void writeStrings(JsonGenerator generator, String name, Collection<String> values) throws IOException {
+        generator.writeArrayFieldStart(name);
+        for (String value : values) {
+            generator.writeString(value);
+        }
+        generator.writeEndArray();
+    }
+
+    private byte[] sign(EncodingBuffer buffer) throws GeneralSecurityException {
+        Signature signature = buffer.signature();
+        signature.update(buffer.output, 0, buffer.length);
+        byte[] signed = signature.sign();
+        return algorithm == ES256
+                ? EllipticCurveSigner.transcodeSignatureToJose(signed, coordinateLength)
+                : signed;
+    }
+
+    /**
+     * 스레드별로 재사용하는 클레임 직렬화 버퍼, 출력 버퍼와 서명 객체
+     */
+    private final class EncodingBuffer {
+
+        private final ClaimsOutputStream claims = new ClaimsOutputStream();
+
+        private byte[] output = new byte[1024];
+
+        private int length;
+
+        private Signature signature;
+
+        private void reset() {
+            claims.reset();
+            length = 0;
+        }
+
+        private byte[] ensureCapacity(int capacity) {
+            if (output.length < capacity) {
+                output = Arrays.copyOf(output, Math.max(capacity, output.length * 2));
+            }
+            return output;
+        }
+
+        /**
+         * source 를 패딩 없는 Base64URL 로 인코딩하여 출력 버퍼에 이어서 기록
+         */
+        private void append(byte[] source, int offset, int count) {
+            ensureCapacity(length + (count * 4 + 2) / 3);
+            int end = offset + count;
+            int i = offset;
+            while (i + 3 <= end) {
+                int bits = (source[i++] & 0xff) << 16 | (source[i++] & 0xff) << 8 | (source[i++] & 0xff);
+                output[length++] = BASE64_URL[bits >>> 18 & 0x3f];
+                output[length++] = BASE64_URL[bits >>> 12 & 0x3f];
+                output[length++] = BASE64_URL[bits >>> 6 & 0x3f];
+                output[length++] = BASE64_URL[bits & 0x3f];
+            }
+            int remaining = end - i;
+            if (remaining > 0) {
+                int bits = (source[i++] & 0xff) << 16 | (remaining == 2 ? (source[i] & 0xff) << 8 : 0);
+                output[length++] = BASE64_URL[bits >>> 18 & 0x3f];
+                output[length++] = BASE64_URL[bits >>> 12 & 0x3f];
+                if (remaining == 2) {
+                    output[length++] = BASE64_URL[bits >>> 6 & 0x3f];
+                }
+            }
+        }
+
+        /**
+         * Signature 는 sign() 호출 후 initSign 직후 상태로 돌아가므로 스레드별로 한 번만 생성한다.
+         */
+        private Signature signature() throws GeneralSecurityException {
+            if (signature == null) {
+                Signature instance = Signature.getInstance(algorithm.getJcaName());
+                instance.initSign(privateKey);
+                signature = instance;
+            }
+            return signature;
+        }
+
+    }
+
+    /**
+     * 복사 없이 내부 배열에 접근하기 위한 ByteArrayOutputStream
+     */
+    private static final class ClaimsOutputStream extends ByteArrayOutputStream {
+
+        private ClaimsOutputStream() {
+            super(512);
+        }
+
+        private byte[] array() {
+            return buf;
+        }
+
+    }
+
+}
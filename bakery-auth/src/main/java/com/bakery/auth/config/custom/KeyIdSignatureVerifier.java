@@ -0,0 +1,59 @@
+package com.bakery.auth.config.custom;
+
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtHeader;
+import org.springframework.security.jwt.crypto.sign.InvalidSignatureException;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static com.bakery.common.JsonWebKeyVerifiers.verifierOf;
+
+/**
+ * JWT 헤더의 kid 로 검증 키를 선택하는 검증기
+ * 서명 키를 교체한 뒤에도 이전 키로 서명된 토큰(check_token, refresh_token)을 만료 전까지 검증할 수 있도록 JWK Set 에 게시한 모든 키를 사용한다.
+ * kid 가 없는 토큰(kid 추가 이전 발급)은 서명 키로 검증한다.
+ */
+public class KeyIdSignatureVerifier implements SignatureVerifier {
+
+    private final JsonWebKey signingKey;
+
+    private final Map<String, SignatureVerifier> verifiers = new HashMap<>();
+
+    /**
+     * @param keys 게시하는 키 목록, 첫 번째 키가 서명 키
+     */
+    public KeyIdSignatureVerifier(List<JsonWebKey> keys) {
+        this.signingKey = keys.get(0);
+        for (JsonWebKey key : keys) {
+            verifiers.put(key.getKeyId(), verifierOf(key));
+        }
+    }
+
+    @Override
+    public String algorithm() {
+        return signingKey
+                .getAlgorithm()
+                .getJcaName();
+    }
+
+    /**
+     * @throws InvalidSignatureException 알 수 없는 kid, 키와 다른 alg, 서명이 잘못된 경우
+     */
+    @Override
+    public void verify(byte[] content, byte[] signature) {
+        JwtHeader header = JwtHeader.parse(content);
+        String keyId = header.getKeyId() != null ? header.getKeyId() : signingKey.getKeyId();
+        SignatureVerifier verifier = verifiers.get(keyId);
+        if (verifier == null) {
+            throw new InvalidSignatureException("Unknown key id: " + keyId);
+        }
+        if (header.getAlgorithm() == null || !header.getAlgorithm().getJcaName().equals(verifier.algorithm())) {
+            throw new InvalidSignatureException("Algorithm does not match key: " + keyId);
+        }
+        verifier.verify(content, signature);
+    }
+
+}
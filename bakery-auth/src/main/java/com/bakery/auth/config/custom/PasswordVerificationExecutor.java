@@ -0,0 +1,104 @@
+package com.bakery.auth.config.custom;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.*;
+
+import static java.util.Collections.emptyList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * 계정 비밀번호 해싱(bcrypt) 전용 실행기
+ * 요청 스레드 대신 CPU 코어 수만큼의 스레드에서 해싱을 수행하고, 대기열이 가득 차거나 대기 시간을 초과하면 즉시 실패시켜
+ * 로그인 요청이 몰려도 다른 요청을 처리할 톰캣 스레드가 남도록 한다.
+ * 해싱 처리 시간은 password.verification 타이머로 기록하여 bcrypt strength 조정 기준으로 사용한다.
+ */
+@Component
+public class PasswordVerificationExecutor implements DisposableBean {
+
+    public static final String VERIFICATION_TIMER = "password.verification";
+
+    public static final String REJECTED_COUNTER = "password.verification.rejected";
+
+    private final ThreadPoolExecutor executor;
+
+    private final long timeoutMillis;
+
+    private final Timer timer;
+
+    private final Counter rejected;
+
+    public PasswordVerificationExecutor(@Value("${password.executor.threads:0}") int threads,
+                                        @Value("${password.executor.queueCapacity:64}") int queueCapacity,
+                                        @Value("${password.executor.timeout:3s}") Duration timeout, MeterRegistry meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        this.executor = new ThreadPoolExecutor(
+                poolSize,
+                poolSize,
+                0L,
+                MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                new CustomizableThreadFactory("password-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+        this.timeoutMillis = timeout.toMillis();
+        this.timer = Timer
+                .builder(VERIFICATION_TIMER)
+                .description("비밀번호 해싱 처리 시간")
+                .register(meterRegistry);
+        this.rejected = Counter
+                .builder(REJECTED_COUNTER)
+                .description("실행기 포화로 거부된 비밀번호 해싱 요청 수")
+                .register(meterRegistry);
+        new ExecutorServiceMetrics(executor, "password", emptyList()).bindTo(meterRegistry);
+    }
+
+    /**
+     * @param task 비밀번호 해싱 작업
+     * @return 작업 결과
+     * @throws TemporarilyUnavailableException 대기열이 가득 찼거나 대기 시간을 초과한 경우
+     */
+    public <T> T execute(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TemporarilyUnavailableException("password verification is saturated");
+        }
+        try {
+            return future.get(timeoutMillis, MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new TemporarilyUnavailableException("password verification timed out");
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TemporarilyUnavailableException("password verification interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+}
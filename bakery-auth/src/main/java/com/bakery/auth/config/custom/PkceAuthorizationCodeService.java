@@ -58,6 +58,7 @@ public class PkceAuthorizationCodeService implements AuthorizationCodeServices {
 
     /**
      * code 값으로 authorization_code 발급시 code 를 key 값으로 저장한 code_challenge 값과 code_verifier 암호화 후 비교
+     * 저장된 요청은 조회와 동시에 삭제되므로 code_verifier 검증에 실패하거나 동시에 요청하더라도 code 는 한 번만 사용할 수 있다.
      *
      * @param code     authorization_code
      * @param verifier code_verifier
@@ -66,20 +67,11 @@ public class PkceAuthorizationCodeService implements AuthorizationCodeServices {
     @SneakyThrows
     public OAuth2Authentication consumeAuthorizationCodeAndCodeVerifier(String code, String verifier) {
         return oauth2CodeRequestRedisRepository
-                .findById(code)
+                .consumeById(code)
                 .orElseThrow(() -> new InvalidGrantException("invalid authorization code"))
                 .getAuth2Authentication(verifier);
     }
 
-    /**
-     * 토큰 발급 후, 저장한 인증 객체 제거
-     *
-     * @param code authorization_code
-     */
-    public void removeStoredAuthentication(String code) {
-        oauth2CodeRequestRedisRepository.deleteById(code);
-    }
-
     /**
      * @param oAuth2Authentication 클라이언트 정보 및 Oauth2 인증 파라미터 정보
      * @return
@@ -50,7 +50,6 @@ public class PkceAuthorizationCodeTokenGranter extends AuthorizationCodeTokenGra
                     combinedParameters.putAll(parameters);
                     OAuth2Request finalOauth2Request = oAuth2Request.createOAuth2Request(combinedParameters);
                     Authentication finalAuthentication = oAuth2Authentication.getUserAuthentication();
-                    pkceAuthorizationCodeService.removeStoredAuthentication(authorizationCode);
                     return new OAuth2Authentication(finalOauth2Request, finalAuthentication);
                 }
             }
@@ -0,0 +1,123 @@
+package com.bakery.auth.config.custom;
+
+import com.bakery.auth.repository.RememberMeTokenRedisRepository;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+
+/**
+ * remember-me 자동 로그인 시 변경되는 lastUsed 를 메모리에 모아 주기적으로 파이프라인으로 반영한다.
+ * 토큰 값 변경은 보안상 즉시 반영해야 하지만 lastUsed 는 만료 판단에만 사용되므로 반영 주기만큼 늦어져도 된다.
+ * 같은 series 가 반영 전에 다시 사용되면 마지막 값만 반영하고, 반영 전 조회 시에는 메모리의 값을 사용한다.
+ * 반영 건수는 rememberme.lastused.flush.size, 반영 시간은 rememberme.lastused.flush 로 기록한다.
+ * rememberMe.lastUsed.buffered 를 활성화한 경우에만 사용하며, 종료 시 남은 값을 반영한다.
+ */
+@Slf4j
+@Component
+public class RememberMeLastUsedBuffer implements DisposableBean {
+
+    public static final String FLUSH_TIMER = "rememberme.lastused.flush";
+
+    public static final String FLUSH_SIZE_SUMMARY = "rememberme.lastused.flush.size";
+
+    private final boolean enabled;
+
+    private final ConcurrentMap<String, Date> pending = new ConcurrentHashMap<>();
+
+    private final RememberMeTokenRedisRepository rememberMeTokenRedisRepository;
+
+    private final ScheduledExecutorService scheduler;
+
+    private final Timer flushTimer;
+
+    private final DistributionSummary flushSize;
+
+    public RememberMeLastUsedBuffer(@Value("${rememberMe.lastUsed.buffered:false}") boolean enabled,
+                                    @Value("${rememberMe.lastUsed.flushInterval:5s}") Duration flushInterval,
+                                    RememberMeTokenRedisRepository rememberMeTokenRedisRepository, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.rememberMeTokenRedisRepository = rememberMeTokenRedisRepository;
+        this.flushTimer = Timer
+                .builder(FLUSH_TIMER)
+                .description("remember-me lastUsed 반영 시간")
+                .register(meterRegistry);
+        this.flushSize = DistributionSummary
+                .builder(FLUSH_SIZE_SUMMARY)
+                .description("remember-me lastUsed 한 번에 반영한 토큰 수")
+                .register(meterRegistry);
+        if (enabled) {
+            this.scheduler = Executors.newSingleThreadScheduledExecutor(new CustomizableThreadFactory("remember-me-flush-"));
+            this.scheduler.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), MILLISECONDS);
+        } else {
+            this.scheduler = null;
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void put(String series, Date lastUsed) {
+        pending.merge(series, lastUsed, (previous, current) -> current.after(previous) ? current : previous);
+    }
+
+    /**
+     * @param series remember-me 토큰 식별키
+     * @return 아직 반영되지 않은 최근 사용일, 없는 경우 null
+     */
+    public Date get(String series) {
+        return pending.get(series);
+    }
+
+    public void remove(String series) {
+        pending.remove(series);
+    }
+
+    /**
+     * 모인 lastUsed 를 한 번의 파이프라인으로 반영한다. 반영 중 추가된 값은 다음 주기에 반영된다.
+     * 실패한 경우 해당 주기의 lastUsed 는 버리고 로그만 남긴다.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<String, Date> batch = new HashMap<>();
+        for (String series : pending.keySet()) {
+            Date lastUsed = pending.remove(series);
+            if (lastUsed != null) {
+                batch.put(series, lastUsed);
+            }
+        }
+        flushSize.record(batch.size());
+        try {
+            flushTimer.record(() -> rememberMeTokenRedisRepository.updateLastUsed(batch));
+        } catch (RuntimeException e) {
+            log.warn("failed to flush {} remember-me lastUsed", batch.size(), e);
+        }
+    }
+
+    @Override
+    public void destroy() {
+        if (scheduler != null) {
+            scheduler.shutdown();
+            flush();
+        }
+    }
+
+}
@@ -0,0 +1,46 @@
+package com.bakery.auth.config.custom;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.session.web.http.HttpSessionIdResolver;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+
+/**
+ * 세션을 사용하지 않는 경로는 요청에 세션 쿠키가 있어도 세션 ID 가 없는 것으로 처리한다.
+ * SessionRepositoryFilter 가 Redis 에서 세션을 조회하거나 lastAccessedTime 을 갱신하지 않고, 응답에 세션 쿠키를 쓰지 않는다.
+ */
+@RequiredArgsConstructor
+public class StatelessPathHttpSessionIdResolver implements HttpSessionIdResolver {
+
+    private final HttpSessionIdResolver delegate;
+
+    private final RequestMatcher statelessRequestMatcher;
+
+    @Override
+    public List<String> resolveSessionIds(HttpServletRequest request) {
+        if (statelessRequestMatcher.matches(request)) {
+            return emptyList();
+        }
+        return delegate.resolveSessionIds(request);
+    }
+
+    @Override
+    public void setSessionId(HttpServletRequest request, HttpServletResponse response, String sessionId) {
+        if (!statelessRequestMatcher.matches(request)) {
+            delegate.setSessionId(request, response, sessionId);
+        }
+    }
+
+    @Override
+    public void expireSession(HttpServletRequest request, HttpServletResponse response) {
+        if (!statelessRequestMatcher.matches(request)) {
+            delegate.expireSession(request, response);
+        }
+    }
+
+}
@@ -0,0 +1,28 @@
+package com.bakery.auth.config.custom;
+
+import org.springframework.security.oauth2.common.exceptions.OAuth2Exception;
+
+import static org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE;
+
+/**
+ * 비밀번호 검증 작업이 포화 상태인 경우 발생, 토큰 엔드포인트에서는 temporarily_unavailable(503) 응답으로 변환된다.
+ */
+public class TemporarilyUnavailableException extends OAuth2Exception {
+
+    private static final long serialVersionUID = 6353414846318463531L;
+
+    public TemporarilyUnavailableException(String msg) {
+        super(msg);
+    }
+
+    @Override
+    public String getOAuth2ErrorCode() {
+        return "temporarily_unavailable";
+    }
+
+    @Override
+    public int getHttpErrorCode() {
+        return SERVICE_UNAVAILABLE.value();
+    }
+
+}
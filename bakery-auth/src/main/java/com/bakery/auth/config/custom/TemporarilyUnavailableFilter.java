@@ -0,0 +1,31 @@
+package com.bakery.auth.config.custom;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static javax.servlet.http.HttpServletResponse.SC_SERVICE_UNAVAILABLE;
+
+/**
+ * 폼 로그인 필터에서 발생한 TemporarilyUnavailableException 은 인증 실패가 아니므로 로그인 페이지로 이동하지 않고 503 으로 응답한다.
+ */
+@Slf4j
+public class TemporarilyUnavailableFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } catch (TemporarilyUnavailableException e) {
+            log.warn("{} {} : {}", request.getMethod(), request.getRequestURI(), e.getMessage());
+            response.sendError(SC_SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+}
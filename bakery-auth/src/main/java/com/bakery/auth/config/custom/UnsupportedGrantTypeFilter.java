@@ -0,0 +1,70 @@
+package com.bakery.auth.config.custom;
+
+import org.springframework.security.oauth2.common.exceptions.UnsupportedGrantTypeException;
+import org.springframework.security.oauth2.provider.error.DefaultOAuth2ExceptionRenderer;
+import org.springframework.security.oauth2.provider.error.DefaultWebResponseExceptionTranslator;
+import org.springframework.security.oauth2.provider.error.OAuth2ExceptionRenderer;
+import org.springframework.security.oauth2.provider.error.WebResponseExceptionTranslator;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+import static org.springframework.security.oauth2.common.util.OAuth2Utils.GRANT_TYPE;
+
+/**
+ * Spring Security 필터 체인보다 먼저 등록하여 토큰 엔드포인트의 클라이언트 인증 필터(Basic, client_id/client_secret) 전에
+ * 발급할 수 없는 grant_type 은 클라이언트 조회, 시크릿 해싱 없이 TokenEndpoint 와 같은 400 unsupported_grant_type 으로 응답한다.
+ * grant_type 이 없는 요청은 TokenEndpoint 가 invalid_request 로 응답하도록 그대로 전달한다.
+ */
+public class UnsupportedGrantTypeFilter extends OncePerRequestFilter {
+
+    private final RequestMatcher tokenEndpointMatcher;
+
+    private final CustomCompositeTokenGranter tokenGranter;
+
+    private final WebResponseExceptionTranslator<?> exceptionTranslator = new DefaultWebResponseExceptionTranslator();
+
+    private final OAuth2ExceptionRenderer exceptionRenderer = new DefaultOAuth2ExceptionRenderer();
+
+    /**
+     * @param tokenEndpointPath 토큰 엔드포인트 경로
+     * @param tokenGranter      grant_type 별 granter 가 등록된 granter
+     */
+    public UnsupportedGrantTypeFilter(String tokenEndpointPath, CustomCompositeTokenGranter tokenGranter) {
+        this.tokenEndpointMatcher = new AntPathRequestMatcher(tokenEndpointPath);
+        this.tokenGranter = tokenGranter;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !tokenEndpointMatcher.matches(request);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String grantType = request.getParameter(GRANT_TYPE);
+        if (grantType == null || tokenGranter.supports(grantType)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        try {
+            exceptionRenderer.handleHttpEntityResponse(
+                    exceptionTranslator.translate(new UnsupportedGrantTypeException("Unsupported grant type: " + grantType)),
+                    new ServletWebRequest(request, response)
+            );
+        } catch (IOException | ServletException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new ServletException(e);
+        }
+    }
+
+}
@@ -0,0 +1,116 @@
+package com.bakery.auth.config.custom;
+
+import com.bakery.auth.config.custom.jackson.AuthJackson2Module;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+
+import static com.fasterxml.jackson.annotation.JsonInclude.Include.NON_NULL;
+import static com.fasterxml.jackson.databind.DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES;
+
+/**
+ * Spring Session 속성과 redisTemplate 값을 Jackson(JSON, CBOR)으로 저장한다.
+ * 값의 첫 바이트에 형식 버전을 기록하고, 버전 없이 저장된 JDK 직렬화 값(0xAC 0xED)은 JdkSerializationRedisSerializer 로 읽는다.
+ * 따라서 배포 전에 저장된 세션이나 다른 형식으로 저장된 값도 읽을 수 있으며, 이후 저장되는 값부터 설정한 형식으로 기록된다.
+ * Spring Security 타입은 SecurityJackson2Modules, 인증 서버 타입은 AuthJackson2Module 의 mixin 으로 허용된 클래스만 역직렬화하고,
+ * 클래스에 필드가 추가, 삭제되어도 알 수 없는 필드는 무시한다.
+ */
+public class VersionedRedisSerializer implements RedisSerializer<Object> {
+
+    private static final byte JDK_STREAM_MAGIC = (byte) 0xAC;
+
+    public enum Format {
+
+        /**
+         * 버전 바이트 없이 기존 JdkSerializationRedisSerializer 형식으로 저장
+         */
+        JDK((byte) 0),
+        JSON((byte) 1),
+        CBOR((byte) 2);
+
+        private final byte version;
+
+        Format(byte version) {
+            this.version = version;
+        }
+
+    }
+
+    private final Format format;
+
+    private final ObjectMapper jsonMapper;
+
+    private final ObjectMapper cborMapper;
+
+    private final JdkSerializationRedisSerializer jdkSerializer;
+
+    /**
+     * @param format      저장 형식, 읽기는 형식과 관계없이 버전 바이트로 판단한다.
+     * @param classLoader 역직렬화에 사용할 클래스 로더
+     */
+    public VersionedRedisSerializer(Format format, ClassLoader classLoader) {
+        this.format = format;
+        this.jsonMapper = objectMapper(new JsonFactory(), classLoader);
+        this.cborMapper = objectMapper(new CBORFactory(), classLoader);
+        this.jdkSerializer = new JdkSerializationRedisSerializer(classLoader);
+    }
+
+    @Override
+    public byte[] serialize(Object value) {
+        if (value == null) {
+            return new byte[0];
+        }
+        if (format == Format.JDK) {
+            return jdkSerializer.serialize(value);
+        }
+        try {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(256);
+            out.write(format.version);
+            mapper(format).writeValue(out, value);
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new SerializationException("Could not write " + format + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object deserialize(byte[] bytes) {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        byte version = bytes[0];
+        if (version == JDK_STREAM_MAGIC) {
+            return jdkSerializer.deserialize(bytes);
+        }
+        Format source = version == Format.JSON.version ? Format.JSON : version == Format.CBOR.version ? Format.CBOR : null;
+        if (source == null) {
+            throw new SerializationException("Unknown serialization format version: " + version);
+        }
+        try {
+            return mapper(source).readValue(bytes, 1, bytes.length - 1, Object.class);
+        } catch (IOException e) {
+            throw new SerializationException("Could not read " + source + ": " + e.getMessage(), e);
+        }
+    }
+
+    private ObjectMapper mapper(Format format) {
+        return format == Format.CBOR ? cborMapper : jsonMapper;
+    }
+
+    private static ObjectMapper objectMapper(JsonFactory jsonFactory, ClassLoader classLoader) {
+        ObjectMapper objectMapper = new ObjectMapper(jsonFactory);
+        objectMapper.registerModules(SecurityJackson2Modules.getModules(classLoader));
+        objectMapper.registerModule(new AuthJackson2Module());
+        objectMapper.setSerializationInclusion(NON_NULL);
+        objectMapper.disable(FAIL_ON_UNKNOWN_PROPERTIES);
+        return objectMapper;
+    }
+
+}
@@ -0,0 +1,92 @@
+package com.bakery.auth.config.custom.jackson;
+
+import com.bakery.common.GrantedAuthorities;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+
+/**
+ * AccountDetails 를 필드 기준으로 저장한다. 비밀번호는 저장하지 않는다.
+ * 권한은 클래스 정보 없이 이름 목록으로 저장하고 GrantedAuthorities 의 공유 Set 으로 복원한다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = NONE, isGetterVisibility = NONE, setterVisibility = NONE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+abstract class AccountDetailsMixin {
+
+    @JsonIgnore
+    private String password;
+
+    @JsonSerialize(using = AuthorityNamesSerializer.class)
+    @JsonDeserialize(using = AuthorityNamesDeserializer.class)
+    private Set<GrantedAuthority> authorities;
+
+    static class AuthorityNamesSerializer extends JsonSerializer<Collection<? extends GrantedAuthority>> {
+
+        @Override
+        public void serialize(Collection<? extends GrantedAuthority> authorities, JsonGenerator gen,
+                              SerializerProvider serializers) throws IOException {
+            gen.writeStartArray();
+            for (GrantedAuthority authority : authorities) {
+                gen.writeString(authority.getAuthority());
+            }
+            gen.writeEndArray();
+        }
+
+        /**
+         * 기본 타입 지정이 켜져 있어도 타입 정보 없이 이름 배열만 저장한다.
+         */
+        @Override
+        public void serializeWithType(Collection<? extends GrantedAuthority> authorities, JsonGenerator gen,
+                                      SerializerProvider serializers, TypeSerializer typeSer) throws IOException {
+            serialize(authorities, gen, serializers);
+        }
+
+    }
+
+    static class AuthorityNamesDeserializer extends JsonDeserializer<Set<GrantedAuthority>> {
+
+        @Override
+        public Set<GrantedAuthority> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (!p.isExpectedStartArrayToken()) {
+                @SuppressWarnings("unchecked")
+                Set<GrantedAuthority> authorities = (Set<GrantedAuthority>) ctxt.handleUnexpectedToken(Set.class, p);
+                return authorities;
+            }
+            List<String> names = new ArrayList<>();
+            while (p.nextToken() != JsonToken.END_ARRAY) {
+                names.add(p.getValueAsString());
+            }
+            return GrantedAuthorities.setOf(names);
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer) throws IOException {
+            return deserialize(p, ctxt);
+        }
+
+    }
+
+}
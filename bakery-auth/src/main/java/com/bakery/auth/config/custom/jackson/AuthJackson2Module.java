@@ -0,0 +1,35 @@
+package com.bakery.auth.config.custom.jackson;
+
+import com.bakery.auth.model.AccountDetails;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.jackson2.SecurityJackson2Modules;
+import org.springframework.security.oauth2.provider.AuthorizationRequest;
+
+import java.util.Collections;
+import java.util.HashMap;
+
+/**
+ * 로그인, 인가 요청 과정에서 세션에 저장되는 인증 서버 타입의 mixin
+ * AccountDetails 는 SecurityContext 의 principal, AuthorizationRequest 와 불변 Map 은 AuthorizationEndpoint 의 세션 속성이다.
+ * UsernamePasswordAuthenticationToken 은 CBOR 에서도 읽을 수 있도록 Spring Security 의 mixin 을 대체하므로 SecurityJackson2Modules 다음에 등록해야 한다.
+ */
+public class AuthJackson2Module extends SimpleModule {
+
+    private static final long serialVersionUID = -3546416155405312578L;
+
+    public AuthJackson2Module() {
+        super(AuthJackson2Module.class.getName(), new Version(1, 0, 0, null, null, null));
+    }
+
+    @Override
+    public void setupModule(SetupContext context) {
+        SecurityJackson2Modules.enableDefaultTyping(context.getOwner());
+        context.setMixInAnnotations(AccountDetails.class, AccountDetailsMixin.class);
+        context.setMixInAnnotations(UsernamePasswordAuthenticationToken.class, UsernamePasswordAuthenticationTokenMixin.class);
+        context.setMixInAnnotations(AuthorizationRequest.class, AuthorizationRequestMixin.class);
+        context.setMixInAnnotations(Collections.unmodifiableMap(new HashMap<>()).getClass(), UnmodifiableMapMixin.class);
+    }
+
+}
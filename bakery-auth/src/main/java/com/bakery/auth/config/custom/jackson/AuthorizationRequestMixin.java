@@ -0,0 +1,158 @@
+package com.bakery.auth.config.custom.jackson;
+
+import com.bakery.common.GrantedAuthorities;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.type.WritableTypeId;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.provider.AuthorizationRequest;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static java.util.Collections.emptyMap;
+
+/**
+ * AuthorizationEndpoint 가 승인 화면 전후로 세션에 저장하는 AuthorizationRequest
+ * 컬렉션은 구현 클래스와 관계없이 문자열 배열, 문자열 Map 으로 저장하고 생성자로 복원한다.
+ * extensions 는 사용하지 않으므로 저장하지 않는다(Oauth2CodeRequestCodec 과 동일).
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonSerialize(using = AuthorizationRequestMixin.AuthorizationRequestSerializer.class)
+@JsonDeserialize(using = AuthorizationRequestMixin.AuthorizationRequestDeserializer.class)
+abstract class AuthorizationRequestMixin {
+
+    static class AuthorizationRequestSerializer extends JsonSerializer<AuthorizationRequest> {
+
+        @Override
+        public void serialize(AuthorizationRequest request, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeStartObject();
+            writeFields(request, gen);
+            gen.writeEndObject();
+        }
+
+        @Override
+        public void serializeWithType(AuthorizationRequest request, JsonGenerator gen, SerializerProvider serializers,
+                                      TypeSerializer typeSer) throws IOException {
+            WritableTypeId typeId = typeSer.writeTypePrefix(gen, typeSer.typeId(request, JsonToken.START_OBJECT));
+            writeFields(request, gen);
+            typeSer.writeTypeSuffix(gen, typeId);
+        }
+
+        private void writeFields(AuthorizationRequest request, JsonGenerator gen) throws IOException {
+            gen.writeStringField("clientId", request.getClientId());
+            writeStrings(gen, "scope", request.getScope());
+            writeStringMap(gen, "requestParameters", request.getRequestParameters());
+            writeStringMap(gen, "approvalParameters", request.getApprovalParameters());
+            writeStrings(gen, "resourceIds", request.getResourceIds());
+            if (request.getAuthorities() != null) {
+                gen.writeArrayFieldStart("authorities");
+                for (GrantedAuthority authority : request.getAuthorities()) {
+                    gen.writeString(authority.getAuthority());
+                }
+                gen.writeEndArray();
+            }
+            gen.writeBooleanField("approved", request.isApproved());
+            if (request.getState() != null) {
+                gen.writeStringField("state", request.getState());
+            }
+            if (request.getRedirectUri() != null) {
+                gen.writeStringField("redirectUri", request.getRedirectUri());
+            }
+            writeStrings(gen, "responseTypes", request.getResponseTypes());
+        }
+
+        private void writeStrings(JsonGenerator gen, String name, Collection<String> values) throws IOException {
+            if (values == null) {
+                return;
+            }
+            gen.writeArrayFieldStart(name);
+            for (String value : values) {
+                gen.writeString(value);
+            }
+            gen.writeEndArray();
+        }
+
+        private void writeStringMap(JsonGenerator gen, String name, Map<String, String> values) throws IOException {
+            if (values == null) {
+                return;
+            }
+            gen.writeObjectFieldStart(name);
+            for (Map.Entry<String, String> entry : values.entrySet()) {
+                gen.writeStringField(entry.getKey(), entry.getValue());
+            }
+            gen.writeEndObject();
+        }
+
+    }
+
+    static class AuthorizationRequestDeserializer extends JsonDeserializer<AuthorizationRequest> {
+
+        @Override
+        public AuthorizationRequest deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            JsonNode node = p
+                    .getCodec()
+                    .readTree(p);
+            Set<String> authorityNames = strings(node.get("authorities"));
+            Set<GrantedAuthority> authorities = authorityNames != null ? GrantedAuthorities.setOf(new ArrayList<>(authorityNames)) : null;
+            return new AuthorizationRequest(
+                    stringMap(node.get("requestParameters")),
+                    stringMap(node.get("approvalParameters")),
+                    text(node.get("clientId")),
+                    strings(node.get("scope")),
+                    strings(node.get("resourceIds")),
+                    authorities,
+                    node.path("approved").asBoolean(),
+                    text(node.get("state")),
+                    text(node.get("redirectUri")),
+                    strings(node.get("responseTypes"))
+            );
+        }
+
+        private String text(JsonNode node) {
+            return node != null && !node.isNull() ? node.asText() : null;
+        }
+
+        private Set<String> strings(JsonNode node) {
+            if (node == null || !node.isArray()) {
+                return null;
+            }
+            Set<String> values = new LinkedHashSet<>(node.size() * 2);
+            for (JsonNode value : node) {
+                values.add(value.asText());
+            }
+            return values;
+        }
+
+        private Map<String, String> stringMap(JsonNode node) {
+            if (node == null || !node.isObject()) {
+                return emptyMap();
+            }
+            Map<String, String> values = new LinkedHashMap<>(node.size() * 2);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                values.put(field.getKey(), text(field.getValue()));
+            }
+            return values;
+        }
+
+    }
+
+}
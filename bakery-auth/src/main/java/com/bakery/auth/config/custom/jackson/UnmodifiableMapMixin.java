@@ -0,0 +1,42 @@
+package com.bakery.auth.config.custom.jackson;
+
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * AuthorizationEndpoint 가 원본 인가 요청을 비교하기 위해 세션에 저장하는 Collections.unmodifiableMap
+ * 값은 기본 타입 정보로 복원하고 다시 불변 Map 으로 감싼다(UnmodifiableSetMixin 과 동일).
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonDeserialize(using = UnmodifiableMapMixin.UnmodifiableMapDeserializer.class)
+abstract class UnmodifiableMapMixin {
+
+    static class UnmodifiableMapDeserializer extends JsonDeserializer<Map<String, Object>> {
+
+        @Override
+        public Map<String, Object> deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ObjectMapper mapper = (ObjectMapper) p.getCodec();
+            JsonNode node = mapper.readTree(p);
+            Map<String, Object> values = new LinkedHashMap<>(node.size() * 2);
+            Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> field = fields.next();
+                values.put(field.getKey(), mapper.readValue(field.getValue().traverse(mapper), Object.class));
+            }
+            return Collections.unmodifiableMap(values);
+        }
+
+    }
+
+}
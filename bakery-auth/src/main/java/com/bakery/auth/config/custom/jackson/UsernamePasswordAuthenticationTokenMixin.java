@@ -0,0 +1,67 @@
+package com.bakery.auth.config.custom.jackson;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.io.IOException;
+import java.util.List;
+
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.ANY;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.NONE;
+import static com.fasterxml.jackson.annotation.JsonAutoDetect.Visibility.PUBLIC_ONLY;
+
+/**
+ * Spring Security 의 UsernamePasswordAuthenticationTokenMixin 과 같은 구조로 저장한다.
+ * 기본 역직렬화는 details 를 JSON 문자열로 다시 파싱하여 CBOR 에서 사용할 수 없으므로, 모든 속성을 트리에서 바로 읽는다.
+ */
+@JsonTypeInfo(use = JsonTypeInfo.Id.CLASS)
+@JsonAutoDetect(fieldVisibility = ANY, getterVisibility = PUBLIC_ONLY, isGetterVisibility = NONE)
+@JsonIgnoreProperties(ignoreUnknown = true)
+@JsonDeserialize(using = UsernamePasswordAuthenticationTokenMixin.UsernamePasswordAuthenticationTokenDeserializer.class)
+abstract class UsernamePasswordAuthenticationTokenMixin {
+
+    static class UsernamePasswordAuthenticationTokenDeserializer extends JsonDeserializer<UsernamePasswordAuthenticationToken> {
+
+        private static final TypeReference<List<GrantedAuthority>> AUTHORITIES = new TypeReference<List<GrantedAuthority>>() {
+        };
+
+        @Override
+        public UsernamePasswordAuthenticationToken deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            ObjectMapper mapper = (ObjectMapper) p.getCodec();
+            JsonNode node = mapper.readTree(p);
+            Object principal = value(mapper, node.get("principal"));
+            Object credentials = value(mapper, node.get("credentials"));
+            UsernamePasswordAuthenticationToken token;
+            if (node.path("authenticated").asBoolean()) {
+                List<GrantedAuthority> authorities = mapper.readValue(node.get("authorities").traverse(mapper), AUTHORITIES);
+                token = new UsernamePasswordAuthenticationToken(principal, credentials, authorities);
+            } else {
+                token = new UsernamePasswordAuthenticationToken(principal, credentials);
+            }
+            token.setDetails(value(mapper, node.get("details")));
+            return token;
+        }
+
+        private Object value(ObjectMapper mapper, JsonNode node) throws IOException {
+            if (node == null || node.isNull() || node.isMissingNode()) {
+                return null;
+            }
+            if (node.isTextual()) {
+                return node.asText();
+            }
+            return mapper.readValue(node.traverse(mapper), Object.class);
+        }
+
+    }
+
+}
@@ -0,0 +1,63 @@
+package com.bakery.auth.controller;
+
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.common.JsonWebKey;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Base64;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * API 모듈이 토큰 서명을 검증할 공개키 목록(JWK Set)
+ * 키는 기동 시 고정되므로 본문과 ETag 를 미리 만들어두고, If-None-Match 가 같은 경우 본문 없이 304 로 응답한다.
+ */
+@RestController
+public class JwkSetController {
+
+    public static final String JWK_SET_PATH = "/auth/oauth/jwks";
+
+    private final byte[] jwkSet;
+
+    private final String eTag;
+
+    private final CacheControl cacheControl;
+
+    /**
+     * @param maxAge jwt.jwkSet.maxAge 응답 캐시 기간, API 모듈은 ETag 로 재검증한다.
+     */
+    public JwkSetController(CustomJwtTokenConverter customJwtTokenConverter,
+                            @Value("${jwt.jwkSet.maxAge:5m}") Duration maxAge) throws IOException, NoSuchAlgorithmException {
+        this.jwkSet = JsonWebKey.writeSet(customJwtTokenConverter.getJsonWebKeys());
+        this.eTag = "\"" + Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(MessageDigest.getInstance("SHA-256").digest(jwkSet)) + "\"";
+        this.cacheControl = CacheControl
+                .maxAge(maxAge.getSeconds(), SECONDS)
+                .cachePublic();
+    }
+
+    /**
+     * 요청의 If-None-Match 와 ETag 가 같은 경우 HttpEntityMethodProcessor 가 본문 없이 304 로 응답한다.
+     */
+    @GetMapping(JWK_SET_PATH)
+    public ResponseEntity<byte[]> jwkSet() {
+        return ResponseEntity
+                .ok()
+                .contentType(MediaType.valueOf(JsonWebKey.JWK_SET_CONTENT_TYPE))
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(jwkSet);
+    }
+
+}
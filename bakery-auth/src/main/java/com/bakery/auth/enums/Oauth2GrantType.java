@@ -1,5 +1,8 @@
 package com.bakery.auth.enums;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public enum Oauth2GrantType {
 
     AUTHORIZATION_CODE,
@@ -8,6 +11,21 @@ public enum Oauth2GrantType {
     REFRESH_TOKEN,
     CLIENT_CREDENTIALS;
 
+    private static final Map<String, Oauth2GrantType> VALUES = new HashMap<>();
+
+    static {
+        for (Oauth2GrantType grantType : values()) {
+            VALUES.put(grantType.toString(), grantType);
+        }
+    }
+
+    /**
+     * @param value 요청 파라미터의 grant_type 값
+     * @return 일치하는 grant_type, 없는 경우 null
+     */
+    public static Oauth2GrantType from(String value) {
+        return value != null ? VALUES.get(value) : null;
+    }
 
     @Override
     public String toString() {
@@ -1,19 +1,21 @@
 package com.bakery.auth.model;
 
 import com.bakery.auth.entity.Account;
+import com.bakery.auth.repository.projection.AccountCredential;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
 import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.Set;
 
-import static java.util.Collections.unmodifiableSet;
-import static java.util.stream.Collectors.toSet;
+import static com.bakery.common.GrantedAuthorities.setOf;
+import static java.util.stream.Collectors.toList;
 import static lombok.AccessLevel.PROTECTED;
 import static org.springframework.util.StringUtils.isEmpty;
 
@@ -42,26 +44,85 @@ public class AccountDetails implements UserDetails, CredentialsContainer {
     private boolean enabled;
 
     public AccountDetails(Account account) {
-        if (isEmpty(account.getEmail()) || account.getPassword() == null) {
-            throw new IllegalArgumentException("cannot pass null or empty values to constructor");
-        }
-
-        this.id = account.getId();
-        this.password = account.getPassword();
-        this.username = account.getEmail();
-        this.authorities = unmodifiableSet(
+        this(
+                account.getId(),
+                account.getEmail(),
+                account.getPassword(),
                 account
                         .getAuthorities()
                         .stream()
-                        .map(accountRole -> new SimpleGrantedAuthority(accountRole.getAuthority().getName()))
-                        .collect(toSet())
+                        .map(accountRole -> accountRole.getAuthority().getName())
+                        .collect(toList())
         );
+    }
+
+    private AccountDetails(Long id, String email, String password, List<String> authorities) {
+        if (isEmpty(email) || password == null) {
+            throw new IllegalArgumentException("cannot pass null or empty values to constructor");
+        }
+
+        this.id = id;
+        this.password = password;
+        this.username = email;
+        this.authorities = setOf(authorities);
         this.accountNonExpired = true; // TODO
         this.accountNonLocked = true; // TODO
         this.credentialsNonExpired = true; // TODO
         this.enabled = true; // TODO
     }
 
+    /**
+     * 프로젝션 조회 결과로 생성
+     *
+     * @param credentials 계정 권한별 행
+     */
+    public static AccountDetails of(List<AccountCredential> credentials) {
+        if (credentials.isEmpty()) {
+            throw new IllegalArgumentException("cannot pass null or empty values to constructor");
+        }
+        AccountCredential first = credentials.get(0);
+        return new AccountDetails(
+                first.getId(),
+                first.getEmail(),
+                first.getPassword(),
+                credentials
+                        .stream()
+                        .map(AccountCredential::getAuthority)
+                        .filter(Objects::nonNull)
+                        .collect(toList())
+        );
+    }
+
+    /**
+     * 캐시된 계정을 인증 과정에서 사용할 수 있도록 복사, 인증 후 eraseCredentials 가 호출되어도 원본은 유지된다.
+     *
+     * @param accountDetails 복사할 계정
+     */
+    public AccountDetails(AccountDetails accountDetails) {
+        this.id = accountDetails.id;
+        this.password = accountDetails.password;
+        this.username = accountDetails.username;
+        this.authorities = accountDetails.authorities;
+        this.accountNonExpired = accountDetails.accountNonExpired;
+        this.accountNonLocked = accountDetails.accountNonLocked;
+        this.credentialsNonExpired = accountDetails.credentialsNonExpired;
+        this.enabled = accountDetails.enabled;
+    }
+
+    /**
+     * Oauth2CodeRequestCodec 에서 비밀번호 없이 복원할 때 사용
+     */
+    AccountDetails(Long id, String username, Set<GrantedAuthority> authorities, boolean accountNonExpired,
+                   boolean accountNonLocked, boolean credentialsNonExpired, boolean enabled) {
+        this.id = id;
+        this.username = username;
+        this.authorities = authorities;
+        this.accountNonExpired = accountNonExpired;
+        this.accountNonLocked = accountNonLocked;
+        this.credentialsNonExpired = credentialsNonExpired;
+        this.enabled = enabled;
+    }
+
     @Override
     public void eraseCredentials() {
         password = null;
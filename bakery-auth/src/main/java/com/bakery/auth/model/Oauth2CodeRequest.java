@@ -4,8 +4,6 @@ import com.bakery.auth.enums.CodeChallengeMethod;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
-import org.springframework.data.annotation.Id;
-import org.springframework.data.redis.core.RedisHash;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.oauth2.common.exceptions.InvalidGrantException;
 import org.springframework.security.oauth2.provider.OAuth2Authentication;
@@ -15,15 +13,16 @@ import java.io.Serializable;
 
 import static lombok.AccessLevel.PROTECTED;
 
+/**
+ * authorization_code 발급 시 저장하는 인증 요청, Oauth2CodeRequestCodec 으로 인코딩하여 Redis 에 저장한다.
+ */
 @Getter
-@RedisHash(value = "oauth2CodeRequest", timeToLive = 60 * 10)
 @AllArgsConstructor
 @NoArgsConstructor(access = PROTECTED)
 public class Oauth2CodeRequest implements Serializable {
 
     private static final long serialVersionUID = -6511364846319566701L;
 
-    @Id
     private String code;
 
     private String codeChallenge;
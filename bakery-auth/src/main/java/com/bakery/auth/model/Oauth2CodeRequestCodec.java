@@ -0,0 +1,182 @@
+package com.bakery.auth.model;
+
+import com.bakery.auth.enums.CodeChallengeMethod;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.io.*;
+import java.util.*;
+
+import static com.bakery.common.GrantedAuthorities.setOf;
+
+/**
+ * Oauth2CodeRequest 를 Redis 에 하나의 값으로 저장하기 위한 바이너리 인코딩
+ * OAuth2Authentication 복원에 필요한 값만 저장하며, 비밀번호 해시와 OAuth2Request 의 extensions 는 저장하지 않는다.
+ * 첫 바이트는 포맷 버전으로, 필드가 변경되는 경우 버전을 올리고 이전 버전 읽기를 유지한다.
+ *
+ * <pre>
+ * version(1) | code | codeChallenge | codeChallengeMethod
+ * | clientId | approved | redirectUri? | requestParameters | scope | resourceIds | responseTypes | authorities
+ * | accountId? | username | accountAuthorities | accountFlags(1)
+ * </pre>
+ */
+public final class Oauth2CodeRequestCodec {
+
+    public static final byte VERSION = 1;
+
+    private static final int ACCOUNT_NON_EXPIRED = 1;
+
+    private static final int ACCOUNT_NON_LOCKED = 1 << 1;
+
+    private static final int CREDENTIALS_NON_EXPIRED = 1 << 2;
+
+    private static final int ENABLED = 1 << 3;
+
+    private Oauth2CodeRequestCodec() {
+    }
+
+    public static byte[] encode(Oauth2CodeRequest codeRequest) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(512);
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(codeRequest.getCode());
+            out.writeUTF(codeRequest.getCodeChallenge());
+            out.writeUTF(codeRequest.getCodeChallengeMethod().name());
+            OAuth2Request oAuth2Request = codeRequest.getOAuth2Request();
+            out.writeUTF(oAuth2Request.getClientId());
+            out.writeBoolean(oAuth2Request.isApproved());
+            writeNullable(out, oAuth2Request.getRedirectUri());
+            writeMap(out, oAuth2Request.getRequestParameters());
+            writeStrings(out, oAuth2Request.getScope());
+            writeStrings(out, oAuth2Request.getResourceIds());
+            writeStrings(out, oAuth2Request.getResponseTypes());
+            writeAuthorities(out, oAuth2Request.getAuthorities());
+            AccountDetails accountDetails = codeRequest.getAccountDetails();
+            out.writeBoolean(accountDetails.getId() != null);
+            if (accountDetails.getId() != null) {
+                out.writeLong(accountDetails.getId());
+            }
+            out.writeUTF(accountDetails.getUsername());
+            writeAuthorities(out, accountDetails.getAuthorities());
+            out.writeByte(flags(accountDetails));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * @param bytes encode 로 생성한 값
+     * @return 복원한 요청, AccountDetails 의 비밀번호는 null
+     * @throws IllegalArgumentException 지원하지 않는 버전이거나 손상된 값인 경우
+     */
+    public static Oauth2CodeRequest decode(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            byte version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException("unsupported code request version : " + version);
+            }
+            String code = in.readUTF();
+            String codeChallenge = in.readUTF();
+            CodeChallengeMethod codeChallengeMethod = CodeChallengeMethod.valueOf(in.readUTF());
+            String clientId = in.readUTF();
+            boolean approved = in.readBoolean();
+            String redirectUri = readNullable(in);
+            Map<String, String> requestParameters = readMap(in);
+            Set<String> scope = readStrings(in);
+            Set<String> resourceIds = readStrings(in);
+            Set<String> responseTypes = readStrings(in);
+            Set<GrantedAuthority> authorities = setOf(readList(in));
+            OAuth2Request oAuth2Request = new OAuth2Request(
+                    requestParameters,
+                    clientId,
+                    authorities,
+                    approved,
+                    scope,
+                    resourceIds,
+                    redirectUri,
+                    responseTypes,
+                    null
+            );
+            Long id = in.readBoolean() ? in.readLong() : null;
+            String username = in.readUTF();
+            Set<GrantedAuthority> accountAuthorities = setOf(readList(in));
+            int flags = in.readByte();
+            AccountDetails accountDetails = new AccountDetails(
+                    id,
+                    username,
+                    accountAuthorities,
+                    (flags & ACCOUNT_NON_EXPIRED) != 0,
+                    (flags & ACCOUNT_NON_LOCKED) != 0,
+                    (flags & CREDENTIALS_NON_EXPIRED) != 0,
+                    (flags & ENABLED) != 0
+            );
+            return new Oauth2CodeRequest(code, codeChallenge, codeChallengeMethod, oAuth2Request, accountDetails);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("malformed code request", e);
+        }
+    }
+
+    private static int flags(AccountDetails accountDetails) {
+        return (accountDetails.isAccountNonExpired() ? ACCOUNT_NON_EXPIRED : 0)
+                | (accountDetails.isAccountNonLocked() ? ACCOUNT_NON_LOCKED : 0)
+                | (accountDetails.isCredentialsNonExpired() ? CREDENTIALS_NON_EXPIRED : 0)
+                | (accountDetails.isEnabled() ? ENABLED : 0);
+    }
+
+    private static void writeNullable(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+
+    private static void writeStrings(DataOutputStream out, Collection<String> values) throws IOException {
+        out.writeShort(values.size());
+        for (String value : values) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static List<String> readList(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        List<String> values = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            values.add(in.readUTF());
+        }
+        return values;
+    }
+
+    private static Set<String> readStrings(DataInputStream in) throws IOException {
+        return new LinkedHashSet<>(readList(in));
+    }
+
+    private static void writeAuthorities(DataOutputStream out, Collection<? extends GrantedAuthority> authorities) throws IOException {
+        out.writeShort(authorities.size());
+        for (GrantedAuthority authority : authorities) {
+            out.writeUTF(authority.getAuthority());
+        }
+    }
+
+    private static void writeMap(DataOutputStream out, Map<String, String> values) throws IOException {
+        out.writeShort(values.size());
+        for (Map.Entry<String, String> entry : values.entrySet()) {
+            out.writeUTF(entry.getKey());
+            writeNullable(out, entry.getValue());
+        }
+    }
+
+    private static Map<String, String> readMap(DataInputStream in) throws IOException {
+        int size = in.readUnsignedShort();
+        Map<String, String> values = new HashMap<>(size * 2);
+        for (int i = 0; i < size; i++) {
+            values.put(in.readUTF(), readNullable(in));
+        }
+        return values;
+    }
+
+}
@@ -4,7 +4,6 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.redis.core.RedisHash;
-import org.springframework.data.redis.core.index.Indexed;
 import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
 
 import java.io.Serializable;
@@ -22,18 +21,35 @@ public class RememberMeToken implements Serializable {
     @Id
     private String series;
 
-    @Indexed
     private String email;
 
     private String token;
 
     private Date lastUsed;
 
+    /**
+     * 토큰 생성 시점의 계정별 세대 값, 이전 저장 방식으로 저장된 토큰은 null(0)
+     */
+    private Long generation;
+
     public RememberMeToken(PersistentRememberMeToken token) {
+        this(token, 0L);
+    }
+
+    public RememberMeToken(PersistentRememberMeToken token, long generation) {
         this.series = token.getSeries();
         this.email = token.getUsername();
         this.token = token.getTokenValue();
         this.lastUsed = token.getDate();
+        this.generation = generation;
+    }
+
+    /**
+     * @param currentGeneration 계정의 현재 세대 값
+     * @return 토큰 생성 이후 계정의 토큰이 모두 폐기된 경우 true
+     */
+    public boolean isRevoked(long currentGeneration) {
+        return (generation != null ? generation : 0L) < currentGeneration;
     }
 
 }
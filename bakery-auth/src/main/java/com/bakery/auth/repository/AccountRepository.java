@@ -1,9 +1,13 @@
 package com.bakery.auth.repository;
 
 import com.bakery.auth.entity.Account;
+import com.bakery.auth.repository.projection.AccountCredential;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.List;
 import java.util.Optional;
 
 import static org.springframework.data.jpa.repository.EntityGraph.EntityGraphType.FETCH;
@@ -13,4 +17,15 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
     @EntityGraph(attributePaths = {"authorities", "authorities.authority"}, type = FETCH)
     Optional<Account> findByEmail(String email);
 
+    /**
+     * 엔티티를 영속성 컨텍스트에 적재하지 않고 인증에 필요한 값만 조회한다.
+     *
+     * @param email 계정 email
+     * @return 계정 권한별 행, 계정이 없는 경우 빈 목록
+     */
+    @Query("select a.id as id, a.email as email, a.password as password, au.name as authority " +
+            "from Account a left join a.authorities aa left join aa.authority au " +
+            "where a.email = :email")
+    List<AccountCredential> findCredentialsByEmail(@Param("email") String email);
+
 }
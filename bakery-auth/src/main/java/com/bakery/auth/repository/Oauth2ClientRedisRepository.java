@@ -1,7 +1,15 @@
 package com.bakery.auth.repository;
 
 import com.bakery.auth.model.Oauth2ClientDetails;
-import org.springframework.data.repository.CrudRepository;
 
-public interface Oauth2ClientRedisRepository extends CrudRepository<Oauth2ClientDetails, String> {
+import java.util.Optional;
+
+public interface Oauth2ClientRedisRepository {
+
+    Oauth2ClientDetails save(Oauth2ClientDetails oauth2ClientDetails);
+
+    Optional<Oauth2ClientDetails> findById(String clientId);
+
+    void deleteById(String clientId);
+
 }
@@ -1,7 +1,17 @@
 package com.bakery.auth.repository;
 
 import com.bakery.auth.model.Oauth2CodeRequest;
-import org.springframework.data.repository.CrudRepository;
 
-public interface Oauth2CodeRequestRedisRepository extends CrudRepository<Oauth2CodeRequest, String> {
+import java.util.Optional;
+
+public interface Oauth2CodeRequestRedisRepository {
+
+    Oauth2CodeRequest save(Oauth2CodeRequest oauth2CodeRequest);
+
+    Optional<Oauth2CodeRequest> findById(String code);
+
+    Optional<Oauth2CodeRequest> consumeById(String code);
+
+    void deleteById(String code);
+
 }
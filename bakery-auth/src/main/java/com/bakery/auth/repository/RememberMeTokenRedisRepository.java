@@ -1,11 +1,27 @@
 package com.bakery.auth.repository;
 
 import com.bakery.auth.model.RememberMeToken;
-import com.bakery.auth.repository.custom.RememberMeTokenRedisRepositoryCustom;
-import org.springframework.data.repository.CrudRepository;
 
-public interface RememberMeTokenRedisRepository extends CrudRepository<RememberMeToken, String>, RememberMeTokenRedisRepositoryCustom {
+import java.util.Date;
+import java.util.Map;
+import java.util.Optional;
 
-    void deleteAllByEmail(String email);
+public interface RememberMeTokenRedisRepository {
+
+    RememberMeToken save(RememberMeToken rememberMeToken);
+
+    Optional<RememberMeToken> findById(String series);
+
+    void deleteById(String series);
+
+    void updateTokenAndLastUsed(String series, String tokenValue, Date lastUsed);
+
+    void updateToken(String series, String tokenValue);
+
+    void updateLastUsed(Map<String, Date> lastUsed);
+
+    long findGeneration(String email);
+
+    long incrementGeneration(String email);
 
 }
@@ -0,0 +1,194 @@
+package com.bakery.auth.repository.custom;
+
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.data.redis.core.PartialUpdate;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisKeyValueTemplate;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.RedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+import static java.lang.String.format;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.springframework.data.redis.serializer.RedisSerializer.byteArray;
+
+/**
+ * @RedisHash 매핑은 유지하면서 Spring Data 키 목록(set), phantom 키, :idx 키 없이 TTL 이 설정된 해시로만 저장한다.
+ * keyspace 이벤트를 사용할 수 없는 환경(ElastiCache, ConfigureRedisAction.NO_OP)에서는 해당 보조 키들이 만료 시 정리되지 않기 때문이다.
+ * 키 형식({keyspace}:{id})과 해시 필드는 Spring Data 와 동일하므로 기존에 저장된 값도 그대로 읽을 수 있다.
+ * 모든 스크립트는 해시 키 하나만 사용하므로 Cluster 에서도 키가 속한 노드에서 그대로 실행된다.
+ */
+@Component
+public class ExpiringHashTemplate {
+
+    /**
+     * KEYS[1] 해시, ARGV[1] TTL(초), ARGV[2..n] 필드/값
+     */
+    private static final RedisScript<Long> SAVE_SCRIPT = new DefaultRedisScript<>(
+            "redis.call('DEL', KEYS[1]) " +
+                    "redis.call('HMSET', KEYS[1], unpack(ARGV, 2)) " +
+                    "local ttl = tonumber(ARGV[1]) " +
+                    "if ttl > 0 then redis.call('EXPIRE', KEYS[1], ttl) end " +
+                    "return 1",
+            Long.class
+    );
+
+    private static final RedisScript<Long> UPDATE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('EXISTS', KEYS[1]) == 0 then return 0 end " +
+                    "redis.call('HMSET', KEYS[1], unpack(ARGV)) " +
+                    "return 1",
+            Long.class
+    );
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    private final RedisTemplate<String, Object> replicaRedisTemplate;
+
+    private final RedisConverter redisConverter;
+
+    public ExpiringHashTemplate(RedisKeyValueTemplate redisKeyValueTemplate, RedisTemplate<String, Object> redisTemplate,
+                                @Qualifier("replicaRedisTemplate") RedisTemplate<String, Object> replicaRedisTemplate) {
+        this.redisTemplate = redisTemplate;
+        this.replicaRedisTemplate = replicaRedisTemplate;
+        this.redisConverter = redisKeyValueTemplate.getConverter();
+    }
+
+    /**
+     * 해시를 한 번의 스크립트 실행으로 교체한다. TTL 은 @RedisHash 의 timeToLive 값을 사용한다.
+     *
+     * @param entity 저장할 객체
+     */
+    public void save(Object entity) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(entity, redisData);
+        Long timeToLive = redisData.getTimeToLive();
+        Map<byte[], byte[]> hash = redisData
+                .getBucket()
+                .rawMap();
+        Object[] args = new Object[hash.size() * 2 + 1];
+        args[0] = String.valueOf(timeToLive != null ? timeToLive : -1).getBytes(UTF_8);
+        int i = 1;
+        for (Map.Entry<byte[], byte[]> field : hash.entrySet()) {
+            args[i++] = field.getKey();
+            args[i++] = field.getValue();
+        }
+        redisTemplate.execute(SAVE_SCRIPT, byteArray(), null, singletonList(key(redisData.getKeyspace(), redisData.getId())), args);
+    }
+
+    /**
+     * 저장된 해시의 일부 필드만 변경한다. TTL 은 유지되며 해시가 없는 경우(만료, 삭제) 새로 만들지 않는다.
+     * HSET 만 사용하면 삭제된 토큰이 TTL 없는 해시로 다시 생성될 수 있으므로 존재 여부를 같은 스크립트에서 확인한다.
+     *
+     * @param update 변경할 필드
+     * @return 변경 여부
+     */
+    public boolean update(PartialUpdate<?> update) {
+        Long updated = redisTemplate.execute(UPDATE_SCRIPT, byteArray(), null, singletonList(key(update)), fields(update));
+        return updated != null && updated == 1;
+    }
+
+    /**
+     * 여러 해시의 일부 필드를 파이프라인으로 한 번에 변경한다. 각 변경은 update 와 동일하게 동작한다.
+     *
+     * @param updates 변경할 필드 목록
+     */
+    public void updateAll(Collection<? extends PartialUpdate<?>> updates) {
+        if (updates.isEmpty()) {
+            return;
+        }
+        byte[] script = UPDATE_SCRIPT
+                .getScriptAsString()
+                .getBytes(UTF_8);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (PartialUpdate<?> update : updates) {
+                Object[] fields = fields(update);
+                byte[][] keysAndArgs = new byte[fields.length + 1][];
+                keysAndArgs[0] = key(update).getBytes(UTF_8);
+                for (int i = 0; i < fields.length; i++) {
+                    keysAndArgs[i + 1] = (byte[]) fields[i];
+                }
+                connection.eval(script, ReturnType.INTEGER, 1, keysAndArgs);
+            }
+            return null;
+        });
+    }
+
+    private String key(PartialUpdate<?> update) {
+        return key(String.valueOf(update.getId()), update.getTarget());
+    }
+
+    /**
+     * @return 변경할 필드/값 목록
+     */
+    private Object[] fields(PartialUpdate<?> update) {
+        RedisData redisData = new RedisData();
+        redisConverter.write(update, redisData);
+        Map<byte[], byte[]> hash = redisData
+                .getBucket()
+                .rawMap();
+        Object[] args = new Object[hash.size() * 2];
+        int i = 0;
+        for (Map.Entry<byte[], byte[]> field : hash.entrySet()) {
+            args[i++] = field.getKey();
+            args[i++] = field.getValue();
+        }
+        return args;
+    }
+
+    public <T> Optional<T> findById(String id, Class<T> type) {
+        return findById(redisTemplate, id, type);
+    }
+
+    /**
+     * replicaRedisTemplate 으로 조회한다. 복제 지연만큼 삭제, 변경 전의 값을 읽을 수 있으므로 오래된 값을 허용하는 조회에만 사용한다.
+     */
+    public <T> Optional<T> findByIdFromReplica(String id, Class<T> type) {
+        return findById(replicaRedisTemplate, id, type);
+    }
+
+    private <T> Optional<T> findById(RedisTemplate<String, Object> template, String id, Class<T> type) {
+        String keyspace = keyspace(type);
+        byte[] key = key(keyspace, id).getBytes(UTF_8);
+        Map<byte[], byte[]> hash = template.execute((RedisCallback<Map<byte[], byte[]>>) connection -> connection.hGetAll(key));
+        if (hash == null || hash.isEmpty()) {
+            return Optional.empty();
+        }
+        RedisData redisData = new RedisData(Bucket.newBucketFromRawMap(hash));
+        redisData.setId(id);
+        redisData.setKeyspace(keyspace);
+        return Optional.ofNullable(redisConverter.read(type, redisData));
+    }
+
+    public void deleteById(String id, Class<?> type) {
+        redisTemplate.delete(key(id, type));
+    }
+
+    /**
+     * @return Spring Data 와 동일한 {keyspace}:{id} 형식의 해시 키
+     */
+    public String key(String id, Class<?> type) {
+        return key(keyspace(type), id);
+    }
+
+    public String keyspace(Class<?> type) {
+        return redisConverter
+                .getMappingContext()
+                .getRequiredPersistentEntity(type)
+                .getKeySpace();
+    }
+
+    private String key(String keyspace, String id) {
+        return format("%s:%s", keyspace, id);
+    }
+
+}
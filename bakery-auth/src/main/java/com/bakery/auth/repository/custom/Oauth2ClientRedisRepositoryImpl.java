@@ -0,0 +1,36 @@
+package com.bakery.auth.repository.custom;
+
+import com.bakery.auth.model.Oauth2ClientDetails;
+import com.bakery.auth.repository.Oauth2ClientRedisRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+/**
+ * 클라이언트 정보를 TTL 이 설정된 client:{client_id} 해시로만 저장한다.
+ * 조회는 로컬 캐시(Oauth2ClientCache) 미스 시에만 발생하고 오래된 값을 허용하므로 replica 에서 처리한다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class Oauth2ClientRedisRepositoryImpl implements Oauth2ClientRedisRepository {
+
+    private final ExpiringHashTemplate expiringHashTemplate;
+
+    @Override
+    public Oauth2ClientDetails save(Oauth2ClientDetails oauth2ClientDetails) {
+        expiringHashTemplate.save(oauth2ClientDetails);
+        return oauth2ClientDetails;
+    }
+
+    @Override
+    public Optional<Oauth2ClientDetails> findById(String clientId) {
+        return expiringHashTemplate.findByIdFromReplica(clientId, Oauth2ClientDetails.class);
+    }
+
+    @Override
+    public void deleteById(String clientId) {
+        expiringHashTemplate.deleteById(clientId, Oauth2ClientDetails.class);
+    }
+
+}
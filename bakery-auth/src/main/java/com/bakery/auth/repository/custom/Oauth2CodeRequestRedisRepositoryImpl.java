@@ -0,0 +1,91 @@
+package com.bakery.auth.repository.custom;
+
+import com.bakery.auth.model.Oauth2CodeRequest;
+import com.bakery.auth.model.Oauth2CodeRequestCodec;
+import com.bakery.auth.repository.Oauth2CodeRequestRedisRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.springframework.data.redis.serializer.RedisSerializer.byteArray;
+import static org.springframework.data.redis.serializer.RedisSerializer.string;
+
+/**
+ * code 별 요청을 Oauth2CodeRequestCodec 으로 인코딩하여 TTL 이 설정된 하나의 값으로 저장한다.
+ * 해시 매핑과 달리 키 목록(set)이나 phantom 키를 만들지 않으므로 만료 시 별도로 정리할 데이터가 남지 않는다.
+ */
+@Repository
+@RequiredArgsConstructor
+public class Oauth2CodeRequestRedisRepositoryImpl implements Oauth2CodeRequestRedisRepository {
+
+    public static final String KEY_PREFIX = "oauth2:code:";
+
+    public static final Duration TIME_TO_LIVE = Duration.ofMinutes(10);
+
+    /**
+     * 조회와 삭제를 하나의 명령으로 처리한다.
+     * 스크립트는 원자적으로 실행되므로 동시에 같은 code 로 요청해도 하나의 요청만 값을 받는다.
+     */
+    private static final RedisScript<byte[]> CONSUME_SCRIPT = new DefaultRedisScript<>(
+            "local value = redis.call('GET', KEYS[1]) " +
+                    "if value then redis.call('DEL', KEYS[1]) end " +
+                    "return value",
+            byte[].class
+    );
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public Oauth2CodeRequest save(Oauth2CodeRequest oauth2CodeRequest) {
+        byte[] key = key(oauth2CodeRequest.getCode()).getBytes(UTF_8);
+        byte[] value = Oauth2CodeRequestCodec.encode(oauth2CodeRequest);
+        redisTemplate.execute((RedisCallback<Boolean>) connection ->
+                connection.set(key, value, Expiration.from(TIME_TO_LIVE), SetOption.upsert())
+        );
+        return oauth2CodeRequest;
+    }
+
+    @Override
+    public Optional<Oauth2CodeRequest> findById(String code) {
+        byte[] key = key(code).getBytes(UTF_8);
+        return Optional
+                .ofNullable(redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(key)))
+                .map(Oauth2CodeRequestCodec::decode);
+    }
+
+    /**
+     * code 에 해당하는 요청을 조회와 동시에 삭제한다. 한 번 조회된 code 는 다시 사용할 수 없다.
+     *
+     * @param code authorization_code
+     * @return 저장된 요청, 없거나 이미 사용된 경우 empty
+     */
+    @Override
+    public Optional<Oauth2CodeRequest> consumeById(String code) {
+        return Optional
+                .ofNullable(redisTemplate.execute(CONSUME_SCRIPT, string(), byteArray(), singletonList(key(code))))
+                .map(Oauth2CodeRequestCodec::decode);
+    }
+
+    @Override
+    public void deleteById(String code) {
+        redisTemplate.delete(key(code));
+    }
+
+    /**
+     * @return oauth2:code:{code} 형식의 키, Cluster 에서는 해시 태그인 code 로 슬롯이 정해진다.
+     */
+    public static String key(String code) {
+        return KEY_PREFIX + "{" + code + "}";
+    }
+
+}
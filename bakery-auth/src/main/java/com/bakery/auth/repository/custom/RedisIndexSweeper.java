@@ -0,0 +1,180 @@
+package com.bakery.auth.repository.custom;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.ToString;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.ToLongFunction;
+
+import static java.lang.Boolean.TRUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * keyspace 이벤트 없이 Spring Data @RedisHash 저장소를 사용하던 동안 쌓인 보조 키를 정리하는 일회성 작업
+ * 해시는 TTL 로 만료되지만 아래 키는 정리되지 않고 계속 늘어난다.
+ * <ul>
+ *     <li>keyspace 별 id 목록 set(oauth2CodeRequest, client, rememberMe)</li>
+ *     <li>원본 해시가 만료된 {keyspace}:{id}:phantom, {keyspace}:{id}:idx 키</li>
+ *     <li>email 별 series 목록 rememberMe:email:{email} set, 계정별 폐기는 세대 값으로 처리하므로 더 이상 사용하지 않는다.</li>
+ * </ul>
+ * redis.sweeper.enabled=true 로 기동하면 1회 실행 후 정리한 키, set 멤버 수와 used_memory 감소량을 기록한다.
+ * 큰 set 은 SSCAN 으로 나누어 SREM 하므로 Redis 를 오래 점유하지 않는다.
+ * 보조 키는 SCAN 배치마다 원본 해시의 EXISTS 를 파이프라인으로 확인하고 한 번의 DEL 로 삭제한다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "redis.sweeper.enabled", havingValue = "true")
+public class RedisIndexSweeper implements ApplicationRunner {
+
+    public static final List<String> LEGACY_KEYSPACES = asList("oauth2CodeRequest", "client", "rememberMe");
+
+    private static final int BATCH_SIZE = 1000;
+
+    private static final String EMAIL_INDEX_PATTERN = "rememberMe:email:*";
+
+    private final RedisTemplate<String, Object> redisTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        log.info("redis index sweep finished : {}", sweep());
+    }
+
+    public SweepResult sweep() {
+        return requireNonNull(redisTemplate.execute((RedisCallback<SweepResult>) connection -> {
+            long usedMemory = usedMemory(connection);
+            SweepResult result = new SweepResult();
+            for (String keyspace : LEGACY_KEYSPACES) {
+                byte[] setKey = keyspace.getBytes(UTF_8);
+                if (connection.type(setKey) == DataType.SET) {
+                    result.removedMembers += drain(connection, setKey);
+                    result.deletedKeys++;
+                }
+                result.deletedKeys += deleteOrphans(connection, keyspace + ":*:phantom", ":phantom");
+                result.deletedKeys += deleteOrphans(connection, keyspace + ":*:idx", ":idx");
+            }
+            sweepEmailIndexes(connection, result);
+            result.freedBytes = usedMemory - usedMemory(connection);
+            return result;
+        }, true));
+    }
+
+    /**
+     * SSCAN 으로 읽은 멤버를 나누어 제거한다. 멤버가 모두 제거되면 set 도 삭제된다.
+     */
+    private long drain(RedisConnection connection, byte[] setKey) {
+        return sumBatches(connection.sScan(setKey, scanOptions(null)), members -> remove(connection, setKey, members));
+    }
+
+    /**
+     * @param pattern 보조 키 패턴
+     * @param suffix  보조 키에서 원본 해시 키를 구하기 위해 제거할 접미사
+     * @return 원본 해시가 없어 삭제한 보조 키 수
+     */
+    private long deleteOrphans(RedisConnection connection, String pattern, String suffix) {
+        return sumBatches(connection.scan(scanOptions(pattern)), keys -> deleteOrphans(connection, keys, suffix));
+    }
+
+    /**
+     * 원본 해시의 EXISTS 는 파이프라인으로 한 번에 보내고, 원본이 없는 보조 키는 한 번의 DEL 로 삭제한다.
+     */
+    private long deleteOrphans(RedisConnection connection, List<byte[]> keys, String suffix) {
+        connection.openPipeline();
+        for (byte[] key : keys) {
+            String name = new String(key, UTF_8);
+            connection.exists(name
+                    .substring(0, name.length() - suffix.length())
+                    .getBytes(UTF_8));
+        }
+        List<Object> exists = connection.closePipeline();
+        List<byte[]> orphans = new ArrayList<>();
+        for (int i = 0; i < keys.size(); i++) {
+            if (!TRUE.equals(exists.get(i))) {
+                orphans.add(keys.get(i));
+            }
+        }
+        if (orphans.isEmpty()) {
+            return 0;
+        }
+        Long deleted = connection.del(orphans.toArray(new byte[0][]));
+        return deleted != null ? deleted : 0;
+    }
+
+    private void sweepEmailIndexes(RedisConnection connection, SweepResult result) {
+        result.deletedKeys += sumBatches(connection.scan(scanOptions(EMAIL_INDEX_PATTERN)), setKeys -> {
+            for (byte[] setKey : setKeys) {
+                result.removedMembers += drain(connection, setKey);
+            }
+            return setKeys.size();
+        });
+    }
+
+    /**
+     * 커서를 BATCH_SIZE 단위로 나누어 처리하므로 스캔한 키 전체를 메모리에 올리지 않는다.
+     *
+     * @return 배치별 처리 결과의 합
+     */
+    private long sumBatches(Cursor<byte[]> cursor, ToLongFunction<List<byte[]>> action) {
+        long sum = 0;
+        List<byte[]> batch = new ArrayList<>(BATCH_SIZE);
+        try (Cursor<byte[]> closeable = cursor) {
+            while (closeable.hasNext()) {
+                batch.add(closeable.next());
+                if (batch.size() == BATCH_SIZE) {
+                    sum += action.applyAsLong(batch);
+                    batch.clear();
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return batch.isEmpty() ? sum : sum + action.applyAsLong(batch);
+    }
+
+    private long remove(RedisConnection connection, byte[] setKey, List<byte[]> members) {
+        Long removed = connection.sRem(setKey, members.toArray(new byte[0][]));
+        return removed != null ? removed : 0;
+    }
+
+    private ScanOptions scanOptions(String pattern) {
+        ScanOptions.ScanOptionsBuilder builder = ScanOptions
+                .scanOptions()
+                .count(BATCH_SIZE);
+        return pattern != null ? builder.match(pattern).build() : builder.build();
+    }
+
+    private long usedMemory(RedisConnection connection) {
+        Properties memory = requireNonNull(connection.info("memory"));
+        return Long.parseLong(memory.getProperty("used_memory", "0"));
+    }
+
+    @Getter
+    @ToString
+    public static class SweepResult {
+
+        private long deletedKeys;
+
+        private long removedMembers;
+
+        private long freedBytes;
+
+    }
+
+}
@@ -1,54 +1,79 @@
 package com.bakery.auth.repository.custom;
 
 import com.bakery.auth.model.RememberMeToken;
+import com.bakery.auth.repository.RememberMeTokenRedisRepository;
 import org.springframework.data.redis.core.PartialUpdate;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.RedisHash;
-import org.springframework.data.redis.core.RedisKeyValueTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.core.index.Indexed;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Repository;
 
+import java.util.ArrayList;
 import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import static java.lang.String.format;
-import static java.util.Arrays.stream;
-import static java.util.Objects.requireNonNull;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonList;
+import static org.springframework.data.redis.serializer.RedisSerializer.string;
 
-public class RememberMeTokenRedisRepositoryImpl implements RememberMeTokenRedisRepositoryCustom {
+/**
+ * remember-me 토큰을 TTL 이 설정된 rememberMe:{series} 해시로 저장한다.
+ * 계정의 토큰 전체 폐기는 토큰을 찾아 삭제하지 않고 rememberMe:generation:{email} 값을 INCR 하여 처리한다.
+ * 토큰에는 생성 시점의 세대 값이 저장되며, 현재 세대보다 작은 토큰은 사용할 수 없다.
+ * 세대 키는 폐기 시점부터 토큰과 같은 TTL 을 가지므로 이후에 생성된 토큰보다 먼저 만료되거나 삭제될 수 있다.
+ * 세대 키가 없는 상태에서 폐기하는 경우 1 이 아닌 현재 시각(ms)부터 시작하여, 세대 값이 이전 값보다 작아지지 않도록 한다.
+ */
+@Repository
+public class RememberMeTokenRedisRepositoryImpl implements RememberMeTokenRedisRepository {
 
-    private final RedisTemplate<String, Object> redisTemplate;
+    /**
+     * KEYS[1] 세대 키, ARGV[1] 현재 시각(ms), ARGV[2] TTL(초)
+     */
+    private static final RedisScript<Long> INCREMENT_GENERATION_SCRIPT = new DefaultRedisScript<>(
+            "local generation = tonumber(ARGV[1]) " +
+                    "if redis.call('EXISTS', KEYS[1]) == 1 then generation = redis.call('INCR', KEYS[1]) " +
+                    "else redis.call('SET', KEYS[1], ARGV[1]) end " +
+                    "redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+                    "return generation",
+            Long.class
+    );
+
+    private final ExpiringHashTemplate expiringHashTemplate;
 
-    private final RedisKeyValueTemplate redisKeyValueTemplate;
+    private final RedisTemplate<String, Object> redisTemplate;
 
     private final String hashKey;
 
-    private final String indexFieldName;
+    private final long timeToLive;
 
-    public RememberMeTokenRedisRepositoryImpl(RedisKeyValueTemplate redisKeyValueTemplate, RedisTemplate<String, Object> redisTemplate) {
-        this.redisKeyValueTemplate = redisKeyValueTemplate;
+    public RememberMeTokenRedisRepositoryImpl(ExpiringHashTemplate expiringHashTemplate, RedisTemplate<String, Object> redisTemplate) {
+        this.expiringHashTemplate = expiringHashTemplate;
         this.redisTemplate = redisTemplate;
-        this.hashKey = RememberMeToken.class.getAnnotation(RedisHash.class).value();
-        this.indexFieldName = stream(RememberMeToken.class.getDeclaredFields())
-                .filter(field -> field.isAnnotationPresent(Indexed.class))
-                .findFirst()
-                .orElseThrow(RuntimeException::new)
-                .getName();
+        this.hashKey = expiringHashTemplate.keyspace(RememberMeToken.class);
+        this.timeToLive = RememberMeToken.class
+                .getAnnotation(RedisHash.class)
+                .timeToLive();
+    }
+
+    @Override
+    public RememberMeToken save(RememberMeToken rememberMeToken) {
+        expiringHashTemplate.save(rememberMeToken);
+        return rememberMeToken;
     }
 
     @Override
-    public void deleteAllByEmail(String email) {
-        String setKey = format("%s:%s:%s", hashKey, indexFieldName, email);
-        requireNonNull(
-                redisTemplate
-                        .opsForSet()
-                        .members(setKey)
-        )
-                .forEach(data -> {
-                    String hashKey = format("%s:%s", this.hashKey, data);
-                    redisTemplate.delete(hashKey);
-                    redisTemplate.delete(format("%s:%s", hashKey, "idx"));
-                    redisTemplate.delete(format("%s:%s", hashKey, "phantom"));
-                });
-        redisTemplate.delete(setKey);
+    public Optional<RememberMeToken> findById(String series) {
+        return expiringHashTemplate.findById(series, RememberMeToken.class);
+    }
+
+    @Override
+    public void deleteById(String series) {
+        expiringHashTemplate.deleteById(series, RememberMeToken.class);
     }
 
     @Override
@@ -56,7 +81,70 @@ public class RememberMeTokenRedisRepositoryImpl implements RememberMeTokenRedisR
         PartialUpdate<RememberMeToken> update = new PartialUpdate<>(series, RememberMeToken.class)
                 .set("token", tokenValue)
                 .set("lastUsed", lastUsed);
-        redisKeyValueTemplate.update(update);
+        expiringHashTemplate.update(update);
+    }
+
+    /**
+     * token 필드만 변경한다. lastUsed 는 RememberMeLastUsedBuffer 에서 모아 updateLastUsed 로 반영한다.
+     *
+     * @param series     remember-me 토큰 식별키
+     * @param tokenValue 변경할 토큰 값
+     */
+    @Override
+    public void updateToken(String series, String tokenValue) {
+        expiringHashTemplate.update(
+                new PartialUpdate<>(series, RememberMeToken.class).set("token", tokenValue)
+        );
+    }
+
+    /**
+     * @param lastUsed series 별 최근 사용일, 파이프라인으로 한 번에 반영한다.
+     */
+    @Override
+    public void updateLastUsed(Map<String, Date> lastUsed) {
+        List<PartialUpdate<RememberMeToken>> updates = new ArrayList<>(lastUsed.size());
+        lastUsed.forEach((series, date) ->
+                updates.add(new PartialUpdate<>(series, RememberMeToken.class).set("lastUsed", date))
+        );
+        expiringHashTemplate.updateAll(updates);
+    }
+
+    /**
+     * @param email 계정 이름
+     * @return 계정의 현재 세대 값, 폐기한 적이 없거나 세대 키가 만료된 경우 0
+     */
+    @Override
+    public long findGeneration(String email) {
+        byte[] key = generationKey(email).getBytes(UTF_8);
+        byte[] generation = redisTemplate.execute((RedisCallback<byte[]>) connection -> connection.get(key));
+        return generation != null ? Long.parseLong(new String(generation, UTF_8)) : 0L;
+    }
+
+    /**
+     * 계정의 세대 값을 올려 기존 토큰을 모두 폐기한다. 세대 키가 만료, 삭제된 경우 현재 시각(ms)을 세대 값으로 사용하여
+     * 다시 1 부터 시작한 세대 값이 만료 전 세대로 생성된 토큰과 같아져 폐기되지 않는 경우를 막는다.
+     *
+     * @param email 계정 이름
+     * @return 변경된 세대 값
+     */
+    @Override
+    public long incrementGeneration(String email) {
+        Long generation = redisTemplate.execute(
+                INCREMENT_GENERATION_SCRIPT,
+                string(),
+                null,
+                singletonList(generationKey(email)),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(timeToLive)
+        );
+        return generation != null ? generation : 0L;
+    }
+
+    /**
+     * @return rememberMe:generation:{email} 형식의 키, Cluster 에서는 해시 태그인 email 로 슬롯이 정해진다.
+     */
+    private String generationKey(String email) {
+        return format("%s:%s:{%s}", hashKey, "generation", email);
     }
 
 }
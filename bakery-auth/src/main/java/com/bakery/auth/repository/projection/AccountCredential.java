@@ -0,0 +1,19 @@
+package com.bakery.auth.repository.projection;
+
+/**
+ * 계정 인증에 필요한 컬럼만 조회하는 프로젝션, 계정 권한 하나당 한 행으로 조회된다.
+ */
+public interface AccountCredential {
+
+    Long getId();
+
+    String getEmail();
+
+    String getPassword();
+
+    /**
+     * @return 권한 이름, 권한이 없는 계정인 경우 null
+     */
+    String getAuthority();
+
+}
@@ -1,29 +1,83 @@
 package com.bakery.auth.service;
 
+import com.bakery.auth.cache.AccountDetailsCache;
 import com.bakery.auth.entity.Account;
 import com.bakery.auth.model.AccountDetails;
 import com.bakery.auth.repository.AccountRepository;
+import com.bakery.auth.repository.projection.AccountCredential;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.springframework.transaction.annotation.Propagation.SUPPORTS;
 
 @Service
 @Transactional
 @RequiredArgsConstructor
-public class AccountService implements UserDetailsService {
+public class AccountService implements UserDetailsService, UserDetailsPasswordService {
 
     private final AccountRepository accountRepository;
 
-    @Transactional(readOnly = true)
+    private final AccountDetailsCache accountDetailsCache;
+
+    /**
+     * 캐시에 없는 경우에만 프로젝션 쿼리로 조회하며, 캐시 조회 시에는 트랜잭션을 시작하지 않는다.
+     */
+    @Transactional(propagation = SUPPORTS, readOnly = true)
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        return accountDetailsCache.get(username, email -> {
+            List<AccountCredential> credentials = accountRepository.findCredentialsByEmail(email);
+            if (credentials.isEmpty()) {
+                throw new UsernameNotFoundException(email);
+            }
+            return AccountDetails.of(credentials);
+        });
+    }
+
+    /**
+     * 로그인 성공 시 저장된 해시의 strength 가 설정값보다 낮거나 다른 형식인 경우 다시 해싱한 비밀번호로 변경한다.
+     *
+     * @param user        로그인한 계정
+     * @param newPassword 다시 해싱한 비밀번호
+     * @return 비밀번호가 변경된 계정
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
         Account account = accountRepository
-                .findByEmail(username)
-                .orElseThrow(() -> new UsernameNotFoundException(username));
+                .findByEmail(user.getUsername())
+                .orElseThrow(() -> new UsernameNotFoundException(user.getUsername()));
+        account.setPassword(newPassword);
+        evictAccount(account.getEmail());
         return new AccountDetails(account);
     }
 
+    /**
+     * 계정 비밀번호, 권한 변경 시 모든 노드의 계정 캐시를 무효화한다.
+     * 커밋 전에 무효화하면 다른 요청이 변경 전 계정을 다시 캐시할 수 있으므로 트랜잭션 안에서는 커밋 후에 무효화하고,
+     * 롤백된 경우에는 무효화하지 않는다.
+     *
+     * @param email 변경된 계정 email
+     */
+    public void evictAccount(String email) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            accountDetailsCache.evict(email);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                accountDetailsCache.evict(email);
+            }
+        });
+    }
+
 }
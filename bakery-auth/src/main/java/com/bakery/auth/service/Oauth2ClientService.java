@@ -1,23 +1,20 @@
 package com.bakery.auth.service;
 
+import com.bakery.auth.cache.Oauth2ClientCache;
 import com.bakery.auth.entity.Oauth2Client;
-import com.bakery.auth.model.Oauth2ClientDetails;
 import com.bakery.auth.repository.Oauth2ClientRedisRepository;
 import com.bakery.auth.repository.Oauth2ClientRepository;
 import lombok.RequiredArgsConstructor;
-import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.oauth2.provider.ClientDetails;
 import org.springframework.security.oauth2.provider.ClientDetailsService;
 import org.springframework.security.oauth2.provider.ClientRegistrationException;
-import org.springframework.security.oauth2.provider.NoSuchClientException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
-import java.util.Optional;
-
-@Slf4j
+/**
+ * 클라이언트 인증은 모든 토큰 요청마다 여러 번 호출되므로 로컬 캐시 -> Redis -> DB 순서로 조회한다.
+ * 로컬 캐시 미스 시 조회는 Oauth2ClientLoader 에서 처리한다.
+ */
 @Service
-@Transactional
 @RequiredArgsConstructor
 public class Oauth2ClientService implements ClientDetailsService {
 
@@ -25,20 +22,34 @@ public class Oauth2ClientService implements ClientDetailsService {
 
     private final Oauth2ClientRedisRepository oauth2ClientRedisRepository;
 
-    @Transactional(readOnly = true)
+    private final Oauth2ClientCache oauth2ClientCache;
+
     @Override
     public ClientDetails loadClientByClientId(String clientId) throws ClientRegistrationException {
-        Optional<Oauth2ClientDetails> byId = oauth2ClientRedisRepository.findById(clientId);
-        if (byId.isPresent()) {
-            log.debug("client id : {} is caching", clientId);
-            return byId.get();
-        }
-        Oauth2Client client = oauth2ClientRepository
-                .findByClientId(clientId)
-                .orElseThrow(() -> new NoSuchClientException(clientId));
-        Oauth2ClientDetails oauth2ClientDetails = new Oauth2ClientDetails(client);
-        log.debug("client id : {} has been cached", clientId);
-        return oauth2ClientRedisRepository.save(oauth2ClientDetails);
+        return oauth2ClientCache.get(clientId);
+    }
+
+    /**
+     * 클라이언트를 저장한 뒤 캐시를 무효화한다.
+     * 존재하지 않는 클라이언트로 캐시된 client_id 도 함께 무효화되어 즉시 조회할 수 있다.
+     *
+     * @param oauth2Client 등록할 클라이언트
+     * @return 저장된 클라이언트
+     */
+    public Oauth2Client registerClient(Oauth2Client oauth2Client) {
+        Oauth2Client saved = oauth2ClientRepository.save(oauth2Client);
+        evictClient(saved.getClientId());
+        return saved;
+    }
+
+    /**
+     * 클라이언트 정보 변경 시 Redis 캐시를 삭제하고 모든 노드의 로컬 캐시를 무효화한다.
+     *
+     * @param clientId 변경된 클라이언트 id
+     */
+    public void evictClient(String clientId) {
+        oauth2ClientRedisRepository.deleteById(clientId);
+        oauth2ClientCache.evict(clientId);
     }
 
 }
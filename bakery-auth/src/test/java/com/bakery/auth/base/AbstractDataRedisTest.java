@@ -2,13 +2,52 @@ package com.bakery.auth.base;
 
 import com.bakery.auth.config.EmbeddedRedisConfig;
 import org.junit.jupiter.api.Disabled;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.redis.DataRedisTest;
 import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.test.context.ActiveProfiles;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static java.util.Objects.requireNonNull;
+
 @Disabled
 @DataRedisTest
 @Import(EmbeddedRedisConfig.class)
 @ActiveProfiles("test")
 public abstract class AbstractDataRedisTest {
+
+    @Autowired
+    private RedisTemplate<String, Object> commandStatsTemplate;
+
+    /**
+     * 명령 호출 횟수 측정 전 INFO commandstats 초기화
+     */
+    protected void resetCommandStats() {
+        commandStatsTemplate.execute((RedisCallback<Void>) connection -> {
+            connection.resetConfigStats();
+            return null;
+        });
+    }
+
+    /**
+     * INFO commandstats 결과를 명령별 호출 횟수로 변환
+     */
+    protected Map<String, Long> commandCalls() {
+        Properties commandStats = commandStatsTemplate.execute((RedisCallback<Properties>) connection -> connection.info("commandstats"));
+        Map<String, Long> commandCalls = new HashMap<>();
+        requireNonNull(commandStats).forEach((key, value) -> {
+            String calls = value.toString().split(",")[0];
+            commandCalls.put(
+                    key.toString().replace("cmdstat_", ""),
+                    Long.parseLong(calls.substring(calls.indexOf('=') + 1))
+            );
+        });
+        return commandCalls;
+    }
+
 }
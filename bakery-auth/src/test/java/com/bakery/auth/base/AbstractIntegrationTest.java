@@ -4,6 +4,7 @@ import com.bakery.auth.config.EmbeddedRedisConfig;
 import com.bakery.auth.config.RestDocsConfig;
 import com.bakery.auth.config.TestDataConfig;
 import com.bakery.auth.enums.Oauth2GrantType;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.junit.jupiter.api.Disabled;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
@@ -44,6 +45,9 @@ public abstract class AbstractIntegrationTest {
     @Autowired
     protected TestDataConfig.TestProperties testProperties;
 
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
     protected ResultActions getCheckTokenResponse(String clientId, String clientSecret, String token) throws Exception {
         return mockMvc
                 .perform(
@@ -151,6 +155,18 @@ public abstract class AbstractIntegrationTest {
                 );
     }
 
+    protected ResultActions getTokenResponse(String grantType, String clientId, String clientSecret) throws Exception {
+        return mockMvc
+                .perform(
+                        post("/auth/oauth/token")
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .param("client_id", clientId)
+                                .param("client_secret", clientSecret)
+                                .param("grant_type", grantType)
+                );
+    }
+
     protected String getAccessToken(String username, String password,
                                     String clientId, String clientSecret,
                                     String scopes) throws Exception {
@@ -175,4 +191,14 @@ public abstract class AbstractIntegrationTest {
                 .get("refresh_token");
     }
 
+    /**
+     * @return 커넥션 풀에서 커넥션을 획득한 누적 횟수
+     */
+    protected long getConnectionAcquisitions() {
+        return meterRegistry
+                .get("hikaricp.connections.acquire")
+                .timer()
+                .count();
+    }
+
 }
@@ -1,7 +1,10 @@
 package com.bakery.auth.base;
 
+import com.bakery.auth.cache.ClientSecretCache;
 import com.bakery.auth.config.AuthConfig;
+import com.bakery.auth.config.PasswordConfig;
 import com.bakery.auth.config.SecurityConfig;
+import com.bakery.auth.config.custom.PasswordVerificationExecutor;
 import com.bakery.auth.config.custom.PkceAuthorizationCodeService;
 import com.bakery.auth.entity.Account;
 import com.bakery.auth.entity.AccountAuthority;
@@ -14,6 +17,7 @@ import com.bakery.auth.config.TestDataConfig.TestProperties;
 import com.bakery.auth.config.custom.CustomJwtTokenConverter;
 import com.bakery.auth.config.custom.CustomRememberMeTokenRepository;
 import com.bakery.auth.service.Oauth2ClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Disabled;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.restdocs.AutoConfigureRestDocs;
@@ -48,7 +52,8 @@ import static org.springframework.security.core.authority.AuthorityUtils.createA
 @Disabled
 @WebMvcTest
 @ActiveProfiles("test")
-@Import(value = {RestDocsConfig.class, SecurityConfig.class, AuthConfig.class, TestProperties.class})
+@Import(value = {RestDocsConfig.class, SecurityConfig.class, AuthConfig.class, TestProperties.class, SimpleMeterRegistry.class, ClientSecretCache.class,
+        PasswordConfig.class, PasswordVerificationExecutor.class})
 @AutoConfigureRestDocs
 public abstract class AbstractWebMvcTest {
 
@@ -65,7 +70,7 @@ public abstract class AbstractWebMvcTest {
     private CustomRememberMeTokenRepository customRememberMeTokenRepository;
 
     @MockBean
-    private Oauth2ClientService clientDetailsService;
+    protected Oauth2ClientService clientDetailsService;
 
     @MockBean
     private CustomJwtTokenConverter customJwtTokenConverter;
@@ -84,7 +89,6 @@ public abstract class AbstractWebMvcTest {
         when(clientDetailsService.loadClientByClientId(any())).thenReturn(generateOauth2ClientDetails());
         when(customJwtTokenConverter.enhance(any(), any())).thenReturn(generateAccessToken());
         doReturn(generateCheckTokenInfo()).when(customJwtTokenConverter).convertAccessToken(any(), any());
-        doAnswer(invocation -> null).when(pkceAuthorizationCodeService).removeStoredAuthentication(any());
         when(pkceAuthorizationCodeService.consumeAuthorizationCodeAndCodeVerifier(any(), any())).thenReturn(oAuth2Authentication);
         when(pkceAuthorizationCodeService.createAuthorizationCode(any())).thenReturn("JXrJ2y");
         when(tokenStore.readRefreshToken(any())).thenReturn(generateRefreshToken());
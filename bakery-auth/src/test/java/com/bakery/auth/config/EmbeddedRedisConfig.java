@@ -1,18 +1,23 @@
 package com.bakery.auth.config;
 
+import com.bakery.auth.config.custom.VersionedRedisSerializer;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.repository.configuration.EnableRedisRepositories;
-import org.springframework.data.redis.serializer.GenericToStringSerializer;
-import org.springframework.data.redis.serializer.StringRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import redis.embedded.RedisServer;
 
 import javax.annotation.PreDestroy;
 
+import static com.bakery.auth.config.custom.VersionedRedisSerializer.Format.CBOR;
+import static io.lettuce.core.ReadFrom.REPLICA_PREFERRED;
 import static org.springframework.util.SocketUtils.findAvailableTcpPort;
 
 @EnableRedisRepositories
@@ -36,20 +41,36 @@ public class EmbeddedRedisConfig {
         }
     }
 
+    @Primary
     @Bean
     public RedisConnectionFactory redisConnectionFactory(@Value("${spring.redis.host}") String host) {
         return new LettuceConnectionFactory(host, port);
     }
 
+    /**
+     * replica 가 없는 단일 노드이므로 replicaPreferred 조회도 같은 노드에서 처리된다.
+     */
     @Bean
-    public RedisTemplate<String, Object> redisTemplate(RedisConnectionFactory redisConnectionFactory) {
-        RedisTemplate<String, Object> redisTemplate = new RedisTemplate<>();
-        redisTemplate.setConnectionFactory(redisConnectionFactory);
-        redisTemplate.setKeySerializer(new StringRedisSerializer());
-        redisTemplate.setValueSerializer(new GenericToStringSerializer<>(Object.class));
-        redisTemplate.setHashKeySerializer(new StringRedisSerializer());
-        redisTemplate.setHashValueSerializer(new GenericToStringSerializer<>(Object.class));
-        return redisTemplate;
+    public RedisConnectionFactory replicaRedisConnectionFactory(@Value("${spring.redis.host}") String host) {
+        return RedisConfig.lettuceConnectionFactory(new RedisStandaloneConfiguration(host, port), null, REPLICA_PREFERRED);
+    }
+
+    @Bean
+    public RedisSerializer<Object> springSessionDefaultRedisSerializer() {
+        return new VersionedRedisSerializer(CBOR, EmbeddedRedisConfig.class.getClassLoader());
+    }
+
+    @Primary
+    @Bean
+    public RedisTemplate<String, Object> redisTemplate(@Qualifier("redisConnectionFactory") RedisConnectionFactory redisConnectionFactory,
+                                                       @Qualifier("springSessionDefaultRedisSerializer") RedisSerializer<Object> valueSerializer) {
+        return RedisConfig.redisTemplateOf(redisConnectionFactory, valueSerializer);
+    }
+
+    @Bean
+    public RedisTemplate<String, Object> replicaRedisTemplate(@Qualifier("replicaRedisConnectionFactory") RedisConnectionFactory replicaRedisConnectionFactory,
+                                                              @Qualifier("springSessionDefaultRedisSerializer") RedisSerializer<Object> valueSerializer) {
+        return RedisConfig.redisTemplateOf(replicaRedisConnectionFactory, valueSerializer);
     }
 
 }
@@ -0,0 +1,170 @@
+package com.bakery.auth.config;
+
+import com.bakery.auth.config.custom.VersionedRedisSerializer;
+import org.springframework.boot.autoconfigure.data.redis.RedisProperties;
+import org.springframework.data.redis.connection.RedisNode;
+import org.springframework.data.redis.connection.RedisSentinelConfiguration;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import redis.embedded.RedisSentinel;
+import redis.embedded.RedisServer;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.function.BooleanSupplier;
+
+import static com.bakery.auth.config.custom.VersionedRedisSerializer.Format.CBOR;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.Objects.requireNonNull;
+import static org.springframework.util.SocketUtils.findAvailableTcpPort;
+
+/**
+ * primary, replica, sentinel 을 각각 별도의 embedded Redis 프로세스로 실행하는 테스트용 Sentinel 토폴로지
+ * 장애 확인 시간을 줄이기 위해 down-after-milliseconds 1초, failover-timeout 2초, quorum 1 로 설정한다.
+ * sentinel 은 10초마다 primary 의 INFO 로 replica 를 찾으므로, 복제가 연결된 뒤 sentinel 을 시작하고 replica 를 인식할 때까지 기다린다.
+ */
+public class EmbeddedRedisTopology implements AutoCloseable {
+
+    public static final String MASTER_NAME = "bakery";
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private final int masterPort;
+
+    private final int replicaPort;
+
+    private final int sentinelPort;
+
+    private final RedisServer master;
+
+    private final RedisServer replica;
+
+    private final RedisSentinel sentinel;
+
+    private final List<LettuceConnectionFactory> nodeConnectionFactories = new ArrayList<>();
+
+    private final RedisSerializer<Object> valueSerializer = new VersionedRedisSerializer(CBOR, EmbeddedRedisTopology.class.getClassLoader());
+
+    public EmbeddedRedisTopology() {
+        this.masterPort = findAvailableTcpPort();
+        this.replicaPort = findAvailableTcpPort(masterPort + 1);
+        this.sentinelPort = findAvailableTcpPort(replicaPort + 1);
+        this.master = RedisServer
+                .builder()
+                .port(masterPort)
+                .build();
+        this.replica = RedisServer
+                .builder()
+                .port(replicaPort)
+                .slaveOf("127.0.0.1", masterPort)
+                .build();
+        this.sentinel = RedisSentinel
+                .builder()
+                .port(sentinelPort)
+                .masterName(MASTER_NAME)
+                .masterPort(masterPort)
+                .quorumSize(1)
+                .downAfterMilliseconds(1000L)
+                .failoverTimeout(2000L)
+                .build();
+        master.start();
+        replica.start();
+        RedisTemplate<String, Object> replicaNode = nodeTemplate(replicaPort);
+        await(() -> "up".equals(replication(replicaNode).getProperty("master_link_status")));
+        sentinel.start();
+        await(this::isReplicaDiscovered);
+    }
+
+    /**
+     * @return sentinel 을 통해 연결하는 spring.redis 설정
+     */
+    public RedisProperties redisProperties() {
+        RedisProperties.Sentinel sentinelProperties = new RedisProperties.Sentinel();
+        sentinelProperties.setMaster(MASTER_NAME);
+        sentinelProperties.setNodes(singletonList("127.0.0.1:" + sentinelPort));
+        RedisProperties redisProperties = new RedisProperties();
+        redisProperties.setSentinel(sentinelProperties);
+        return redisProperties;
+    }
+
+    /**
+     * @return 토폴로지와 관계없이 해당 노드에만 연결하는 템플릿, INFO 확인 용도
+     */
+    public RedisTemplate<String, Object> nodeTemplate(int port) {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory("127.0.0.1", port);
+        connectionFactory.afterPropertiesSet();
+        nodeConnectionFactories.add(connectionFactory);
+        RedisTemplate<String, Object> redisTemplate = RedisConfig.redisTemplateOf(connectionFactory, valueSerializer);
+        redisTemplate.afterPropertiesSet();
+        return redisTemplate;
+    }
+
+    private Properties replication(RedisTemplate<String, Object> node) {
+        return requireNonNull(node.execute((RedisCallback<Properties>) connection -> connection.info("replication")));
+    }
+
+    private boolean isReplicaDiscovered() {
+        LettuceConnectionFactory connectionFactory = new LettuceConnectionFactory(
+                new RedisSentinelConfiguration(MASTER_NAME, singleton("127.0.0.1:" + sentinelPort))
+        );
+        connectionFactory.afterPropertiesSet();
+        try (RedisSentinelConnection connection = connectionFactory.getSentinelConnection()) {
+            return !connection
+                    .slaves(new RedisNode.RedisNodeBuilder().withName(MASTER_NAME).build())
+                    .isEmpty();
+        } catch (Exception e) {
+            return false;
+        } finally {
+            connectionFactory.destroy();
+        }
+    }
+
+    private void await(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (!condition.getAsBoolean()) {
+            if (System.nanoTime() > deadline) {
+                close();
+                throw new IllegalStateException("embedded redis topology not ready within " + TIMEOUT);
+            }
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    public RedisSerializer<Object> getValueSerializer() {
+        return valueSerializer;
+    }
+
+    public int getMasterPort() {
+        return masterPort;
+    }
+
+    public int getReplicaPort() {
+        return replicaPort;
+    }
+
+    public void stopMaster() {
+        master.stop();
+    }
+
+    @Override
+    public void close() {
+        nodeConnectionFactories.forEach(LettuceConnectionFactory::destroy);
+        sentinel.stop();
+        replica.stop();
+        if (master.isActive()) {
+            master.stop();
+        }
+    }
+
+}
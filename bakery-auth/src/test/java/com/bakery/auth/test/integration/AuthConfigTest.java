@@ -6,6 +6,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.HttpHeaders;
 import org.springframework.mock.web.MockHttpSession;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.springframework.http.HttpHeaders.AUTHORIZATION;
@@ -818,4 +819,35 @@ public class AuthConfigTest extends AbstractIntegrationTest {
                 .andDo(print());
     }
 
+    @Test
+    @DisplayName("지원하지 않는 grant_type 으로 토큰 발급 요청하는 경우 400")
+    public void getToken_UnsupportedGrantType_400() throws Exception {
+        getTokenResponse(
+                "unsupported",
+                testProperties.getClients().getMaster().getClientId(),
+                testProperties.getClients().getMaster().getClientSecret()
+        )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("error").value("unsupported_grant_type"))
+                .andDo(print());
+    }
+
+    @Test
+    @DisplayName("Client Credentials 방식 토큰 발급 시 캐시된 클라이언트 조회는 DB 커넥션을 사용하지 않는 경우")
+    public void getToken_ClientCredentialsGrant_CachedClientWithoutConnection() throws Exception {
+        // given
+        String clientId = testProperties.getClients().getMaster().getClientId();
+        String clientSecret = testProperties.getClients().getMaster().getClientSecret();
+        String scopes = testProperties.getClients().getMaster().getScopes().replace(",", " ");
+        getClientCredentialsGrantResponse(clientId, clientSecret, scopes)
+                .andExpect(status().isOk());
+        long before = getConnectionAcquisitions();
+        // when
+        getClientCredentialsGrantResponse(clientId, clientSecret, scopes)
+                .andExpect(status().isOk())
+                .andDo(print());
+        // then
+        assertEquals(0, getConnectionAcquisitions() - before);
+    }
+
 }
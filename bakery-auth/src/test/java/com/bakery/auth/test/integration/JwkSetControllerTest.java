@@ -0,0 +1,111 @@
+package com.bakery.auth.test.integration;
+
+import com.bakery.auth.base.AbstractIntegrationTest;
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JsonWebKeyVerifiers;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.jwt.JwtHelper;
+
+import java.util.List;
+
+import static com.bakery.auth.controller.JwkSetController.JWK_SET_PATH;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpHeaders.*;
+import static org.springframework.restdocs.headers.HeaderDocumentation.headerWithName;
+import static org.springframework.restdocs.headers.HeaderDocumentation.responseHeaders;
+import static org.springframework.restdocs.mockmvc.MockMvcRestDocumentation.document;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.payload.JsonFieldType.STRING;
+import static org.springframework.restdocs.payload.PayloadDocumentation.fieldWithPath;
+import static org.springframework.restdocs.payload.PayloadDocumentation.responseFields;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("JWK Set 통합 테스트")
+public class JwkSetControllerTest extends AbstractIntegrationTest {
+
+    @Test
+    @DisplayName("JWK Set 조회 성공 200")
+    public void getJwkSet_200() throws Exception {
+        mockMvc
+                .perform(get(JWK_SET_PATH))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(JsonWebKey.JWK_SET_CONTENT_TYPE))
+                .andExpect(header().string(CACHE_CONTROL, "max-age=300, public"))
+                .andExpect(header().exists(ETAG))
+                .andExpect(jsonPath("keys[0].kid").exists())
+                .andDo(print())
+                .andDo(
+                        document(
+                                "jwk-set",
+                                responseHeaders(
+                                        headerWithName(CONTENT_TYPE).description("응답 본문 타입"),
+                                        headerWithName(CACHE_CONTROL).description("응답 캐시 기간"),
+                                        headerWithName(ETAG).description("JWK Set 버전, If-None-Match 로 전달하면 변경이 없는 경우 304 로 응답")
+                                ),
+                                responseFields(
+                                        fieldWithPath("keys[].kty").description("키 타입 RSA, EC"),
+                                        fieldWithPath("keys[].kid").description("키 식별키, 토큰 헤더의 kid"),
+                                        fieldWithPath("keys[].use").description("키 용도 sig"),
+                                        fieldWithPath("keys[].alg").description("서명 알고리즘 RS256, ES256"),
+                                        fieldWithPath("keys[].n").description("RSA modulus").type(STRING).optional(),
+                                        fieldWithPath("keys[].e").description("RSA exponent").type(STRING).optional(),
+                                        fieldWithPath("keys[].crv").description("EC 곡선 P-256").type(STRING).optional(),
+                                        fieldWithPath("keys[].x").description("EC x 좌표").type(STRING).optional(),
+                                        fieldWithPath("keys[].y").description("EC y 좌표").type(STRING).optional()
+                                )
+                        )
+                );
+    }
+
+    @Test
+    @DisplayName("If-None-Match 가 ETag 와 같은 경우 본문 없이 304")
+    public void getJwkSet_304() throws Exception {
+        // given
+        String eTag = mockMvc
+                .perform(get(JWK_SET_PATH))
+                .andReturn()
+                .getResponse()
+                .getHeader(ETAG);
+        // when
+        MockHttpServletResponse response = mockMvc
+                .perform(get(JWK_SET_PATH).header(IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified())
+                .andReturn()
+                .getResponse();
+        // then
+        assertEquals(0, response.getContentAsByteArray().length);
+        assertEquals(eTag, response.getHeader(ETAG));
+    }
+
+    @Test
+    @DisplayName("발급한 토큰의 kid 로 JWK Set 의 키를 찾아 서명을 검증할 수 있는 경우")
+    public void getJwkSet_VerifyAccessToken() throws Exception {
+        // given
+        String accessToken = getAccessToken(
+                testProperties.getUsers().getMaster().getUsername(),
+                testProperties.getUsers().getMaster().getPassword(),
+                testProperties.getClients().getMaster().getClientId(),
+                testProperties.getClients().getMaster().getClientSecret(),
+                testProperties.getClients().getMaster().getScopes().replace(",", " ")
+        );
+        String keyId = JwtHelper.headers(accessToken).get("kid");
+        // when
+        List<JsonWebKey> keys = JsonWebKey.readSet(mockMvc
+                .perform(get(JWK_SET_PATH))
+                .andReturn()
+                .getResponse()
+                .getContentAsByteArray());
+        // then
+        assertNotNull(keyId);
+        JsonWebKey key = keys
+                .stream()
+                .filter(jsonWebKey -> jsonWebKey.getKeyId().equals(keyId))
+                .findFirst()
+                .orElseThrow(AssertionError::new);
+        JwtHelper.decodeAndVerify(accessToken, JsonWebKeyVerifiers.verifierOf(key));
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.bakery.auth.test.integration;
+
+import com.bakery.auth.base.AbstractIntegrationTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.TestPropertySource;
+
+import javax.servlet.http.Cookie;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.http.HttpHeaders.SET_COOKIE;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.get;
+import static org.springframework.restdocs.mockmvc.RestDocumentationRequestBuilders.post;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 운영과 같이 Spring Session 을 Redis 에 저장하는 환경에서 토큰 엔드포인트의 Redis 명령 수를 INFO commandstats 로 측정한다.
+ */
+@TestPropertySource(properties = {
+        "spring.session.store-type=redis",
+        "spring.session.redis.namespace=login",
+        "spring.datasource.url=jdbc:h2:mem:stateless",
+        "spring.datasource.hikari.jdbc-url=jdbc:h2:mem:stateless"
+})
+@DisplayName("토큰 엔드포인트 세션 미사용 통합 테스트")
+public class StatelessTokenEndpointTest extends AbstractIntegrationTest {
+
+    @Autowired
+    private RedisConnectionFactory redisConnectionFactory;
+
+    @Test
+    @DisplayName("토큰 발급, 토큰 검증 시 세션을 생성하지 않고 Redis 명령을 사용하지 않는 경우")
+    public void tokenEndpoints_WithoutSession() throws Exception {
+        // given
+        String clientId = testProperties.getClients().getMaster().getClientId();
+        String clientSecret = testProperties.getClients().getMaster().getClientSecret();
+        String scopes = testProperties.getClients().getMaster().getScopes().replace(",", " ");
+        String accessToken = getAccessToken(
+                testProperties.getUsers().getMaster().getUsername(),
+                testProperties.getUsers().getMaster().getPassword(),
+                clientId,
+                clientSecret,
+                scopes
+        );
+        getClientCredentialsGrantResponse(clientId, clientSecret, scopes)
+                .andExpect(status().isOk());
+        long sessionKeys = countSessionKeys();
+        Map<String, Long> before = getCommandCalls();
+        // when
+        MockHttpServletResponse tokenResponse = getClientCredentialsGrantResponse(clientId, clientSecret, scopes)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        MockHttpServletResponse checkTokenResponse = getCheckTokenResponse(clientId, clientSecret, accessToken)
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse();
+        // then
+        Map<String, Long> calls = getCommandCallsSince(before);
+        assertEquals(0, calls.values().stream().mapToLong(Long::longValue).sum(), calls::toString);
+        assertEquals(sessionKeys, countSessionKeys());
+        assertNull(tokenResponse.getHeader(SET_COOKIE));
+        assertNull(checkTokenResponse.getHeader(SET_COOKIE));
+    }
+
+    @Test
+    @DisplayName("로그인 화면에서 생성된 세션 쿠키로 토큰을 발급, 검증해도 세션을 조회, 갱신하지 않는 경우")
+    public void tokenEndpoints_WithSessionCookie() throws Exception {
+        // given
+        String clientId = testProperties.getClients().getMaster().getClientId();
+        String clientSecret = testProperties.getClients().getMaster().getClientSecret();
+        String scopes = testProperties.getClients().getMaster().getScopes().replace(",", " ");
+        String accessToken = getAccessToken(
+                testProperties.getUsers().getMaster().getUsername(),
+                testProperties.getUsers().getMaster().getPassword(),
+                clientId,
+                clientSecret,
+                scopes
+        );
+        Cookie sessionCookie = mockMvc
+                .perform(get("/auth/login").queryParam("continue", testProperties.getClients().getMaster().getRedirectUris().split(",")[0]))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookie("sid");
+        assertNotNull(sessionCookie);
+        long sessionKeys = countSessionKeys();
+        assertTrue(sessionKeys > 0);
+        Map<String, Long> before = getCommandCalls();
+        // when
+        mockMvc
+                .perform(
+                        post("/auth/oauth/token")
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .cookie(sessionCookie)
+                                .param("client_id", clientId)
+                                .param("client_secret", clientSecret)
+                                .param("grant_type", "client_credentials")
+                                .param("scope", scopes)
+                )
+                .andExpect(status().isOk());
+        mockMvc
+                .perform(
+                        post("/auth/oauth/check_token")
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .cookie(sessionCookie)
+                                .with(httpBasic(clientId, clientSecret))
+                                .param("token", accessToken)
+                )
+                .andExpect(status().isOk());
+        // then
+        Map<String, Long> calls = getCommandCallsSince(before);
+        assertEquals(0, calls.values().stream().mapToLong(Long::longValue).sum(), calls::toString);
+        assertEquals(sessionKeys, countSessionKeys());
+    }
+
+    @Test
+    @DisplayName("로그인 화면은 기존과 같이 세션에 저장하는 경우")
+    public void loginPage_WithSession() throws Exception {
+        // given
+        Map<String, Long> before = getCommandCalls();
+        // when
+        Cookie sessionCookie = mockMvc
+                .perform(get("/auth/login").queryParam("continue", testProperties.getClients().getMaster().getRedirectUris().split(",")[0]))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getCookie("sid");
+        // then
+        assertNotNull(sessionCookie);
+        assertTrue(getCommandCallsSince(before).containsKey("hmset"));
+    }
+
+    private long countSessionKeys() {
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            return connection
+                    .keys("login:*".getBytes())
+                    .size();
+        }
+    }
+
+    /**
+     * @return 명령별 누적 호출 수, INFO 명령 자체는 제외한다.
+     */
+    private Map<String, Long> getCommandCalls() {
+        Properties commandStats;
+        try (RedisConnection connection = redisConnectionFactory.getConnection()) {
+            commandStats = connection.info("commandstats");
+        }
+        Map<String, Long> calls = new HashMap<>();
+        for (String name : commandStats.stringPropertyNames()) {
+            String command = name.substring("cmdstat_".length());
+            if (!command.equals("info")) {
+                String value = commandStats.getProperty(name);
+                calls.put(command, Long.parseLong(value.substring("calls=".length(), value.indexOf(','))));
+            }
+        }
+        return calls;
+    }
+
+    private Map<String, Long> getCommandCallsSince(Map<String, Long> before) {
+        Map<String, Long> calls = new HashMap<>();
+        getCommandCalls().forEach((command, count) -> {
+            long delta = count - before.getOrDefault(command, 0L);
+            if (delta > 0) {
+                calls.put(command, delta);
+            }
+        });
+        return calls;
+    }
+
+}
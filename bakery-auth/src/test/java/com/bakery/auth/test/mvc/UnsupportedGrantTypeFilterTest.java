@@ -0,0 +1,83 @@
+package com.bakery.auth.test.mvc;
+
+import com.bakery.auth.base.AbstractWebMvcTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.http.HttpHeaders.CACHE_CONTROL;
+import static org.springframework.http.MediaType.APPLICATION_FORM_URLENCODED;
+import static org.springframework.http.MediaType.APPLICATION_JSON;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@DisplayName("지원하지 않는 grant_type 클라이언트 인증 전 거부 단위 테스트")
+public class UnsupportedGrantTypeFilterTest extends AbstractWebMvcTest {
+
+    @SpyBean
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("Basic 인증 요청의 grant_type 이 지원하지 않는 경우 클라이언트 조회, 시크릿 검증 없이 400")
+    public void getToken_UnsupportedGrantType_HttpBasic_400() throws Exception {
+        mockMvc
+                .perform(
+                        post("/auth/oauth/token")
+                                .with(httpBasic(testProperties.getClients().getMaster().getClientId(), testProperties.getClients().getMaster().getClientSecret()))
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .param("grant_type", "implicit")
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("error").value("unsupported_grant_type"))
+                .andExpect(header().string(CACHE_CONTROL, "no-store"))
+                .andDo(print());
+        verify(clientDetailsService, never()).loadClientByClientId(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("client_id, client_secret 파라미터 요청의 grant_type 이 지원하지 않는 경우 클라이언트 조회, 시크릿 검증 없이 400")
+    public void getToken_UnsupportedGrantType_FormParameter_400() throws Exception {
+        mockMvc
+                .perform(
+                        post("/auth/oauth/token")
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .param("grant_type", "unsupported")
+                                .param("client_id", testProperties.getClients().getMaster().getClientId())
+                                .param("client_secret", testProperties.getClients().getMaster().getClientSecret())
+                )
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("error").value("unsupported_grant_type"))
+                .andDo(print());
+        verify(clientDetailsService, never()).loadClientByClientId(any());
+        verify(passwordEncoder, never()).matches(any(), any());
+    }
+
+    @Test
+    @DisplayName("지원하는 grant_type 은 필터를 통과하여 클라이언트를 조회하는 경우")
+    public void getToken_SupportedGrantType_LoadClient() throws Exception {
+        // given
+        String clientId = testProperties.getClients().getMaster().getClientId();
+        // when
+        mockMvc
+                .perform(
+                        post("/auth/oauth/token")
+                                .with(httpBasic(clientId, testProperties.getClients().getMaster().getClientSecret()))
+                                .contentType(APPLICATION_FORM_URLENCODED)
+                                .accept(APPLICATION_JSON)
+                                .param("grant_type", CLIENT_CREDENTIALS.toString())
+                )
+                .andDo(print());
+        // then
+        verify(clientDetailsService, atLeastOnce()).loadClientByClientId(clientId);
+    }
+
+}
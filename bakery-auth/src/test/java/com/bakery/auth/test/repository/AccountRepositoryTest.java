@@ -5,14 +5,18 @@ import com.bakery.auth.entity.AccountAuthority;
 import com.bakery.auth.entity.Authority;
 import com.bakery.auth.base.AbstractDataJpaTest;
 import com.bakery.auth.repository.AccountRepository;
+import com.bakery.auth.repository.projection.AccountCredential;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DisplayName("AccountRepository 단위 테스트")
 public class AccountRepositoryTest extends AbstractDataJpaTest {
@@ -53,6 +57,33 @@ public class AccountRepositoryTest extends AbstractDataJpaTest {
         }
     }
 
+    @Test
+    @DisplayName("email 조건으로 인증 정보 조회 성공하는 경우")
+    public void findCredentialsByEmail_Success() {
+        // given
+        String email = "test";
+        Account expect = accountRepository.save(generate(email));
+        // when
+        List<AccountCredential> actual = accountRepository.findCredentialsByEmail(email);
+        // then
+        assertEquals(expect.getAuthorities().size(), actual.size());
+        for (int i = 0; i < actual.size(); i++) {
+            assertEquals(expect.getId(), actual.get(i).getId());
+            assertEquals(expect.getEmail(), actual.get(i).getEmail());
+            assertEquals(expect.getPassword(), actual.get(i).getPassword());
+            assertEquals(expect.getAuthorities().get(i).getAuthority().getName(), actual.get(i).getAuthority());
+        }
+    }
+
+    @Test
+    @DisplayName("email 조건으로 인증 정보 조회 실패하는 경우")
+    public void findCredentialsByEmail_Fail() {
+        // given
+        String email = "not exists email";
+        // when & then
+        assertTrue(accountRepository.findCredentialsByEmail(email).isEmpty());
+    }
+
     @Test
     @DisplayName("email 조건으로 조회 실패하는 경우")
     public void findByEmail_Fail() {
@@ -3,16 +3,20 @@ package com.bakery.auth.test.repository;
 import com.bakery.auth.entity.Oauth2Client;
 import com.bakery.auth.model.Oauth2ClientDetails;
 import com.bakery.auth.repository.Oauth2ClientRedisRepository;
+import com.bakery.auth.repository.custom.ExpiringHashTemplate;
+import com.bakery.auth.repository.custom.Oauth2ClientRedisRepositoryImpl;
 import com.bakery.auth.base.AbstractDataRedisTest;
 import javassist.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
 
 import static java.util.UUID.randomUUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("Oauth2ClientRedisRepository 캐싱 단위 테스트")
+@Import({ExpiringHashTemplate.class, Oauth2ClientRedisRepositoryImpl.class})
 public class Oauth2ClientRedisRepositoryTest extends AbstractDataRedisTest {
 
     @Autowired
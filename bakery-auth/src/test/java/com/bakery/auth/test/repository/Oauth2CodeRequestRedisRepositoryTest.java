@@ -7,27 +7,40 @@ import com.bakery.auth.entity.Authority;
 import com.bakery.auth.model.AccountDetails;
 import com.bakery.auth.model.Oauth2CodeRequest;
 import com.bakery.auth.repository.Oauth2CodeRequestRedisRepository;
+import com.bakery.auth.repository.custom.Oauth2CodeRequestRedisRepositoryImpl;
 import javassist.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.connection.DataType;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.oauth2.provider.OAuth2Request;
 
 import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static com.bakery.auth.enums.CodeChallengeMethod.S256;
 import static java.util.Collections.singleton;
+import static java.util.Objects.requireNonNull;
 import static java.util.UUID.randomUUID;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
 
 @DisplayName("Oauth2CodeRequestRedisRepository 캐싱 단위 테스트")
+@Import(Oauth2CodeRequestRedisRepositoryImpl.class)
 public class Oauth2CodeRequestRedisRepositoryTest extends AbstractDataRedisTest {
 
     @Autowired
     private Oauth2CodeRequestRedisRepository oauth2CodeRequestRedisRepository;
 
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
     @Test
     @DisplayName("code 기준으로 조회 성공하는 경우")
     public void findById_Success() throws NotFoundException {
@@ -53,7 +66,7 @@ public class Oauth2CodeRequestRedisRepositoryTest extends AbstractDataRedisTest
         assertIterableEquals(expect.getOAuth2Request().getResourceIds(), actual.getOAuth2Request().getResourceIds());
         assertEquals(expect.getAccountDetails().getId(), actual.getAccountDetails().getId());
         assertEquals(expect.getAccountDetails().getUsername(), actual.getAccountDetails().getUsername());
-        assertEquals(expect.getAccountDetails().getPassword(), actual.getAccountDetails().getPassword());
+        assertNull(actual.getAccountDetails().getPassword());
         assertEquals(expect.getAccountDetails().isAccountNonExpired(), actual.getAccountDetails().isAccountNonExpired());
         assertEquals(expect.getAccountDetails().isAccountNonLocked(), actual.getAccountDetails().isAccountNonLocked());
         assertEquals(expect.getAccountDetails().isCredentialsNonExpired(), actual.getAccountDetails().isCredentialsNonExpired());
@@ -61,6 +74,21 @@ public class Oauth2CodeRequestRedisRepositoryTest extends AbstractDataRedisTest
         assertEquals(expect.getAccountDetails().getAuthorities(), actual.getAccountDetails().getAuthorities());
     }
 
+    @Test
+    @DisplayName("TTL 이 설정된 하나의 값으로 저장하는 경우")
+    public void save_SingleValue() {
+        // given
+        String code = randomUUID().toString();
+        String key = Oauth2CodeRequestRedisRepositoryImpl.key(code);
+        // when
+        oauth2CodeRequestRedisRepository.save(generate(code));
+        // then
+        assertEquals(DataType.STRING, redisTemplate.type(key));
+        assertTrue(requireNonNull(redisTemplate.getExpire(key)) > 0);
+        assertEquals(singleton(key), redisTemplate.keys("*" + code + "*"));
+        assertFalse(requireNonNull(redisTemplate.hasKey("oauth2CodeRequest")));
+    }
+
     @Test
     @DisplayName("code 기준으로 조회 실패하는 경우")
     public void findById_Fail() {
@@ -83,6 +111,85 @@ public class Oauth2CodeRequestRedisRepositoryTest extends AbstractDataRedisTest
         assertFalse(oauth2CodeRequestRedisRepository.findById(code).isPresent());
     }
 
+    @Test
+    @DisplayName("code 기준으로 조회와 동시에 삭제 성공하는 경우")
+    public void consumeById_Success() throws NotFoundException {
+        // given
+        String code = randomUUID().toString();
+        Oauth2CodeRequest expect = oauth2CodeRequestRedisRepository.save(generate(code));
+        // when
+        Oauth2CodeRequest actual = oauth2CodeRequestRedisRepository
+                .consumeById(code)
+                .orElseThrow(() -> new NotFoundException(code));
+        // then
+        assertEquals(expect.getCode(), actual.getCode());
+        assertEquals(expect.getCodeChallenge(), actual.getCodeChallenge());
+        assertEquals(expect.getCodeChallengeMethod(), actual.getCodeChallengeMethod());
+        assertEquals(expect.getOAuth2Request().getRequestParameters(), actual.getOAuth2Request().getRequestParameters());
+        assertEquals(expect.getOAuth2Request().getRedirectUri(), actual.getOAuth2Request().getRedirectUri());
+        assertIterableEquals(expect.getOAuth2Request().getScope(), actual.getOAuth2Request().getScope());
+        assertEquals(expect.getAccountDetails().getUsername(), actual.getAccountDetails().getUsername());
+        assertEquals(expect.getAccountDetails().getAuthorities(), actual.getAccountDetails().getAuthorities());
+        assertFalse(oauth2CodeRequestRedisRepository.findById(code).isPresent());
+    }
+
+    @Test
+    @DisplayName("이미 사용한 code 로 다시 조회하는 경우")
+    public void consumeById_Replay() {
+        // given
+        String code = randomUUID().toString();
+        oauth2CodeRequestRedisRepository.save(generate(code));
+        // when
+        oauth2CodeRequestRedisRepository.consumeById(code);
+        // then
+        assertFalse(oauth2CodeRequestRedisRepository.consumeById(code).isPresent());
+        assertFalse(oauth2CodeRequestRedisRepository.consumeById("not exists code").isPresent());
+    }
+
+    @Test
+    @DisplayName("같은 code 로 동시에 조회하는 경우 하나의 요청만 성공")
+    public void consumeById_Concurrent() throws Exception {
+        // given
+        int threads = 8;
+        String code = randomUUID().toString();
+        oauth2CodeRequestRedisRepository.save(generate(code));
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            results.add(executorService.submit(() -> {
+                start.await();
+                return oauth2CodeRequestRedisRepository.consumeById(code).isPresent();
+            }));
+        }
+        // when
+        start.countDown();
+        int consumed = 0;
+        for (Future<Boolean> result : results) {
+            consumed += result.get() ? 1 : 0;
+        }
+        executorService.shutdown();
+        // then
+        assertEquals(1, consumed);
+    }
+
+    @Test
+    @DisplayName("code 사용 시 Redis 명령은 스크립트 실행 한 번")
+    public void consumeById_CommandCount() {
+        // given
+        String code = randomUUID().toString();
+        oauth2CodeRequestRedisRepository.save(generate(code));
+        oauth2CodeRequestRedisRepository.consumeById("not exists code"); // 스크립트 캐시 적재
+        resetCommandStats();
+        // when
+        assertTrue(oauth2CodeRequestRedisRepository.consumeById(code).isPresent());
+        // then
+        Map<String, Long> commandCalls = commandCalls();
+        assertEquals(1L, commandCalls.getOrDefault("evalsha", 0L));
+        assertFalse(commandCalls.containsKey("eval"));
+        assertFalse(commandCalls.containsKey("exists"));
+    }
+
     private Oauth2CodeRequest generate(String code) {
         String responseType = "code";
         String redirectUri = "http://www.example.com";
@@ -0,0 +1,81 @@
+package com.bakery.auth.test.repository;
+
+import com.bakery.auth.base.AbstractDataRedisTest;
+import com.bakery.auth.repository.custom.RedisIndexSweeper;
+import com.bakery.auth.repository.custom.RedisIndexSweeper.SweepResult;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("RedisIndexSweeper 보조 키 정리 단위 테스트")
+public class RedisIndexSweeperTest extends AbstractDataRedisTest {
+
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
+    @Test
+    @DisplayName("만료된 해시의 보조 키와 keyspace, email set 을 정리하고 유효한 키는 유지하는 경우")
+    public void sweep_Success() {
+        // given
+        String live = randomUUID().toString();
+        String dead = randomUUID().toString();
+        String email = randomUUID().toString();
+        String expiredEmail = randomUUID().toString();
+        redisTemplate.opsForHash().put("rememberMe:" + live, "token", "token");
+        redisTemplate.opsForSet().add("rememberMe", live, dead);
+        redisTemplate.opsForSet().add("client", randomUUID().toString(), randomUUID().toString());
+        redisTemplate.opsForSet().add("oauth2CodeRequest", randomUUID().toString());
+        redisTemplate.opsForSet().add("rememberMe:" + live + ":idx", "rememberMe:email:" + email);
+        redisTemplate.opsForSet().add("rememberMe:" + dead + ":idx", "rememberMe:email:" + email);
+        redisTemplate.opsForValue().set("client:" + dead + ":phantom", "phantom");
+        redisTemplate.opsForSet().add("rememberMe:email:" + email, live, dead);
+        redisTemplate.opsForSet().add("rememberMe:email:" + expiredEmail, dead);
+        // when
+        SweepResult result = new RedisIndexSweeper(redisTemplate).sweep();
+        // then
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("client")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("oauth2CodeRequest")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:" + dead + ":idx")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("client:" + dead + ":phantom")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:email:" + expiredEmail)));
+        assertTrue(requireNonNull(redisTemplate.hasKey("rememberMe:" + live)));
+        assertTrue(requireNonNull(redisTemplate.hasKey("rememberMe:" + live + ":idx")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:email:" + email)));
+        assertTrue(result.getDeletedKeys() >= 7);
+        assertTrue(result.getRemovedMembers() >= 8);
+    }
+
+    @Test
+    @DisplayName("보조 키를 SCAN 배치마다 한 번의 DEL 로 삭제하는 경우")
+    public void sweep_BatchDelete() {
+        // given
+        String live = randomUUID().toString();
+        Map<String, Object> phantoms = new HashMap<>();
+        for (int i = 0; i < 1500; i++) {
+            phantoms.put("client:" + randomUUID() + ":phantom", "phantom");
+        }
+        phantoms.put("client:" + live + ":phantom", "phantom");
+        redisTemplate.opsForValue().multiSet(phantoms);
+        redisTemplate.opsForHash().put("client:" + live, "clientId", live);
+        resetCommandStats();
+        // when
+        SweepResult result = new RedisIndexSweeper(redisTemplate).sweep();
+        // then
+        Map<String, Long> commandCalls = commandCalls();
+        assertTrue(result.getDeletedKeys() >= 1500);
+        assertEquals(2L, commandCalls.get("del"));
+        assertTrue(commandCalls.get("exists") >= 1501);
+        assertTrue(requireNonNull(redisTemplate.hasKey("client:" + live + ":phantom")));
+        assertEquals(1, requireNonNull(redisTemplate.keys("client:*:phantom")).size());
+    }
+
+}
@@ -0,0 +1,155 @@
+package com.bakery.auth.test.repository;
+
+import com.bakery.auth.config.EmbeddedRedisTopology;
+import com.bakery.auth.config.RedisConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.RedisConfiguration;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Supplier;
+
+import static io.lettuce.core.ReadFrom.REPLICA_PREFERRED;
+import static java.util.Objects.requireNonNull;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Sentinel 토폴로지 연결 테스트")
+public class RedisTopologyTest {
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(30);
+
+    private EmbeddedRedisTopology topology;
+
+    private LettuceConnectionFactory primaryConnectionFactory;
+
+    private LettuceConnectionFactory replicaConnectionFactory;
+
+    private RedisTemplate<String, Object> redisTemplate;
+
+    private RedisTemplate<String, Object> replicaRedisTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        topology = new EmbeddedRedisTopology();
+        RedisConfiguration configuration = RedisConfig.redisConfiguration(topology.redisProperties());
+        primaryConnectionFactory = RedisConfig.lettuceConnectionFactory(configuration, Duration.ofSeconds(1), null);
+        primaryConnectionFactory.afterPropertiesSet();
+        replicaConnectionFactory = RedisConfig.lettuceConnectionFactory(configuration, Duration.ofSeconds(1), REPLICA_PREFERRED);
+        replicaConnectionFactory.afterPropertiesSet();
+        redisTemplate = RedisConfig.redisTemplateOf(primaryConnectionFactory, topology.getValueSerializer());
+        redisTemplate.afterPropertiesSet();
+        replicaRedisTemplate = RedisConfig.redisTemplateOf(replicaConnectionFactory, topology.getValueSerializer());
+        replicaRedisTemplate.afterPropertiesSet();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        replicaConnectionFactory.destroy();
+        primaryConnectionFactory.destroy();
+        topology.close();
+    }
+
+    @Test
+    @DisplayName("replicaPreferred 조회를 primary 가 아닌 replica 에서 모두 처리하는 경우")
+    public void readFromReplica_Success() throws Exception {
+        // given
+        RedisTemplate<String, Object> master = topology.nodeTemplate(topology.getMasterPort());
+        RedisTemplate<String, Object> replica = topology.nodeTemplate(topology.getReplicaPort());
+        String key = "client:" + randomUUID();
+        redisTemplate.opsForHash().put(key, "clientId", "clientId");
+        awaitTrue(() -> replica.hasKey(key));
+        resetCommandStats(master);
+        resetCommandStats(replica);
+        int threads = 8;
+        int readsPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        // when
+        List<Future<Integer>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                int hits = 0;
+                for (int j = 0; j < readsPerThread; j++) {
+                    if (!replicaRedisTemplate.opsForHash().entries(key).isEmpty()) {
+                        hits++;
+                    }
+                }
+                return hits;
+            }));
+        }
+        int hits = 0;
+        for (Future<Integer> future : futures) {
+            hits += future.get();
+        }
+        executor.shutdown();
+        // then
+        assertEquals(threads * readsPerThread, hits);
+        assertEquals(threads * readsPerThread, commandCalls(replica, "hgetall"));
+        assertEquals(0, commandCalls(master, "hgetall"));
+    }
+
+    @Test
+    @DisplayName("primary 장애 시 Sentinel 이 승격한 replica 로 쓰기를 처리하는 경우")
+    public void failover_Success() throws Exception {
+        // given
+        RedisTemplate<String, Object> replica = topology.nodeTemplate(topology.getReplicaPort());
+        String key = "oauth2:code:{" + randomUUID() + "}";
+        redisTemplate.opsForValue().set(key, "before");
+        awaitTrue(() -> replica.hasKey(key));
+        // when
+        topology.stopMaster();
+        awaitTrue(() -> {
+            redisTemplate.opsForValue().set(key, "after");
+            return true;
+        });
+        // then
+        Properties replication = requireNonNull(replica.execute((RedisCallback<Properties>) connection -> connection.info("replication")));
+        assertEquals("master", replication.getProperty("role"));
+        assertEquals("after", replica.opsForValue().get(key));
+        assertEquals("after", replicaRedisTemplate.opsForValue().get(key));
+    }
+
+    private void awaitTrue(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TIMEOUT.toNanos();
+        while (System.nanoTime() < deadline) {
+            try {
+                if (Boolean.TRUE.equals(condition.get())) {
+                    return;
+                }
+            } catch (RuntimeException e) {
+                // failover 중에는 연결 오류가 발생할 수 있으므로 재시도
+            }
+            Thread.sleep(100);
+        }
+        fail("condition not met within " + TIMEOUT);
+    }
+
+    private void resetCommandStats(RedisTemplate<String, Object> node) {
+        node.execute((RedisCallback<Void>) connection -> {
+            connection.resetConfigStats();
+            return null;
+        });
+    }
+
+    private long commandCalls(RedisTemplate<String, Object> node, String command) {
+        Properties commandStats = requireNonNull(node.execute((RedisCallback<Properties>) connection -> connection.info("commandstats")));
+        String stat = commandStats.getProperty("cmdstat_" + command);
+        if (stat == null) {
+            return 0;
+        }
+        String calls = stat.split(",")[0];
+        return Long.parseLong(calls.substring(calls.indexOf('=') + 1));
+    }
+
+}
@@ -1,25 +1,40 @@
 package com.bakery.auth.test.repository;
 
 import com.bakery.auth.base.AbstractDataRedisTest;
+import com.bakery.auth.config.custom.CustomRememberMeTokenRepository;
+import com.bakery.auth.config.custom.RememberMeLastUsedBuffer;
 import com.bakery.auth.model.RememberMeToken;
 import com.bakery.auth.repository.RememberMeTokenRedisRepository;
+import com.bakery.auth.repository.custom.ExpiringHashTemplate;
+import com.bakery.auth.repository.custom.RememberMeTokenRedisRepositoryImpl;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import javassist.NotFoundException;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
 
+import java.time.Duration;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
 
+import static java.util.Objects.requireNonNull;
 import static java.util.UUID.randomUUID;
 import static org.junit.jupiter.api.Assertions.*;
 
 @DisplayName("RememberMeTokenRedisRepository 캐싱 단위 테스트")
+@Import({ExpiringHashTemplate.class, RememberMeTokenRedisRepositoryImpl.class})
 public class RememberMeTokenRedisRepositoryTest extends AbstractDataRedisTest {
 
     @Autowired
     private RememberMeTokenRedisRepository rememberMeTokenRedisRepository;
 
+    @Autowired
+    private RedisTemplate<String, Object> redisTemplate;
+
     @Test
     @DisplayName("series 기준으로 조회 성공하는 경우")
     public void findBySeries_Success() throws NotFoundException {
@@ -38,6 +53,37 @@ public class RememberMeTokenRedisRepositoryTest extends AbstractDataRedisTest {
         assertEquals(expect.getLastUsed(), actual.getLastUsed());
     }
 
+    @Test
+    @DisplayName("TTL 이 설정된 해시만 저장하는 경우")
+    public void save_WithoutKeyspaceIndex() {
+        // given
+        String series = randomUUID().toString();
+        String email = randomUUID().toString();
+        RememberMeToken rememberMeToken = new RememberMeToken(
+                new PersistentRememberMeToken(email, series, randomUUID().toString(), new Date())
+        );
+        // when
+        rememberMeTokenRedisRepository.save(rememberMeToken);
+        // then
+        assertTrue(requireNonNull(redisTemplate.getExpire("rememberMe:" + series)) > 0);
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:email:" + email)));
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:" + series + ":idx")));
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:" + series + ":phantom")));
+        assertFalse(requireNonNull(redisTemplate.opsForSet().isMember("rememberMe", series)));
+    }
+
+    @Test
+    @DisplayName("만료되었거나 삭제된 series 는 수정하지 않는 경우")
+    public void updateTokenAndLastUsed_NotExists() {
+        // given
+        String series = randomUUID().toString();
+        // when
+        rememberMeTokenRedisRepository.updateTokenAndLastUsed(series, randomUUID().toString(), new Date());
+        // then
+        assertFalse(rememberMeTokenRedisRepository.findById(series).isPresent());
+        assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:" + series)));
+    }
+
     @Test
     @DisplayName("series 기준으로 조회 실패하는 경우")
     public void findBySeries_Fail() {
@@ -61,31 +107,60 @@ public class RememberMeTokenRedisRepositoryTest extends AbstractDataRedisTest {
     }
 
     @Test
-    @DisplayName("email 기준으로 전체 삭제 성공하는 경우")
-    public void deleteAllByEmail_Success() {
+    @DisplayName("계정 세대 값 조회 및 증가 성공하는 경우")
+    public void incrementGeneration_Success() {
         // given
-        String series = randomUUID().toString();
-        String series2 = randomUUID().toString();
-        String series3 = randomUUID().toString();
-        String series4 = randomUUID().toString();
-        RememberMeToken rememberMeToken = generate(series);
-        RememberMeToken rememberMeToken2 = generate(series2);
-        RememberMeToken rememberMeToken3 = generate(series3);
-        RememberMeToken rememberMeToken4 = generate(series4);
-        rememberMeTokenRedisRepository.save(rememberMeToken);
-        rememberMeTokenRedisRepository.save(rememberMeToken2);
-        rememberMeTokenRedisRepository.save(rememberMeToken3);
-        rememberMeTokenRedisRepository.save(rememberMeToken4);
+        String email = randomUUID().toString();
+        long now = System.currentTimeMillis();
         // when & then
-        assertTrue(rememberMeTokenRedisRepository.findById(series).isPresent());
-        assertTrue(rememberMeTokenRedisRepository.findById(series2).isPresent());
-        assertTrue(rememberMeTokenRedisRepository.findById(series3).isPresent());
-        assertTrue(rememberMeTokenRedisRepository.findById(series4).isPresent());
-        rememberMeTokenRedisRepository.deleteAllByEmail("user");
-        assertFalse(rememberMeTokenRedisRepository.findById(series).isPresent());
-        assertFalse(rememberMeTokenRedisRepository.findById(series2).isPresent());
-        assertFalse(rememberMeTokenRedisRepository.findById(series3).isPresent());
-        assertFalse(rememberMeTokenRedisRepository.findById(series4).isPresent());
+        assertEquals(0L, rememberMeTokenRedisRepository.findGeneration(email));
+        long first = rememberMeTokenRedisRepository.incrementGeneration(email);
+        assertTrue(first >= now);
+        assertEquals(first + 1, rememberMeTokenRedisRepository.incrementGeneration(email));
+        assertEquals(first + 1, rememberMeTokenRedisRepository.findGeneration(email));
+        assertTrue(requireNonNull(redisTemplate.getExpire("rememberMe:generation:{" + email + "}")) > 0);
+    }
+
+    @Test
+    @DisplayName("세대 키가 만료, 삭제된 후 다시 폐기해도 세대 값이 이전보다 커서 기존 토큰이 폐기되는 경우")
+    public void incrementGeneration_AfterGenerationKeyExpired() {
+        // given
+        String email = randomUUID().toString();
+        CustomRememberMeTokenRepository customRememberMeTokenRepository = new CustomRememberMeTokenRepository(
+                rememberMeTokenRedisRepository,
+                new RememberMeLastUsedBuffer(false, Duration.ofSeconds(5), rememberMeTokenRedisRepository, new SimpleMeterRegistry())
+        );
+        PersistentRememberMeToken token = new PersistentRememberMeToken(email, randomUUID().toString(), randomUUID().toString(), new Date());
+        customRememberMeTokenRepository.removeUserTokens(email);
+        customRememberMeTokenRepository.createNewToken(token);
+        redisTemplate.delete("rememberMe:generation:{" + email + "}");
+        // when
+        customRememberMeTokenRepository.removeUserTokens(email);
+        // then
+        assertNull(customRememberMeTokenRepository.getTokenForSeries(token.getSeries()));
+        assertFalse(rememberMeTokenRedisRepository.findById(token.getSeries()).isPresent());
+    }
+
+    @Test
+    @DisplayName("계정 토큰 전체 폐기 시 토큰 수와 관계없이 INCR 한 번으로 처리하는 경우")
+    public void incrementGeneration_SingleCommand() {
+        // given
+        String email = randomUUID().toString();
+        rememberMeTokenRedisRepository.incrementGeneration(email);
+        for (int i = 0; i < 300; i++) {
+            rememberMeTokenRedisRepository.save(new RememberMeToken(
+                    new PersistentRememberMeToken(email, randomUUID().toString(), randomUUID().toString(), new Date()),
+                    rememberMeTokenRedisRepository.findGeneration(email)
+            ));
+        }
+        resetCommandStats();
+        // when
+        rememberMeTokenRedisRepository.incrementGeneration(email);
+        // then
+        Map<String, Long> commandCalls = commandCalls();
+        assertEquals(1L, commandCalls.get("incr"));
+        assertFalse(commandCalls.containsKey("del"));
+        assertFalse(commandCalls.containsKey("smembers"));
     }
 
     @Test
@@ -111,6 +186,52 @@ public class RememberMeTokenRedisRepositoryTest extends AbstractDataRedisTest {
         assertEquals(lastUsed, actual.getLastUsed());
     }
 
+    @Test
+    @DisplayName("token 만 변경하고 lastUsed 는 유지하는 경우")
+    public void updateToken_Success() throws NotFoundException {
+        // given
+        String series = randomUUID().toString();
+        String token = randomUUID().toString();
+        RememberMeToken expect = rememberMeTokenRedisRepository.save(generate(series));
+        // when
+        rememberMeTokenRedisRepository.updateToken(series, token);
+        RememberMeToken actual = rememberMeTokenRedisRepository
+                .findById(series)
+                .orElseThrow(() -> new NotFoundException(series));
+        // then
+        assertEquals(token, actual.getToken());
+        assertEquals(expect.getLastUsed(), actual.getLastUsed());
+    }
+
+    @Test
+    @DisplayName("여러 series 의 lastUsed 를 파이프라인으로 변경하고 없는 series 는 생성하지 않는 경우")
+    public void updateLastUsed_Success() throws NotFoundException {
+        // given
+        Date lastUsed = new Date(new Date().getTime() + (60 * 60 * 1000));
+        Map<String, Date> batch = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            String series = randomUUID().toString();
+            rememberMeTokenRedisRepository.save(generate(series));
+            batch.put(series, lastUsed);
+        }
+        String deleted = randomUUID().toString();
+        batch.put(deleted, lastUsed);
+        // when
+        rememberMeTokenRedisRepository.updateLastUsed(batch);
+        // then
+        for (String series : batch.keySet()) {
+            if (series.equals(deleted)) {
+                assertFalse(requireNonNull(redisTemplate.hasKey("rememberMe:" + series)));
+            } else {
+                RememberMeToken actual = rememberMeTokenRedisRepository
+                        .findById(series)
+                        .orElseThrow(() -> new NotFoundException(series));
+                assertEquals(lastUsed, actual.getLastUsed());
+                assertTrue(requireNonNull(redisTemplate.getExpire("rememberMe:" + series)) > 0);
+            }
+        }
+    }
+
     private RememberMeToken generate(String series) {
         PersistentRememberMeToken token = new PersistentRememberMeToken(
                 "user",
@@ -1,31 +1,53 @@
 package com.bakery.auth.test.service;
 
+import com.bakery.auth.cache.AccountDetailsCache;
 import com.bakery.auth.entity.Account;
 import com.bakery.auth.entity.AccountAuthority;
 import com.bakery.auth.entity.Authority;
 import com.bakery.auth.model.AccountDetails;
 import com.bakery.auth.base.AbstractServiceTest;
 import com.bakery.auth.repository.AccountRepository;
+import com.bakery.auth.repository.projection.AccountCredential;
 import com.bakery.auth.service.AccountService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
 
+import java.time.Duration;
+import java.util.List;
+
+import static com.bakery.auth.cache.AccountDetailsCache.INVALIDATION_CHANNEL;
+import static java.util.Collections.emptyList;
 import static java.util.Optional.of;
+import static java.util.stream.Collectors.toList;
+import static org.springframework.transaction.support.TransactionSynchronization.STATUS_ROLLED_BACK;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.*;
 
 @DisplayName("AccountService 단위 테스트")
 public class AccountServiceTest extends AbstractServiceTest {
 
-    @InjectMocks
     private AccountService accountService;
 
     @Mock
     private AccountRepository accountRepository;
 
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        AccountDetailsCache accountDetailsCache = new AccountDetailsCache(100, Duration.ofMinutes(1), stringRedisTemplate, new SimpleMeterRegistry());
+        accountService = new AccountService(accountRepository, accountDetailsCache);
+    }
+
     @Test
     @DisplayName("email 기준으로 조회 성공하는 경우")
     public void loadUserByUsername_Success() {
@@ -33,7 +55,7 @@ public class AccountServiceTest extends AbstractServiceTest {
         String email = "test";
         Account account = generate(email);
         AccountDetails expect = new AccountDetails(account);
-        when(accountRepository.findByEmail(email)).thenReturn(of(account));
+        when(accountRepository.findCredentialsByEmail(email)).thenReturn(credentials(account));
         // when
         AccountDetails actual = (AccountDetails) accountService.loadUserByUsername(email);
         // then
@@ -47,6 +69,23 @@ public class AccountServiceTest extends AbstractServiceTest {
         assertIterableEquals(expect.getAuthorities(), actual.getAuthorities());
     }
 
+    @Test
+    @DisplayName("캐시된 계정은 다시 조회하지 않고 복사본을 반환")
+    public void loadUserByUsernameCache_Success() {
+        // given
+        String email = "test";
+        Account account = generate(email);
+        when(accountRepository.findCredentialsByEmail(email)).thenReturn(credentials(account));
+        AccountDetails first = (AccountDetails) accountService.loadUserByUsername(email);
+        first.eraseCredentials();
+        // when
+        AccountDetails actual = (AccountDetails) accountService.loadUserByUsername(email);
+        // then
+        assertNotSame(first, actual);
+        assertEquals(account.getPassword(), actual.getPassword());
+        verify(accountRepository, times(1)).findCredentialsByEmail(email);
+    }
+
     @Test
     @DisplayName("email 기준으로 조회 실패하는 경우")
     public void loadUserByUsername_Fail() {
@@ -59,6 +98,98 @@ public class AccountServiceTest extends AbstractServiceTest {
         );
     }
 
+    @Test
+    @DisplayName("로그인 시 다시 해싱한 비밀번호로 변경")
+    public void updatePassword_Success() {
+        // given
+        String email = "test";
+        Account account = generate(email);
+        String newPassword = "{bcrypt}rehashed";
+        when(accountRepository.findByEmail(email)).thenReturn(of(account));
+        // when
+        UserDetails actual = accountService.updatePassword(new AccountDetails(account), newPassword);
+        // then
+        assertEquals(newPassword, account.getPassword());
+        assertEquals(newPassword, actual.getPassword());
+        verify(stringRedisTemplate).convertAndSend(INVALIDATION_CHANNEL, email);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 안에서 비밀번호를 변경한 경우 커밋 후에 캐시 무효화 메시지 발행")
+    public void updatePassword_EvictAfterCommit() {
+        // given
+        String email = "test";
+        Account account = generate(email);
+        when(accountRepository.findByEmail(email)).thenReturn(of(account));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            accountService.updatePassword(new AccountDetails(account), "{bcrypt}rehashed");
+            verify(stringRedisTemplate, never()).convertAndSend(any(), any());
+            TransactionSynchronizationUtils.triggerAfterCommit();
+            // then
+            verify(stringRedisTemplate).convertAndSend(INVALIDATION_CHANNEL, email);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("트랜잭션이 롤백된 경우 캐시 무효화 메시지를 발행하지 않음")
+    public void updatePassword_RollbackNotEvict() {
+        // given
+        String email = "test";
+        Account account = generate(email);
+        when(accountRepository.findByEmail(email)).thenReturn(of(account));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // when
+            accountService.updatePassword(new AccountDetails(account), "{bcrypt}rehashed");
+            TransactionSynchronizationUtils.invokeAfterCompletion(TransactionSynchronizationManager.getSynchronizations(), STATUS_ROLLED_BACK);
+            // then
+            verify(stringRedisTemplate, never()).convertAndSend(any(), any());
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    @DisplayName("프로젝션 조회 결과가 없는 경우 계정 생성 실패")
+    public void accountDetailsOf_EmptyCredentials() {
+        // given
+        List<AccountCredential> credentials = emptyList();
+        // when & then
+        assertThrows(IllegalArgumentException.class, () -> AccountDetails.of(credentials));
+    }
+
+    private List<AccountCredential> credentials(Account account) {
+        return account
+                .getAuthorities()
+                .stream()
+                .map(accountAuthority -> new AccountCredential() {
+                    @Override
+                    public Long getId() {
+                        return account.getId();
+                    }
+
+                    @Override
+                    public String getEmail() {
+                        return account.getEmail();
+                    }
+
+                    @Override
+                    public String getPassword() {
+                        return account.getPassword();
+                    }
+
+                    @Override
+                    public String getAuthority() {
+                        return accountAuthority.getAuthority().getName();
+                    }
+                })
+                .collect(toList());
+    }
+
     private Account generate(String email) {
         Authority authority = Authority
                 .builder()
@@ -0,0 +1,79 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.cache.ClientSecretCache;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("ClientSecretCache 단위 테스트")
+public class ClientSecretCacheTest extends AbstractServiceTest {
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Test
+    @DisplayName("검증에 성공한 secret 은 다시 검증하지 않음")
+    public void matchesCache_Success() {
+        // given
+        PasswordEncoder cachingPasswordEncoder = generate(true).wrap(passwordEncoder);
+        when(passwordEncoder.matches("secret", "{bcrypt}hash")).thenReturn(true);
+        // when
+        boolean first = cachingPasswordEncoder.matches("secret", "{bcrypt}hash");
+        boolean second = cachingPasswordEncoder.matches("secret", "{bcrypt}hash");
+        // then
+        assertTrue(first);
+        assertTrue(second);
+        verify(passwordEncoder, times(1)).matches("secret", "{bcrypt}hash");
+    }
+
+    @Test
+    @DisplayName("검증에 실패한 secret 은 캐시하지 않음")
+    public void matchesCache_Fail() {
+        // given
+        PasswordEncoder cachingPasswordEncoder = generate(true).wrap(passwordEncoder);
+        when(passwordEncoder.matches("wrong", "{bcrypt}hash")).thenReturn(false);
+        // when
+        boolean first = cachingPasswordEncoder.matches("wrong", "{bcrypt}hash");
+        boolean second = cachingPasswordEncoder.matches("wrong", "{bcrypt}hash");
+        // then
+        assertFalse(first);
+        assertFalse(second);
+        verify(passwordEncoder, times(2)).matches("wrong", "{bcrypt}hash");
+    }
+
+    @Test
+    @DisplayName("저장된 secret 이 변경된 경우 다시 검증")
+    public void matchesRotatedSecret_Fail() {
+        // given
+        PasswordEncoder cachingPasswordEncoder = generate(true).wrap(passwordEncoder);
+        when(passwordEncoder.matches("secret", "{bcrypt}hash")).thenReturn(true);
+        when(passwordEncoder.matches("secret", "{bcrypt}rotated")).thenReturn(false);
+        cachingPasswordEncoder.matches("secret", "{bcrypt}hash");
+        // when
+        boolean actual = cachingPasswordEncoder.matches("secret", "{bcrypt}rotated");
+        // then
+        assertFalse(actual);
+    }
+
+    @Test
+    @DisplayName("캐시를 사용하지 않는 경우 PasswordEncoder 를 그대로 사용")
+    public void wrapDisabled_Success() {
+        // when
+        PasswordEncoder actual = generate(false).wrap(passwordEncoder);
+        // then
+        assertSame(passwordEncoder, actual);
+    }
+
+    private ClientSecretCache generate(boolean enabled) {
+        return new ClientSecretCache(enabled, 100, Duration.ofMinutes(1), new SimpleMeterRegistry());
+    }
+
+}
@@ -0,0 +1,154 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.custom.CustomRememberMeTokenRepository;
+import com.bakery.auth.config.custom.RememberMeLastUsedBuffer;
+import com.bakery.auth.model.RememberMeToken;
+import com.bakery.auth.repository.RememberMeTokenRedisRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.security.web.authentication.rememberme.PersistentRememberMeToken;
+
+import java.time.Duration;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.bakery.auth.config.custom.RememberMeLastUsedBuffer.FLUSH_SIZE_SUMMARY;
+import static com.bakery.auth.config.custom.RememberMeLastUsedBuffer.FLUSH_TIMER;
+import static java.util.Optional.of;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@DisplayName("CustomRememberMeTokenRepository 단위 테스트")
+public class CustomRememberMeTokenRepositoryTest extends AbstractServiceTest {
+
+    private CustomRememberMeTokenRepository customRememberMeTokenRepository;
+
+    @Mock
+    private RememberMeTokenRedisRepository rememberMeTokenRedisRepository;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    public void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        customRememberMeTokenRepository = new CustomRememberMeTokenRepository(
+                rememberMeTokenRedisRepository,
+                new RememberMeLastUsedBuffer(false, Duration.ofSeconds(5), rememberMeTokenRedisRepository, meterRegistry)
+        );
+    }
+
+    @Test
+    @DisplayName("토큰 생성 시 계정의 현재 세대 값을 저장하는 경우")
+    public void createNewToken_Generation() {
+        // given
+        PersistentRememberMeToken token = generate();
+        when(rememberMeTokenRedisRepository.findGeneration(token.getUsername())).thenReturn(3L);
+        ArgumentCaptor<RememberMeToken> captor = ArgumentCaptor.forClass(RememberMeToken.class);
+        // when
+        customRememberMeTokenRepository.createNewToken(token);
+        // then
+        verify(rememberMeTokenRedisRepository).save(captor.capture());
+        assertEquals(3L, captor.getValue().getGeneration());
+    }
+
+    @Test
+    @DisplayName("현재 세대의 토큰 조회 성공하는 경우")
+    public void getTokenForSeries_Success() {
+        // given
+        PersistentRememberMeToken token = generate();
+        when(rememberMeTokenRedisRepository.findById(token.getSeries())).thenReturn(of(new RememberMeToken(token, 1L)));
+        when(rememberMeTokenRedisRepository.findGeneration(token.getUsername())).thenReturn(1L);
+        // when
+        PersistentRememberMeToken actual = customRememberMeTokenRepository.getTokenForSeries(token.getSeries());
+        // then
+        assertEquals(token.getSeries(), actual.getSeries());
+        assertEquals(token.getTokenValue(), actual.getTokenValue());
+        verify(rememberMeTokenRedisRepository, never()).deleteById(any());
+    }
+
+    @Test
+    @DisplayName("전체 폐기 이전 세대의 토큰은 삭제하고 조회 실패하는 경우")
+    public void getTokenForSeries_Revoked() {
+        // given
+        PersistentRememberMeToken token = generate();
+        when(rememberMeTokenRedisRepository.findById(token.getSeries())).thenReturn(of(new RememberMeToken(token, 1L)));
+        when(rememberMeTokenRedisRepository.findGeneration(token.getUsername())).thenReturn(2L);
+        // when
+        PersistentRememberMeToken actual = customRememberMeTokenRepository.getTokenForSeries(token.getSeries());
+        // then
+        assertNull(actual);
+        verify(rememberMeTokenRedisRepository).deleteById(token.getSeries());
+    }
+
+    @Test
+    @DisplayName("계정 토큰 전체 폐기 시 세대 값만 증가하는 경우")
+    public void removeUserTokens_IncrementGeneration() {
+        // given
+        String username = "user";
+        // when
+        customRememberMeTokenRepository.removeUserTokens(username);
+        // then
+        verify(rememberMeTokenRedisRepository).incrementGeneration(username);
+        verifyNoMoreInteractions(rememberMeTokenRedisRepository);
+    }
+
+    @Test
+    @DisplayName("lastUsed 버퍼 미사용 시 토큰 값과 lastUsed 를 함께 변경하는 경우")
+    public void updateToken_Unbuffered() {
+        // given
+        Date lastUsed = new Date();
+        // when
+        customRememberMeTokenRepository.updateToken("series", "token", lastUsed);
+        // then
+        verify(rememberMeTokenRedisRepository).updateTokenAndLastUsed("series", "token", lastUsed);
+        verify(rememberMeTokenRedisRepository, never()).updateToken(any(), any());
+    }
+
+    @Test
+    @DisplayName("lastUsed 버퍼 사용 시 토큰 값만 변경하고 lastUsed 는 모아서 반영하는 경우")
+    public void updateToken_Buffered() {
+        // given
+        RememberMeLastUsedBuffer buffer = new RememberMeLastUsedBuffer(true, Duration.ofHours(1), rememberMeTokenRedisRepository, meterRegistry);
+        customRememberMeTokenRepository = new CustomRememberMeTokenRepository(rememberMeTokenRedisRepository, buffer);
+        PersistentRememberMeToken token = generate();
+        Date first = new Date(token.getDate().getTime() + 1000);
+        Date second = new Date(token.getDate().getTime() + 2000);
+        when(rememberMeTokenRedisRepository.findById(token.getSeries())).thenReturn(of(new RememberMeToken(token)));
+        // when
+        customRememberMeTokenRepository.updateToken(token.getSeries(), "token1", first);
+        customRememberMeTokenRepository.updateToken(token.getSeries(), "token2", second);
+        customRememberMeTokenRepository.updateToken("other", "token", first);
+        PersistentRememberMeToken beforeFlush = customRememberMeTokenRepository.getTokenForSeries(token.getSeries());
+        buffer.flush();
+        buffer.destroy();
+        // then
+        verify(rememberMeTokenRedisRepository).updateToken(token.getSeries(), "token1");
+        verify(rememberMeTokenRedisRepository).updateToken(token.getSeries(), "token2");
+        verify(rememberMeTokenRedisRepository, never()).updateTokenAndLastUsed(any(), any(), any());
+        Map<String, Date> expect = new HashMap<>();
+        expect.put(token.getSeries(), second);
+        expect.put("other", first);
+        verify(rememberMeTokenRedisRepository, times(1)).updateLastUsed(expect);
+        assertEquals(second, beforeFlush.getDate());
+        assertNull(buffer.get(token.getSeries()));
+        assertEquals(1L, meterRegistry.get(FLUSH_TIMER).timer().count());
+        assertEquals(2.0, meterRegistry.get(FLUSH_SIZE_SUMMARY).summary().totalAmount());
+    }
+
+    private PersistentRememberMeToken generate() {
+        return new PersistentRememberMeToken(
+                "user",
+                randomUUID().toString(),
+                randomUUID().toString(),
+                new Date()
+        );
+    }
+
+}
@@ -0,0 +1,149 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.custom.EllipticCurveSigner;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.jwt.crypto.sign.EllipticCurveVerifier;
+import org.springframework.security.jwt.crypto.sign.InvalidSignatureException;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.interfaces.ECPrivateKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Arrays;
+import java.util.Base64;
+
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EllipticCurveSigner ES256 서명 단위 테스트")
+public class EllipticCurveSignerTest extends AbstractServiceTest {
+
+    @Test
+    @DisplayName("ES256 으로 서명한 R || S 서명을 EllipticCurveVerifier 로 검증하는 경우")
+    public void sign_VerifyWithEllipticCurveVerifier() throws Exception {
+        // given
+        KeyPair keyPair = keyPair();
+        EllipticCurveSigner signer = new EllipticCurveSigner((ECPrivateKey) keyPair.getPrivate(), ES256.getJcaName());
+        EllipticCurveVerifier verifier = new EllipticCurveVerifier((ECPublicKey) keyPair.getPublic(), ES256.getJcaName());
+        // when
+        // then
+        for (int i = 0; i < 200; i++) {
+            byte[] signingInput = signingInput("{\"user_name\":\"bakery@example.com\",\"jti\":\"" + i + "\"}");
+            byte[] signature = signer.sign(signingInput);
+            assertEquals(64, signature.length);
+            verifier.verify(signingInput, signature);
+        }
+    }
+
+    @Test
+    @DisplayName("다른 키로 서명한 경우 검증 실패")
+    public void sign_VerifyWithOtherKey() throws Exception {
+        // given
+        EllipticCurveSigner signer = new EllipticCurveSigner((ECPrivateKey) keyPair().getPrivate(), ES256.getJcaName());
+        EllipticCurveVerifier verifier = new EllipticCurveVerifier((ECPublicKey) keyPair().getPublic(), ES256.getJcaName());
+        byte[] signingInput = signingInput("{\"user_name\":\"bakery@example.com\"}");
+        // when
+        byte[] signature = signer.sign(signingInput);
+        // then
+        assertThrows(InvalidSignatureException.class, () -> verifier.verify(signingInput, signature));
+    }
+
+    @Test
+    @DisplayName("부호 비트를 위한 0x00 이 앞에 붙은 r, s 를 32 바이트로 변환하는 경우")
+    public void transcodeSignatureToJose_LeadingZero() {
+        // given
+        byte[] r = integer(32, (byte) 0x80);
+        byte[] s = integer(32, (byte) 0xff);
+        // when
+        byte[] jose = EllipticCurveSigner.transcodeSignatureToJose(der(withSignByte(r), withSignByte(s)), 32);
+        // then
+        assertEquals(64, jose.length);
+        assertArrayEquals(r, Arrays.copyOfRange(jose, 0, 32));
+        assertArrayEquals(s, Arrays.copyOfRange(jose, 32, 64));
+    }
+
+    @Test
+    @DisplayName("32 바이트보다 짧은 r, s 를 앞을 0 으로 채워 변환하는 경우")
+    public void transcodeSignatureToJose_ShortInteger() {
+        // given
+        byte[] r = integer(31, (byte) 0x7f);
+        byte[] s = integer(1, (byte) 0x01);
+        // when
+        byte[] jose = EllipticCurveSigner.transcodeSignatureToJose(der(r, s), 32);
+        // then
+        assertEquals(64, jose.length);
+        assertEquals(0, jose[0]);
+        assertArrayEquals(r, Arrays.copyOfRange(jose, 1, 32));
+        assertArrayEquals(new byte[31], Arrays.copyOfRange(jose, 32, 63));
+        assertEquals(1, jose[63]);
+    }
+
+    @Test
+    @DisplayName("짧은 r 과 0x00 이 앞에 붙은 s 를 함께 변환하는 경우")
+    public void transcodeSignatureToJose_ShortAndLeadingZero() {
+        // given
+        byte[] r = integer(30, (byte) 0x12);
+        byte[] s = integer(32, (byte) 0x90);
+        // when
+        byte[] jose = EllipticCurveSigner.transcodeSignatureToJose(der(r, withSignByte(s)), 32);
+        // then
+        assertArrayEquals(new byte[2], Arrays.copyOfRange(jose, 0, 2));
+        assertArrayEquals(r, Arrays.copyOfRange(jose, 2, 32));
+        assertArrayEquals(s, Arrays.copyOfRange(jose, 32, 64));
+    }
+
+    /**
+     * JwtHelper 는 ES256 헤더를 만들지 않으므로 JwtTokenEncoder 와 같이 BASE64URL(header).BASE64URL(claims) 를 직접 만든다.
+     */
+    private byte[] signingInput(String claims) {
+        Base64.Encoder encoder = Base64
+                .getUrlEncoder()
+                .withoutPadding();
+        return (encoder.encodeToString("{\"alg\":\"ES256\",\"typ\":\"JWT\"}".getBytes(UTF_8)) + "." + encoder.encodeToString(claims.getBytes(UTF_8))).getBytes(UTF_8);
+    }
+
+    private KeyPair keyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance(ES256.getKeyAlgorithm());
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    /**
+     * @return first 로 시작하고 나머지는 인덱스 값인 length 바이트 정수
+     */
+    private byte[] integer(int length, byte first) {
+        byte[] value = new byte[length];
+        value[0] = first;
+        for (int i = 1; i < length; i++) {
+            value[i] = (byte) i;
+        }
+        return value;
+    }
+
+    private byte[] withSignByte(byte[] value) {
+        byte[] signed = new byte[value.length + 1];
+        System.arraycopy(value, 0, signed, 1, value.length);
+        return signed;
+    }
+
+    /**
+     * @return SEQUENCE { INTEGER r, INTEGER s }
+     */
+    private byte[] der(byte[] r, byte[] s) {
+        byte[] der = new byte[6 + r.length + s.length];
+        der[0] = 0x30;
+        der[1] = (byte) (4 + r.length + s.length);
+        der[2] = 0x02;
+        der[3] = (byte) r.length;
+        System.arraycopy(r, 0, der, 4, r.length);
+        der[4 + r.length] = 0x02;
+        der[5 + r.length] = (byte) s.length;
+        System.arraycopy(s, 0, der, 6 + r.length, s.length);
+        return der;
+    }
+
+}
@@ -0,0 +1,262 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.auth.entity.Account;
+import com.bakery.auth.entity.AccountAuthority;
+import com.bakery.auth.entity.Authority;
+import com.bakery.auth.model.AccountDetails;
+import com.bakery.common.JwtSignatureAlgorithm;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.EllipticCurveVerifier;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtAccessTokenConverter;
+import org.springframework.security.oauth2.provider.token.store.KeyStoreKeyFactory;
+
+import java.security.KeyPair;
+import java.security.KeyStore;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static com.bakery.auth.enums.Oauth2GrantType.PASSWORD;
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+/**
+ * JwtTokenEncoder 로 발급한 토큰과 기존 JwtAccessTokenConverter 로 발급한 토큰의 클레임이 같은지 비교한다.
+ */
+@DisplayName("JwtTokenEncoder 클레임 호환성 단위 테스트")
+public class JwtTokenEncoderTest extends AbstractServiceTest {
+
+    private static final String CLIENT_ID = "client";
+
+    private static final String ESCAPED_VALUE = "\"quote\" \\back\\slash\\ /slash\nnew line\t한글 \u0001 </script>";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private CustomJwtTokenConverter jwtTokenConverter;
+
+    private JwtAccessTokenConverter stockTokenConverter;
+
+    private SignatureVerifier verifier;
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        jwtTokenConverter = jwtTokenConverter(RS256);
+        KeyPair keyPair = new KeyStoreKeyFactory(new ClassPathResource("jwtKeyPair.jks"), "localpass".toCharArray())
+                .getKeyPair("jwtKeyPair");
+        stockTokenConverter = new JwtAccessTokenConverter();
+        stockTokenConverter.setKeyPair(keyPair);
+        stockTokenConverter.afterPropertiesSet();
+        verifier = new RsaVerifier((RSAPublicKey) keyPair.getPublic());
+    }
+
+    @Test
+    @DisplayName("password 토큰의 엑세스 토큰, 재발급 토큰 클레임이 JwtAccessTokenConverter 와 같은 경우")
+    public void encode_PasswordGrant() throws Exception {
+        // given
+        OAuth2Authentication authentication = userAuthentication();
+        DefaultOAuth2AccessToken accessToken = accessToken();
+        // when
+        OAuth2AccessToken actual = jwtTokenConverter.enhance(accessToken, authentication);
+        OAuth2AccessToken expected = stockEnhance(accessToken, authentication);
+        // then
+        Map<String, Object> claims = verifiedClaims(actual.getValue());
+        assertEquals(claims(expected.getValue()), claims);
+        assertEquals(1, claims.get("user_id"));
+        assertEquals(ESCAPED_VALUE, claims.get("note"));
+        assertEquals(accessToken.getValue(), claims.get("jti"));
+        Map<String, Object> refreshClaims = verifiedClaims(actual.getRefreshToken().getValue());
+        assertEquals(claims(expected.getRefreshToken().getValue()), refreshClaims);
+        assertEquals(accessToken.getRefreshToken().getValue(), refreshClaims.get("jti"));
+        assertEquals(accessToken.getValue(), refreshClaims.get("ati"));
+        assertFalse(actual.getAdditionalInformation().containsKey("user_id"));
+    }
+
+    @Test
+    @DisplayName("client_credentials 토큰의 클레임이 JwtAccessTokenConverter 와 같은 경우")
+    public void encode_ClientCredentialsGrant() throws Exception {
+        // given
+        OAuth2Authentication authentication = clientAuthentication();
+        DefaultOAuth2AccessToken accessToken = accessToken();
+        accessToken.setRefreshToken(null);
+        // when
+        OAuth2AccessToken actual = jwtTokenConverter.enhance(accessToken, authentication);
+        OAuth2AccessToken expected = stockEnhance(accessToken, authentication);
+        // then
+        Map<String, Object> claims = verifiedClaims(actual.getValue());
+        assertEquals(claims(expected.getValue()), claims);
+        assertFalse(claims.containsKey("user_name"));
+        assertFalse(claims.containsKey("user_id"));
+        assertNull(actual.getRefreshToken());
+    }
+
+    @Test
+    @DisplayName("재사용하는 재발급 토큰은 기존 jti 를 유지하고 ati 를 새 엑세스 토큰 jti 로 기록하는 경우")
+    public void encode_ReusedRefreshToken() throws Exception {
+        // given
+        OAuth2Authentication authentication = userAuthentication();
+        DefaultOAuth2AccessToken first = accessToken();
+        String refreshTokenId = first.getRefreshToken().getValue();
+        String refreshToken = jwtTokenConverter
+                .enhance(first, authentication)
+                .getRefreshToken()
+                .getValue();
+        DefaultOAuth2AccessToken second = accessToken();
+        second.setRefreshToken(new DefaultExpiringOAuth2RefreshToken(refreshToken, new Date(System.currentTimeMillis() + 7200_000)));
+        // when
+        OAuth2AccessToken actual = jwtTokenConverter.enhance(second, authentication);
+        OAuth2AccessToken expected = stockEnhance(second, authentication);
+        // then
+        Map<String, Object> refreshClaims = verifiedClaims(actual.getRefreshToken().getValue());
+        assertEquals(claims(expected.getRefreshToken().getValue()), refreshClaims);
+        assertEquals(refreshTokenId, refreshClaims.get("jti"));
+        assertEquals(second.getValue(), refreshClaims.get("ati"));
+        assertEquals(claims(expected.getValue()), verifiedClaims(actual.getValue()));
+    }
+
+    @Test
+    @DisplayName("ES256 토큰의 클레임이 RS256 과 같고 EllipticCurveVerifier 로 검증되는 경우")
+    public void encode_ES256() throws Exception {
+        // given
+        CustomJwtTokenConverter ecTokenConverter = jwtTokenConverter(ES256);
+        KeyStore keyStore = KeyStore.getInstance("jks");
+        keyStore.load(new ClassPathResource("jwtKeyPair-ec.jks").getInputStream(), "localpass".toCharArray());
+        SignatureVerifier ecVerifier = new EllipticCurveVerifier(
+                (ECPublicKey) keyStore.getCertificate("jwtKeyPair").getPublicKey(),
+                ES256.getJcaName()
+        );
+        OAuth2Authentication authentication = userAuthentication();
+        DefaultOAuth2AccessToken accessToken = accessToken();
+        // when
+        OAuth2AccessToken actual = ecTokenConverter.enhance(accessToken, authentication);
+        // then
+        String claims = JwtHelper
+                .decodeAndVerify(actual.getValue(), ecVerifier)
+                .getClaims();
+        assertEquals(claims(stockEnhance(accessToken, authentication).getValue()), objectMapper.readValue(claims, new TypeReference<Map<String, Object>>() {
+        }));
+        assertEquals("ES256", JwtHelper.headers(actual.getValue()).get("alg"));
+    }
+
+    /**
+     * 기존 CustomJwtTokenConverter 와 같이 user_id 를 부가 정보에 넣어 JwtAccessTokenConverter 로 발급한다.
+     */
+    private OAuth2AccessToken stockEnhance(OAuth2AccessToken accessToken, OAuth2Authentication authentication) {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(accessToken);
+        if (!authentication.isClientOnly()) {
+            Map<String, Object> information = new LinkedHashMap<>(accessToken.getAdditionalInformation());
+            information.put("user_id", ((AccountDetails) authentication.getPrincipal()).getId());
+            token.setAdditionalInformation(information);
+        }
+        return stockTokenConverter.enhance(token, authentication);
+    }
+
+    private Map<String, Object> verifiedClaims(String token) throws Exception {
+        return objectMapper.readValue(JwtHelper.decodeAndVerify(token, verifier).getClaims(), new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    private Map<String, Object> claims(String token) throws Exception {
+        return objectMapper.readValue(JwtHelper.decode(token).getClaims(), new TypeReference<Map<String, Object>>() {
+        });
+    }
+
+    private DefaultOAuth2AccessToken accessToken() {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(randomUUID().toString());
+        accessToken.setExpiration(new Date(System.currentTimeMillis() + 3600_000));
+        accessToken.setScope(new HashSet<>(asList("profile", "review")));
+        accessToken.setRefreshToken(new DefaultExpiringOAuth2RefreshToken(randomUUID().toString(), new Date(System.currentTimeMillis() + 7200_000)));
+        Map<String, Object> information = new LinkedHashMap<>();
+        information.put("note", ESCAPED_VALUE);
+        information.put("tenant", 7);
+        accessToken.setAdditionalInformation(information);
+        return accessToken;
+    }
+
+    private CustomJwtTokenConverter jwtTokenConverter(JwtSignatureAlgorithm algorithm) {
+        return new CustomJwtTokenConverter(
+                algorithm == ES256 ? "classpath:/jwtKeyPair-ec.jks" : "classpath:/jwtKeyPair.jks",
+                "localpass",
+                "jwtKeyPair",
+                algorithm,
+                new String[0],
+                new DefaultResourceLoader()
+        );
+    }
+
+    private OAuth2Authentication userAuthentication() {
+        Account account = Account
+                .builder()
+                .id(1L)
+                .email("bakery@example.com")
+                .password("{noop}1234qwer!@")
+                .build();
+        for (String name : asList("user", "admin")) {
+            AccountAuthority
+                    .builder()
+                    .account(account)
+                    .authority(
+                            Authority
+                                    .builder()
+                                    .name(name)
+                                    .build()
+                    )
+                    .build();
+        }
+        AccountDetails accountDetails = new AccountDetails(account);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                accountDetails,
+                null,
+                accountDetails.getAuthorities()
+        );
+        return new OAuth2Authentication(oAuth2Request(PASSWORD.toString()), authentication);
+    }
+
+    private OAuth2Authentication clientAuthentication() {
+        return new OAuth2Authentication(oAuth2Request(CLIENT_CREDENTIALS.toString()), null);
+    }
+
+    private OAuth2Request oAuth2Request(String grantType) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("client_id", CLIENT_ID);
+        parameters.put("grant_type", grantType);
+        return new OAuth2Request(
+                parameters,
+                CLIENT_ID,
+                createAuthorityList("client"),
+                true,
+                new HashSet<>(asList("profile", "review")),
+                singleton("api"),
+                null,
+                null,
+                null
+        );
+    }
+
+}
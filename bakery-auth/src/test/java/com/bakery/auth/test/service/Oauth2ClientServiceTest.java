@@ -1,118 +1,236 @@
 package com.bakery.auth.test.service;
 
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.cache.Oauth2ClientCache;
 import com.bakery.auth.entity.Oauth2Client;
 import com.bakery.auth.model.Oauth2ClientDetails;
 import com.bakery.auth.repository.Oauth2ClientRedisRepository;
-import com.bakery.auth.base.AbstractServiceTest;
 import com.bakery.auth.repository.Oauth2ClientRepository;
 import com.bakery.auth.service.Oauth2ClientService;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.security.oauth2.provider.NoSuchClientException;
 
-import static java.util.Optional.empty;
-import static java.util.Optional.of;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.bakery.auth.cache.Oauth2ClientCache.*;
 import static org.junit.jupiter.api.Assertions.*;
-import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @DisplayName("Oauth2ClientService 단위 테스트")
 public class Oauth2ClientServiceTest extends AbstractServiceTest {
 
-    @InjectMocks
-    private Oauth2ClientService oauth2ClientService;
-
     @Mock
     private Oauth2ClientRepository oauth2ClientRepository;
 
     @Mock
     private Oauth2ClientRedisRepository oauth2ClientRedisRepository;
 
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
     @Test
-    @DisplayName("clientId 기준으로 조회 성공하는 경우")
-    public void loadClientByClientId_Success() {
+    @DisplayName("로컬 캐시에 있는 경우 다시 조회하지 않음")
+    public void loadClientByClientIdLocalCache_Success() {
         // given
         String clientId = "clientId";
-        Oauth2Client oauth2Client = generate(clientId);
-        Oauth2ClientDetails expect = new Oauth2ClientDetails(oauth2Client);
-        when(oauth2ClientRedisRepository.findById(clientId)).thenReturn(empty());
-        when(oauth2ClientRepository.findByClientId(clientId)).thenReturn(of(oauth2Client));
-        when(oauth2ClientRedisRepository.save(any())).thenReturn(expect);
+        AtomicInteger loads = new AtomicInteger();
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), id -> {
+            loads.incrementAndGet();
+            return generate(id);
+        });
         // when
+        Oauth2ClientDetails expect = (Oauth2ClientDetails) oauth2ClientService.loadClientByClientId(clientId);
         Oauth2ClientDetails actual = (Oauth2ClientDetails) oauth2ClientService.loadClientByClientId(clientId);
         // then
-        assertEquals(expect.getClientId(), actual.getClientId());
-        assertEquals(expect.getClientSecret(), actual.getClientSecret());
-        assertEquals(expect.getAccessTokenValiditySeconds(), actual.getAccessTokenValiditySeconds());
-        assertEquals(expect.getRefreshTokenValiditySeconds(), actual.getRefreshTokenValiditySeconds());
-        assertEquals(expect.getAdditionalInformation(), actual.getAdditionalInformation());
-        assertIterableEquals(expect.getResourceIds(), actual.getResourceIds());
-        assertIterableEquals(expect.getScope(), actual.getScope());
-        assertIterableEquals(expect.getAuthorizedGrantTypes(), actual.getAuthorizedGrantTypes());
-        assertIterableEquals(expect.getAuthorities(), actual.getAuthorities());
-        assertIterableEquals(expect.getRegisteredRedirectUri(), actual.getRegisteredRedirectUri());
-        assertIterableEquals(expect.getAutoApproveScopes(), actual.getAutoApproveScopes());
+        assertSame(expect, actual);
+        assertEquals(1, loads.get());
     }
 
     @Test
-    @DisplayName("clientId 기준으로 캐시 조회 성공 하는 경우")
-    public void loadClientByClientIdCache_Success() {
+    @DisplayName("동일한 clientId 의 동시 조회는 한 번만 조회")
+    public void loadClientByClientIdConcurrent_Success() throws Exception {
         // given
         String clientId = "clientId";
-        Oauth2Client oauth2Client = generate(clientId);
-        Oauth2ClientDetails expect = new Oauth2ClientDetails(oauth2Client);
-        when(oauth2ClientRedisRepository.findById(clientId)).thenReturn(of(expect));
+        int threads = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), id -> {
+            loads.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return generate(id);
+        });
+        ExecutorService executorService = Executors.newFixedThreadPool(threads);
+        // when
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executorService.submit(() -> oauth2ClientService.loadClientByClientId(clientId)));
+        }
+        Thread.sleep(200);
+        release.countDown();
+        Object expect = futures.get(0).get(5, TimeUnit.SECONDS);
+        // then
+        for (Future<Object> future : futures) {
+            assertSame(expect, future.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, loads.get());
+        executorService.shutdown();
+    }
+
+    @Test
+    @DisplayName("refresh 시간이 지난 경우 기존 값을 반환하면서 비동기로 다시 조회")
+    public void loadClientByClientIdRefreshAhead_Success() throws Exception {
+        // given
+        String clientId = "clientId";
+        AtomicInteger loads = new AtomicInteger();
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMillis(100), id -> {
+            loads.incrementAndGet();
+            return generate(id);
+        });
+        Oauth2ClientDetails stale = (Oauth2ClientDetails) oauth2ClientService.loadClientByClientId(clientId);
+        Thread.sleep(200);
         // when
         Oauth2ClientDetails actual = (Oauth2ClientDetails) oauth2ClientService.loadClientByClientId(clientId);
         // then
-        assertEquals(expect.getClientId(), actual.getClientId());
-        assertEquals(expect.getClientSecret(), actual.getClientSecret());
-        assertEquals(expect.getAccessTokenValiditySeconds(), actual.getAccessTokenValiditySeconds());
-        assertEquals(expect.getRefreshTokenValiditySeconds(), actual.getRefreshTokenValiditySeconds());
-        assertEquals(expect.getAdditionalInformation(), actual.getAdditionalInformation());
-        assertIterableEquals(expect.getResourceIds(), actual.getResourceIds());
-        assertIterableEquals(expect.getScope(), actual.getScope());
-        assertIterableEquals(expect.getAuthorizedGrantTypes(), actual.getAuthorizedGrantTypes());
-        assertIterableEquals(expect.getAuthorities(), actual.getAuthorities());
-        assertIterableEquals(expect.getRegisteredRedirectUri(), actual.getRegisteredRedirectUri());
-        assertIterableEquals(expect.getAutoApproveScopes(), actual.getAutoApproveScopes());
+        assertSame(stale, actual);
+        long deadline = System.currentTimeMillis() + 5000;
+        while (oauth2ClientService.loadClientByClientId(clientId) == stale && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertNotSame(stale, oauth2ClientService.loadClientByClientId(clientId));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    @DisplayName("클라이언트 캐시 무효화")
+    public void evictClient_Success() {
+        // given
+        String clientId = "clientId";
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), this::generate);
+        // when
+        oauth2ClientService.evictClient(clientId);
+        // then
+        verify(oauth2ClientRedisRepository).deleteById(clientId);
+        verify(stringRedisTemplate).convertAndSend(INVALIDATION_CHANNEL, clientId);
     }
 
     @Test
-    @DisplayName("clientId 기준으로 조회 실패하는 경우")
-    public void loadClientByClientId_Fail() {
+    @DisplayName("존재하지 않는 clientId 는 다시 조회하지 않음")
+    public void loadClientByClientIdNegativeCache_Fail() {
         // given
         String clientId = "mock";
-        when(oauth2ClientRedisRepository.findById(clientId)).thenReturn(empty());
-        when(oauth2ClientRepository.findByClientId(clientId)).thenReturn(empty());
+        AtomicInteger loads = new AtomicInteger();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), false, meterRegistry, id -> {
+            loads.incrementAndGet();
+            throw new NoSuchClientException(id);
+        });
         // when & then
-        assertThrows(
-                NoSuchClientException.class,
-                () -> oauth2ClientService.loadClientByClientId(clientId)
+        assertThrows(NoSuchClientException.class, () -> oauth2ClientService.loadClientByClientId(clientId));
+        assertThrows(NoSuchClientException.class, () -> oauth2ClientService.loadClientByClientId(clientId));
+        assertEquals(1, loads.get());
+        assertEquals(1, negativeHitCount(meterRegistry, "local"));
+    }
+
+    @Test
+    @DisplayName("다른 노드에서 존재하지 않는 것으로 확인된 clientId 는 조회하지 않음")
+    public void loadClientByClientIdRedisNegativeCache_Fail() {
+        // given
+        String clientId = "mock";
+        AtomicInteger loads = new AtomicInteger();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), true, meterRegistry, id -> {
+            loads.incrementAndGet();
+            throw new NoSuchClientException(id);
+        });
+        when(stringRedisTemplate.hasKey(missingKey(clientId))).thenReturn(true);
+        // when & then
+        assertThrows(NoSuchClientException.class, () -> oauth2ClientService.loadClientByClientId(clientId));
+        assertEquals(0, loads.get());
+        assertEquals(1, negativeHitCount(meterRegistry, "redis"));
+    }
+
+    @Test
+    @DisplayName("클라이언트 등록 시 존재하지 않는 clientId 캐시 무효화")
+    public void registerClient_Success() {
+        // given
+        String clientId = "clientId";
+        Oauth2Client oauth2Client = generateEntity(clientId);
+        AtomicBoolean registered = new AtomicBoolean();
+        Oauth2ClientService oauth2ClientService = generate(Duration.ofMinutes(1), id -> {
+            if (!registered.get()) {
+                throw new NoSuchClientException(id);
+            }
+            return new Oauth2ClientDetails(oauth2Client);
+        });
+        when(oauth2ClientRepository.save(oauth2Client)).thenReturn(oauth2Client);
+        assertThrows(NoSuchClientException.class, () -> oauth2ClientService.loadClientByClientId(clientId));
+        // when
+        registered.set(true);
+        oauth2ClientService.registerClient(oauth2Client);
+        // then
+        assertEquals(clientId, oauth2ClientService.loadClientByClientId(clientId).getClientId());
+        verify(stringRedisTemplate).convertAndSend(INVALIDATION_CHANNEL, clientId);
+    }
+
+    private Oauth2ClientService generate(Duration refresh, CacheLoader<String, Oauth2ClientDetails> loader) {
+        return generate(refresh, false, new SimpleMeterRegistry(), loader);
+    }
+
+    private Oauth2ClientService generate(Duration refresh, boolean negativeRedis, SimpleMeterRegistry meterRegistry,
+                                         CacheLoader<String, Oauth2ClientDetails> loader) {
+        Oauth2ClientCache oauth2ClientCache = new Oauth2ClientCache(
+                100,
+                Duration.ofMinutes(1),
+                refresh,
+                100,
+                Duration.ofMinutes(1),
+                negativeRedis,
+                loader,
+                stringRedisTemplate,
+                meterRegistry
         );
+        return new Oauth2ClientService(oauth2ClientRepository, oauth2ClientRedisRepository, oauth2ClientCache);
+    }
+
+    private double negativeHitCount(SimpleMeterRegistry meterRegistry, String level) {
+        return meterRegistry
+                .get(NEGATIVE_HIT_COUNTER)
+                .tag("level", level)
+                .counter()
+                .count();
+    }
+
+    private Oauth2ClientDetails generate(String clientId) {
+        return new Oauth2ClientDetails(generateEntity(clientId));
     }
 
-    private Oauth2Client generate(String clientId) {
-        String clientSecret = "secret";
-        String resourceIds = "auth";
-        String scopes = "read,write";
-        String grantTypes = "password,refresh_token";
-        String authorities = "user";
-        String redirectUri = "/";
-        int tokenValidity = 1800;
+    private Oauth2Client generateEntity(String clientId) {
         return Oauth2Client
                 .builder()
                 .clientId(clientId)
-                .clientSecret(clientSecret)
-                .resourceIds(resourceIds)
-                .scope(scopes)
-                .authorizedGrantTypes(grantTypes)
-                .authorities(authorities)
-                .webServerRedirectUri(redirectUri)
-                .accessTokenValidity(tokenValidity)
-                .refreshTokenValidity(tokenValidity)
+                .clientSecret("secret")
+                .resourceIds("auth")
+                .scope("read,write")
+                .authorizedGrantTypes("password,refresh_token")
+                .authorities("user")
+                .webServerRedirectUri("/")
+                .accessTokenValidity(1800)
+                .refreshTokenValidity(1800)
                 .build();
     }
 
@@ -0,0 +1,78 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.PasswordConfig;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordConfig 단위 테스트")
+public class PasswordConfigTest extends AbstractServiceTest {
+
+    private static final String RAW_PASSWORD = "1234qwer!@";
+
+    private final PasswordEncoder passwordEncoder = new PasswordConfig().passwordEncoder(12);
+
+    @Test
+    @DisplayName("설정한 strength 의 bcrypt 로 해싱하는 경우")
+    public void encode_Bcrypt() {
+        // given
+        // when
+        String encoded = passwordEncoder.encode(RAW_PASSWORD);
+        // then
+        assertTrue(encoded.startsWith("{bcrypt}$2a$12$"));
+        assertTrue(passwordEncoder.matches(RAW_PASSWORD, encoded));
+        assertFalse(passwordEncoder.upgradeEncoding(encoded));
+    }
+
+    @Test
+    @DisplayName("PasswordEncoderFactories 의 다른 {id} 로 저장된 해시를 검증하고 bcrypt 로 다시 해싱하는 경우")
+    public void matches_LegacyEncoders() {
+        // given
+        Map<String, String> hashes = legacyHashes();
+        // when
+        // then
+        hashes.forEach((id, hash) -> {
+            String encoded = "{" + id + "}" + hash;
+            assertTrue(passwordEncoder.matches(RAW_PASSWORD, encoded), id);
+            assertFalse(passwordEncoder.matches("wrong", encoded), id);
+            assertTrue(passwordEncoder.upgradeEncoding(encoded), id);
+        });
+    }
+
+    @Test
+    @DisplayName("strength 가 낮은 bcrypt 해시는 다시 해싱하는 경우")
+    public void upgradeEncoding_LowerStrength() {
+        // given
+        String encoded = "{bcrypt}" + new BCryptPasswordEncoder(10).encode(RAW_PASSWORD);
+        // when
+        // then
+        assertTrue(passwordEncoder.matches(RAW_PASSWORD, encoded));
+        assertTrue(passwordEncoder.upgradeEncoding(encoded));
+    }
+
+    /**
+     * scrypt, argon2 는 BouncyCastle 이 필요하므로 제외한다.
+     */
+    @SuppressWarnings("deprecation")
+    private Map<String, String> legacyHashes() {
+        Map<String, String> hashes = new LinkedHashMap<>();
+        hashes.put("ldap", new org.springframework.security.crypto.password.LdapShaPasswordEncoder().encode(RAW_PASSWORD));
+        hashes.put("MD4", new org.springframework.security.crypto.password.Md4PasswordEncoder().encode(RAW_PASSWORD));
+        hashes.put("MD5", new org.springframework.security.crypto.password.MessageDigestPasswordEncoder("MD5").encode(RAW_PASSWORD));
+        hashes.put("noop", RAW_PASSWORD);
+        hashes.put("pbkdf2", new Pbkdf2PasswordEncoder().encode(RAW_PASSWORD));
+        hashes.put("SHA-1", new org.springframework.security.crypto.password.MessageDigestPasswordEncoder("SHA-1").encode(RAW_PASSWORD));
+        hashes.put("SHA-256", new org.springframework.security.crypto.password.MessageDigestPasswordEncoder("SHA-256").encode(RAW_PASSWORD));
+        hashes.put("sha256", new org.springframework.security.crypto.password.StandardPasswordEncoder().encode(RAW_PASSWORD));
+        return hashes;
+    }
+
+}
@@ -0,0 +1,95 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.custom.PasswordVerificationExecutor;
+import com.bakery.auth.config.custom.TemporarilyUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.bakery.auth.config.custom.PasswordVerificationExecutor.REJECTED_COUNTER;
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PasswordVerificationExecutor 단위 테스트")
+public class PasswordVerificationExecutorTest extends AbstractServiceTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final ExecutorService callers = Executors.newFixedThreadPool(2);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private PasswordVerificationExecutor passwordVerificationExecutor;
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        callers.shutdownNow();
+        passwordVerificationExecutor.destroy();
+    }
+
+    @Test
+    @DisplayName("비밀번호 해싱 작업 수행")
+    public void execute_Success() {
+        // given
+        passwordVerificationExecutor = new PasswordVerificationExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        // when
+        Boolean actual = passwordVerificationExecutor.execute(() -> true);
+        // then
+        assertTrue(actual);
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 찬 경우 즉시 실패")
+    public void executeSaturated_Fail() throws Exception {
+        // given
+        passwordVerificationExecutor = new PasswordVerificationExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        Future<?> running = callers.submit(() -> passwordVerificationExecutor.execute(() -> release.await(5, TimeUnit.SECONDS)));
+        Future<?> queued = callers.submit(() -> passwordVerificationExecutor.execute(() -> release.await(5, TimeUnit.SECONDS)));
+        Thread.sleep(200);
+        // when & then
+        assertThrows(
+                TemporarilyUnavailableException.class,
+                () -> passwordVerificationExecutor.execute(() -> true)
+        );
+        assertEquals(1, meterRegistry.get(REJECTED_COUNTER).counter().count());
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+        queued.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    @DisplayName("대기 시간을 초과한 경우 실패")
+    public void executeTimeout_Fail() {
+        // given
+        passwordVerificationExecutor = new PasswordVerificationExecutor(1, 1, Duration.ofMillis(100), meterRegistry);
+        // when & then
+        assertThrows(
+                TemporarilyUnavailableException.class,
+                () -> passwordVerificationExecutor.execute(() -> release.await(5, TimeUnit.SECONDS))
+        );
+    }
+
+    @Test
+    @DisplayName("해싱 작업에서 발생한 예외는 그대로 전달")
+    public void executeException_Fail() {
+        // given
+        passwordVerificationExecutor = new PasswordVerificationExecutor(1, 1, Duration.ofSeconds(5), meterRegistry);
+        // when & then
+        assertThrows(
+                IllegalArgumentException.class,
+                () -> passwordVerificationExecutor.execute(() -> {
+                    throw new IllegalArgumentException("invalid hash");
+                })
+        );
+    }
+
+}
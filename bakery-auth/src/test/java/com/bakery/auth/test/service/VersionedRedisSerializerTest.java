@@ -0,0 +1,204 @@
+package com.bakery.auth.test.service;
+
+import com.bakery.auth.base.AbstractServiceTest;
+import com.bakery.auth.config.custom.VersionedRedisSerializer;
+import com.bakery.auth.config.custom.VersionedRedisSerializer.Format;
+import com.bakery.auth.entity.Account;
+import com.bakery.auth.entity.AccountAuthority;
+import com.bakery.auth.entity.Authority;
+import com.bakery.auth.model.AccountDetails;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.JdkSerializationRedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.provider.AuthorizationRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.CsrfToken;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.security.web.savedrequest.DefaultSavedRequest;
+import org.springframework.security.web.PortResolverImpl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+
+import static com.bakery.auth.config.custom.VersionedRedisSerializer.Format.*;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.core.authority.AuthorityUtils.authorityListToSet;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+@DisplayName("VersionedRedisSerializer 세션 속성 직렬화 단위 테스트")
+public class VersionedRedisSerializerTest extends AbstractServiceTest {
+
+    private final ClassLoader classLoader = getClass().getClassLoader();
+
+    @Test
+    @DisplayName("로그인 후 SecurityContext 를 JSON, CBOR 로 저장하고 복원하는 경우")
+    public void securityContext_Success() {
+        for (Format format : asList(JSON, CBOR)) {
+            // given
+            VersionedRedisSerializer serializer = new VersionedRedisSerializer(format, classLoader);
+            SecurityContext securityContext = securityContext();
+            // when
+            SecurityContext actual = (SecurityContext) serializer.deserialize(serializer.serialize(securityContext));
+            // then
+            Authentication authentication = actual.getAuthentication();
+            AccountDetails principal = (AccountDetails) authentication.getPrincipal();
+            assertEquals(securityContext.getAuthentication().getPrincipal(), principal);
+            assertEquals("bakery@example.com", principal.getUsername());
+            assertNull(principal.getPassword());
+            assertTrue(principal.isEnabled());
+            assertEquals(new HashSet<>(asList("user", "admin")), authorityListToSet(principal.getAuthorities()));
+            assertEquals(new HashSet<>(asList("user", "admin")), authorityListToSet(authentication.getAuthorities()));
+            assertEquals("127.0.0.1", ((WebAuthenticationDetails) authentication.getDetails()).getRemoteAddress());
+            assertTrue(authentication.isAuthenticated());
+        }
+    }
+
+    @Test
+    @DisplayName("인가 요청 과정의 세션 속성(CSRF, 저장된 요청, AuthorizationRequest)을 복원하는 경우")
+    public void authorizationAttributes_Success() {
+        // given
+        VersionedRedisSerializer serializer = new VersionedRedisSerializer(CBOR, classLoader);
+        CsrfToken csrfToken = new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", randomUUID().toString());
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/oauth/authorize");
+        request.setQueryString("response_type=code&client_id=client");
+        request.addParameter("response_type", "code");
+        request.addParameter("client_id", "client");
+        DefaultSavedRequest savedRequest = new DefaultSavedRequest(request, new PortResolverImpl());
+        AuthorizationRequest authorizationRequest = authorizationRequest();
+        Map<String, Object> originalRequest = originalAuthorizationRequest(authorizationRequest);
+        // when
+        CsrfToken actualCsrfToken = (CsrfToken) serializer.deserialize(serializer.serialize(csrfToken));
+        DefaultSavedRequest actualSavedRequest = (DefaultSavedRequest) serializer.deserialize(serializer.serialize(savedRequest));
+        AuthorizationRequest actualAuthorizationRequest = (AuthorizationRequest) serializer.deserialize(serializer.serialize(authorizationRequest));
+        Object actualOriginalRequest = serializer.deserialize(serializer.serialize(originalRequest));
+        // then
+        assertEquals(csrfToken.getToken(), actualCsrfToken.getToken());
+        assertEquals(savedRequest.getRedirectUrl(), actualSavedRequest.getRedirectUrl());
+        assertEquals(authorizationRequest, actualAuthorizationRequest);
+        assertEquals(authorizationRequest.getAuthorities(), actualAuthorizationRequest.getAuthorities());
+        assertEquals(authorizationRequest.getRedirectUri(), actualAuthorizationRequest.getRedirectUri());
+        assertEquals(authorizationRequest.getResponseTypes(), actualAuthorizationRequest.getResponseTypes());
+        assertEquals(originalRequest, actualOriginalRequest);
+        assertThrows(UnsupportedOperationException.class, () -> ((Map<?, ?>) actualOriginalRequest).clear());
+    }
+
+    @Test
+    @DisplayName("Spring Session 의 시간 속성을 같은 타입으로 복원하는 경우")
+    public void sessionMetadata_Success() {
+        // given
+        VersionedRedisSerializer serializer = new VersionedRedisSerializer(CBOR, classLoader);
+        long creationTime = System.currentTimeMillis();
+        // when
+        Object actualCreationTime = serializer.deserialize(serializer.serialize(creationTime));
+        Object actualMaxInactiveInterval = serializer.deserialize(serializer.serialize(1800));
+        // then
+        assertEquals(creationTime, actualCreationTime);
+        assertEquals(1800, actualMaxInactiveInterval);
+    }
+
+    @Test
+    @DisplayName("형식을 변경해도 JDK 직렬화 및 다른 형식으로 저장된 값을 읽는 경우")
+    public void readPreviousFormat_Success() {
+        // given
+        SecurityContext securityContext = securityContext();
+        byte[] jdk = new JdkSerializationRedisSerializer().serialize(securityContext);
+        byte[] json = new VersionedRedisSerializer(JSON, classLoader).serialize(securityContext);
+        VersionedRedisSerializer serializer = new VersionedRedisSerializer(CBOR, classLoader);
+        // when
+        SecurityContext fromJdk = (SecurityContext) serializer.deserialize(jdk);
+        SecurityContext fromJson = (SecurityContext) serializer.deserialize(json);
+        // then
+        assertEquals(securityContext.getAuthentication().getPrincipal(), fromJdk.getAuthentication().getPrincipal());
+        assertEquals(securityContext.getAuthentication().getPrincipal(), fromJson.getAuthentication().getPrincipal());
+        assertTrue(serializer.serialize(securityContext).length < jdk.length);
+    }
+
+    @Test
+    @DisplayName("알 수 없는 형식 버전인 경우")
+    public void unknownVersion_Fail() {
+        // given
+        VersionedRedisSerializer serializer = new VersionedRedisSerializer(CBOR, classLoader);
+        // when & then
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{9, 1, 2}));
+    }
+
+    private SecurityContext securityContext() {
+        Account account = Account
+                .builder()
+                .id(1L)
+                .email("bakery@example.com")
+                .password("1234")
+                .build();
+        for (String name : asList("user", "admin")) {
+            AccountAuthority
+                    .builder()
+                    .account(account)
+                    .authority(
+                            Authority
+                                    .builder()
+                                    .name(name)
+                                    .build()
+                    )
+                    .build();
+        }
+        AccountDetails accountDetails = new AccountDetails(account);
+        accountDetails.eraseCredentials();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(accountDetails, null, accountDetails.getAuthorities());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setRemoteAddr("127.0.0.1");
+        authentication.setDetails(new WebAuthenticationDetails(request));
+        return new SecurityContextImpl(authentication);
+    }
+
+    private AuthorizationRequest authorizationRequest() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("response_type", "code");
+        parameters.put("client_id", "client");
+        parameters.put("code_challenge", randomUUID().toString());
+        parameters.put("code_challenge_method", "S256");
+        AuthorizationRequest authorizationRequest = new AuthorizationRequest(
+                parameters,
+                Collections.emptyMap(),
+                "client",
+                new HashSet<>(asList("profile", "review")),
+                null,
+                null,
+                false,
+                randomUUID().toString(),
+                "http://www.example.com",
+                singleton("code")
+        );
+        authorizationRequest.setResourceIds(singleton("api"));
+        authorizationRequest.setAuthorities(createAuthorityList("user", "admin"));
+        return authorizationRequest;
+    }
+
+    /**
+     * AuthorizationEndpoint.unmodifiableMap 과 동일한 구조
+     */
+    private Map<String, Object> originalAuthorizationRequest(AuthorizationRequest authorizationRequest) {
+        Map<String, Object> map = new HashMap<>();
+        map.put("client_id", authorizationRequest.getClientId());
+        map.put("state", authorizationRequest.getState());
+        map.put("redirect_uri", authorizationRequest.getRedirectUri());
+        map.put("response_type", Collections.unmodifiableSet(new HashSet<>(authorizationRequest.getResponseTypes())));
+        map.put("scope", Collections.unmodifiableSet(new HashSet<>(authorizationRequest.getScope())));
+        map.put("approved", authorizationRequest.isApproved());
+        map.put("resourceIds", Collections.unmodifiableSet(new HashSet<>(authorizationRequest.getResourceIds())));
+        map.put("authorities", Collections.unmodifiableSet(new HashSet<>(authorizationRequest.getAuthorities())));
+        return Collections.unmodifiableMap(map);
+    }
+
+}
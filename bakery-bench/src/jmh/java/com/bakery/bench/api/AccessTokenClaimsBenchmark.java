@@ -0,0 +1,81 @@
+package com.bakery.bench.api;
+
+import com.bakery.api.config.custom.CustomAccessTokenConverter;
+import com.bakery.api.config.custom.DecodedAccessToken;
+import com.bakery.bench.auth.AuthFixtures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.util.JsonParser;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.Map;
+
+import static com.bakery.auth.enums.Oauth2GrantType.PASSWORD;
+import static java.lang.System.currentTimeMillis;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.security.oauth2.provider.token.AccessTokenConverter.EXP;
+
+/**
+ * 서명 검증 이후 JWT 클레임에서 인증 객체를 생성하는 비용 측정, 할당량은 -prof gc 로 확인한다.
+ * map 은 JwtAccessTokenConverter 와 같이 본문을 Map 으로 변환한 뒤 토큰, 인증 객체를 생성하고, streaming 은 CustomAccessTokenConverter.read 로 본문을 한 번 읽는다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccessTokenClaimsBenchmark {
+
+    private CustomAccessTokenConverter accessTokenConverter;
+
+    private Map<String, Object> claims;
+
+    private String accessToken;
+
+    private String claimsJson;
+
+    private JsonParser jsonParser;
+
+    @Setup
+    public void setup() {
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(randomUUID().toString());
+        token.setExpiration(new Date(currentTimeMillis() + 60 * 60 * 24 * 1000L));
+        token.setScope(AuthFixtures.SCOPES);
+        accessToken = AuthFixtures
+                .jwtTokenConverter()
+                .enhance(token, AuthFixtures.userAuthentication(PASSWORD.toString()))
+                .getValue();
+        claimsJson = JwtHelper
+                .decode(accessToken)
+                .getClaims();
+        jsonParser = JsonParserFactory.create();
+        claims = jsonParser.parseMap(claimsJson);
+        accessTokenConverter = new CustomAccessTokenConverter();
+    }
+
+    @Benchmark
+    public OAuth2Authentication extractAuthentication() {
+        return accessTokenConverter.extractAuthentication(claims);
+    }
+
+    @Benchmark
+    public void map(Blackhole blackhole) {
+        Map<String, Object> map = jsonParser.parseMap(claimsJson);
+        map.put(EXP, ((Number) map.get(EXP)).longValue());
+        blackhole.consume(accessTokenConverter.extractAccessToken(accessToken, map));
+        blackhole.consume(accessTokenConverter.extractAuthentication(map));
+    }
+
+    @Benchmark
+    public DecodedAccessToken streaming() throws IOException {
+        return accessTokenConverter.read(accessToken, claimsJson);
+    }
+
+}
@@ -0,0 +1,81 @@
+package com.bakery.bench.api;
+
+import com.bakery.api.config.ResourceConfig;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.bench.auth.AuthFixtures;
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtSignatureAlgorithm;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import static com.bakery.auth.enums.Oauth2GrantType.PASSWORD;
+import static com.bakery.common.JsonWebKeyVerifiers.verifierOf;
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singletonMap;
+import static java.util.UUID.randomUUID;
+import static org.springframework.util.StreamUtils.copyToString;
+
+/**
+ * API 모듈 벤치마크에서 공통으로 사용하는 엑세스 토큰, 토큰 변환기 픽스처
+ * 토큰은 인증 모듈의 변환기로 발급하고, 변환기는 ResourceConfig 의 빈 구성과 동일하게 생성한다.
+ */
+public final class ApiFixtures {
+
+    private ApiFixtures() {
+    }
+
+    /**
+     * @param algorithm       서명 알고리즘
+     * @param authorities     권한 수, 앞의 두 개는 user, admin 이다.
+     * @param extraClaimBytes 권한 외 부가 클레임(ext) 크기, 0 인 경우 포함하지 않는다.
+     * @return 사용자 인증이 포함된 엑세스 토큰(유효 기간 1일)
+     */
+    public static String accessToken(JwtSignatureAlgorithm algorithm, int authorities, int extraClaimBytes) {
+        List<String> authorityNames = new ArrayList<>(authorities);
+        for (int i = 0; i < authorities; i++) {
+            authorityNames.add(i == 0 ? "user" : i == 1 ? "admin" : "authority-" + i);
+        }
+        DefaultOAuth2AccessToken token = new DefaultOAuth2AccessToken(randomUUID().toString());
+        token.setExpiration(new Date(currentTimeMillis() + 60 * 60 * 24 * 1000L));
+        token.setScope(AuthFixtures.SCOPES);
+        if (extraClaimBytes > 0) {
+            token.setAdditionalInformation(singletonMap("ext", new String(new char[extraClaimBytes]).replace('\0', 'x')));
+        }
+        return AuthFixtures
+                .jwtTokenConverter(algorithm)
+                .enhance(token, AuthFixtures.userAuthentication(PASSWORD.toString(), AuthFixtures.accountDetails(authorityNames)))
+                .getValue();
+    }
+
+    /**
+     * @return ResourceConfig.accessTokenConverter 와 동일한 검증용 변환기
+     */
+    public static StreamingJwtAccessTokenConverter accessTokenConverter(JwtSignatureAlgorithm algorithm) throws Exception {
+        ResourceConfig resourceConfig = new ResourceConfig();
+        StreamingJwtAccessTokenConverter accessTokenConverter = resourceConfig.accessTokenConverter(publicKeyVerifier(
+                algorithm == ES256 ? "classpath:/publicKey-ec.txt" : "classpath:/publicKey.txt"
+        ));
+        accessTokenConverter.afterPropertiesSet();
+        return accessTokenConverter;
+    }
+
+    /**
+     * ResourceConfig 와 동일하게 PEM 공개키로 검증기를 생성한다.
+     */
+    private static SignatureVerifier publicKeyVerifier(String location) throws IOException, GeneralSecurityException {
+        try (InputStream inputStream = new DefaultResourceLoader().getResource(location).getInputStream()) {
+            return verifierOf(JsonWebKey.readPem(copyToString(inputStream, UTF_8)));
+        }
+    }
+
+}
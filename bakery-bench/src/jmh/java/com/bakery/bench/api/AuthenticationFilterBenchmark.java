@@ -0,0 +1,116 @@
+package com.bakery.bench.api;
+
+import com.bakery.api.config.ResourceConfig;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationManager;
+import org.springframework.security.oauth2.provider.authentication.OAuth2AuthenticationProcessingFilter;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.http.HttpHeaders.AUTHORIZATION;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * OAuth2AuthenticationProcessingFilter 부터 컨트롤러까지 MockMvc 로 요청하는 인증 비용 측정(RS256: RSA-2048)
+ * 필터는 ResourceConfig 와 동일하게 DefaultTokenServices 와 resourceId(api) 를 사용하고, 컨트롤러는 인증 객체만 받아 빈 응답을 반환한다.
+ * 필터가 없는 baseline 과의 차이가 비즈니스 로직을 제외한 요청당 인증 비용이다.
+ * cached 가 true 인 경우 같은 토큰을 반복 요청하는 클라이언트와 같이 CachingJwtTokenStore 의 캐시 조회 비용을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AuthenticationFilterBenchmark {
+
+    private static final String PATH = "/api/v1/ping";
+
+    @Param({"2", "128"})
+    private int authorities;
+
+    @Param({"0", "2048"})
+    private int extraClaimBytes;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private String authorization;
+
+    private MockMvc mockMvc;
+
+    private MockMvc baselineMockMvc;
+
+    @Setup
+    public void setup() throws Exception {
+        authorization = "Bearer " + ApiFixtures.accessToken(RS256, authorities, extraClaimBytes);
+        ResourceConfig resourceConfig = new ResourceConfig();
+        StreamingJwtAccessTokenConverter accessTokenConverter = ApiFixtures.accessTokenConverter(RS256);
+        DefaultTokenServices tokenServices = resourceConfig.defaultTokenServices(
+                resourceConfig.tokenStore(accessTokenConverter, cached, 10000, new SimpleMeterRegistry()),
+                accessTokenConverter
+        );
+        OAuth2AuthenticationManager authenticationManager = new OAuth2AuthenticationManager();
+        authenticationManager.setTokenServices(tokenServices);
+        authenticationManager.setResourceId("api");
+        OAuth2AuthenticationProcessingFilter filter = new OAuth2AuthenticationProcessingFilter();
+        filter.setAuthenticationManager(authenticationManager);
+        filter.setStateless(true);
+        filter.afterPropertiesSet();
+        mockMvc = MockMvcBuilders
+                .standaloneSetup(new PingController())
+                .addFilters(filter)
+                .build();
+        baselineMockMvc = MockMvcBuilders
+                .standaloneSetup(new PingController())
+                .build();
+        if (filter().getResponse().getStatus() != 204) {
+            throw new IllegalStateException("Access token is not accepted");
+        }
+    }
+
+    /**
+     * 무상태 요청과 같이 요청마다 SecurityContext 를 비운다.
+     */
+    @Benchmark
+    public MvcResult filter() throws Exception {
+        try {
+            return mockMvc
+                    .perform(get(PATH).header(AUTHORIZATION, authorization))
+                    .andReturn();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @Benchmark
+    public MvcResult baseline() throws Exception {
+        return baselineMockMvc
+                .perform(get(PATH))
+                .andReturn();
+    }
+
+    @RestController
+    static class PingController {
+
+        @GetMapping(PATH)
+        public ResponseEntity<Void> ping(OAuth2Authentication authentication) {
+            return ResponseEntity
+                    .noContent()
+                    .build();
+        }
+
+    }
+
+}
@@ -0,0 +1,86 @@
+package com.bakery.bench.api;
+
+import com.bakery.api.config.custom.CustomAccessTokenConverter;
+import com.bakery.api.config.custom.DecodedAccessToken;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.jwt.Jwt;
+import org.springframework.security.jwt.JwtHelper;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.util.JsonParserFactory;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.io.IOException;
+import java.util.Map;
+
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.security.oauth2.provider.token.AccessTokenConverter.EXP;
+
+/**
+ * API 모듈의 요청당 토큰 검증을 단계별로 나누어 측정(RS256: RSA-2048), 할당량은 -prof gc 로 확인한다.
+ * decode(Base64 디코딩) -> verify(ResourceConfig.accessTokenConverter 의 서명 검증) -> extractAuthentication(클레임 Map 에서 인증 객체 생성)
+ * 순서가 JwtTokenStore 경로이고, read 는 CachingJwtTokenStore 가 캐시 미스에서 사용하는 스트리밍 변환이다.
+ * authorities 는 토큰의 권한 수, extraClaimBytes 는 권한 외 부가 클레임 크기로 토큰 크기를 조절한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class RequestAuthenticationBenchmark {
+
+    @Param({"2", "32", "128"})
+    private int authorities;
+
+    @Param({"0", "2048"})
+    private int extraClaimBytes;
+
+    private String accessToken;
+
+    private Jwt jwt;
+
+    private SignatureVerifier verifier;
+
+    private Map<String, Object> claims;
+
+    private CustomAccessTokenConverter accessTokenConverter;
+
+    @Setup
+    public void setup() throws Exception {
+        accessToken = ApiFixtures.accessToken(RS256, authorities, extraClaimBytes);
+        verifier = ApiFixtures
+                .accessTokenConverter(RS256)
+                .getVerifier();
+        jwt = JwtHelper.decode(accessToken);
+        claims = JsonParserFactory
+                .create()
+                .parseMap(jwt.getClaims());
+        claims.put(EXP, ((Number) claims.get(EXP)).longValue());
+        accessTokenConverter = new CustomAccessTokenConverter();
+    }
+
+    @Benchmark
+    public String decode() {
+        return JwtHelper
+                .decode(accessToken)
+                .getClaims();
+    }
+
+    @Benchmark
+    public Jwt verify() {
+        jwt.verifySignature(verifier);
+        return jwt;
+    }
+
+    @Benchmark
+    public OAuth2Authentication extractAuthentication() {
+        return accessTokenConverter.extractAuthentication(claims);
+    }
+
+    @Benchmark
+    public DecodedAccessToken read() throws IOException {
+        return accessTokenConverter.read(accessToken, jwt.getClaims());
+    }
+
+}
@@ -0,0 +1,52 @@
+package com.bakery.bench.api;
+
+import com.bakery.api.config.ResourceConfig;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.common.JwtSignatureAlgorithm;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.token.DefaultTokenServices;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * API 모듈의 요청당 토큰 검증 비용 측정(RS256: RSA-2048, ES256: EC P-256)
+ * ResourceConfig 의 빈 구성과 동일하게 DefaultTokenServices -> JwtTokenStore -> JwtAccessTokenConverter 경로를 사용한다.
+ * cached 가 true 인 경우 같은 토큰을 반복 요청하는 클라이언트와 같이 CachingJwtTokenStore 의 캐시 조회 비용을 측정한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResourceServerTokenBenchmark {
+
+    @Param({"RS256", "ES256"})
+    private JwtSignatureAlgorithm algorithm;
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private DefaultTokenServices tokenServices;
+
+    private String accessToken;
+
+    @Setup
+    public void setup() throws Exception {
+        accessToken = ApiFixtures.accessToken(algorithm, 2, 0);
+        ResourceConfig resourceConfig = new ResourceConfig();
+        StreamingJwtAccessTokenConverter accessTokenConverter = ApiFixtures.accessTokenConverter(algorithm);
+        tokenServices = resourceConfig.defaultTokenServices(
+                resourceConfig.tokenStore(accessTokenConverter, cached, 10000, new SimpleMeterRegistry()),
+                accessTokenConverter
+        );
+    }
+
+    @Benchmark
+    public OAuth2Authentication loadAuthentication() {
+        return tokenServices.loadAuthentication(accessToken);
+    }
+
+}
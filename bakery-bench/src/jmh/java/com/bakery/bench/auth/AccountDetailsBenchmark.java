@@ -0,0 +1,52 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.entity.Account;
+import com.bakery.auth.entity.AccountAuthority;
+import com.bakery.auth.entity.Authority;
+import com.bakery.auth.model.AccountDetails;
+import org.openjdk.jmh.annotations.*;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * 계정 조회 시 AccountDetails 생성 비용 측정, 할당량은 -prof gc 로 확인한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class AccountDetailsBenchmark {
+
+    private Account account;
+
+    @Setup
+    public void setup() {
+        account = Account
+                .builder()
+                .id(1L)
+                .email(AuthFixtures.USERNAME)
+                .password("{noop}1234qwer!@")
+                .build();
+        for (String name : asList("user", "admin")) {
+            AccountAuthority
+                    .builder()
+                    .account(account)
+                    .authority(
+                            Authority
+                                    .builder()
+                                    .name(name)
+                                    .build()
+                    )
+                    .build();
+        }
+    }
+
+    @Benchmark
+    public AccountDetails accountDetails() {
+        return new AccountDetails(account);
+    }
+
+}
@@ -0,0 +1,184 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.auth.entity.Account;
+import com.bakery.auth.entity.AccountAuthority;
+import com.bakery.auth.entity.Authority;
+import com.bakery.auth.entity.Oauth2Client;
+import com.bakery.auth.model.AccountDetails;
+import com.bakery.auth.model.Oauth2ClientDetails;
+import com.bakery.common.JwtSignatureAlgorithm;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static com.bakery.auth.enums.Oauth2GrantType.*;
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.lang.String.format;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+/**
+ * 인증 모듈 벤치마크에서 공통으로 사용하는 계정, 클라이언트, 토큰 변환기 픽스처
+ * 값은 application.yml, application-test.yml 의 로컬/테스트 설정과 동일하게 유지한다.
+ */
+public final class AuthFixtures {
+
+    public static final String CLIENT_ID = "eea04aee-36b4-11eb-adc1-0242ac120002";
+
+    public static final String CLIENT_SECRET = "f388eebc-36b4-11eb-adc1-0242ac120002";
+
+    public static final String REDIRECT_URI = "http://www.example.com";
+
+    public static final String USERNAME = "bakery@example.com";
+
+    public static final String CODE_VERIFIER = "Po24FSnZUsKMMvFAvnN-5sQco3ql.ZjkZ_k6FttPxBhOpOAomUOh2q_pF5RV9R9M2ACnhObvy_CApZkQBFTO8wsMGGJgN5aAWnTCSP7Y9AQ0GuQxZiUHV3-Nvlcldi3V";
+
+    public static final String CODE_CHALLENGE = "kUFmP0lviWWy-fuSgsDs6vbag4coS0BzYyRHtHvsWSU";
+
+    public static final Set<String> SCOPES = new HashSet<>(asList("profile", "review"));
+
+    private AuthFixtures() {
+    }
+
+    public static CustomJwtTokenConverter jwtTokenConverter() {
+        return jwtTokenConverter(RS256);
+    }
+
+    /**
+     * @param algorithm 서명 알고리즘, RS256 은 RSA-2048 키 저장소, ES256 은 EC P-256 키 저장소를 사용한다.
+     * @return 인증 모듈의 토큰 변환기
+     */
+    public static CustomJwtTokenConverter jwtTokenConverter(JwtSignatureAlgorithm algorithm) {
+        return new CustomJwtTokenConverter(
+                algorithm == ES256 ? "classpath:/jwtKeyPair-ec.jks" : "classpath:/jwtKeyPair.jks",
+                "localpass",
+                "jwtKeyPair",
+                algorithm,
+                new String[0],
+                new DefaultResourceLoader()
+        );
+    }
+
+    public static AccountDetails accountDetails() {
+        return accountDetails(asList("user", "admin"));
+    }
+
+    /**
+     * @param authorityNames 계정에 부여할 권한 이름 목록
+     */
+    public static AccountDetails accountDetails(List<String> authorityNames) {
+        Account account = Account
+                .builder()
+                .id(1L)
+                .email(USERNAME)
+                .password("{noop}1234qwer!@")
+                .build();
+        for (String name : authorityNames) {
+            AccountAuthority
+                    .builder()
+                    .account(account)
+                    .authority(
+                            Authority
+                                    .builder()
+                                    .name(name)
+                                    .build()
+                    )
+                    .build();
+        }
+        return new AccountDetails(account);
+    }
+
+    public static Oauth2ClientDetails clientDetails() {
+        Oauth2Client client = Oauth2Client
+                .builder()
+                .clientId(CLIENT_ID)
+                .clientSecret("{noop}" + CLIENT_SECRET)
+                .authorizedGrantTypes(
+                        format(
+                                "%s,%s,%s,%s",
+                                AUTHORIZATION_CODE.toString(),
+                                PASSWORD.toString(),
+                                REFRESH_TOKEN.toString(),
+                                CLIENT_CREDENTIALS.toString()
+                        )
+                )
+                .scope(String.join(",", SCOPES))
+                .authorities("user,admin")
+                .resourceIds("api")
+                .webServerRedirectUri(REDIRECT_URI)
+                .build();
+        return new Oauth2ClientDetails(client);
+    }
+
+    /**
+     * @param grantType 토큰 발급 방식
+     * @return 사용자 인증이 포함된 Oauth2 인증 객체
+     */
+    public static OAuth2Authentication userAuthentication(String grantType) {
+        return userAuthentication(grantType, accountDetails());
+    }
+
+    /**
+     * @param grantType      토큰 발급 방식
+     * @param accountDetails 인증된 계정
+     * @return 사용자 인증이 포함된 Oauth2 인증 객체
+     */
+    public static OAuth2Authentication userAuthentication(String grantType, AccountDetails accountDetails) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("client_id", CLIENT_ID);
+        parameters.put("grant_type", grantType);
+        parameters.put("redirect_uri", REDIRECT_URI);
+        parameters.put("response_type", "code");
+        parameters.put("code_challenge", CODE_CHALLENGE);
+        parameters.put("code_challenge_method", "S256");
+        OAuth2Request oAuth2Request = new OAuth2Request(
+                parameters,
+                CLIENT_ID,
+                createAuthorityList("user", "admin"),
+                true,
+                SCOPES,
+                singleton("api"),
+                REDIRECT_URI,
+                singleton("code"),
+                null
+        );
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                accountDetails,
+                null,
+                accountDetails.getAuthorities()
+        );
+        return new OAuth2Authentication(oAuth2Request, authentication);
+    }
+
+    /**
+     * @return 클라이언트 인증만 포함된 Oauth2 인증 객체(client_credentials)
+     */
+    public static OAuth2Authentication clientAuthentication() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("client_id", CLIENT_ID);
+        parameters.put("grant_type", CLIENT_CREDENTIALS.toString());
+        OAuth2Request oAuth2Request = new OAuth2Request(
+                parameters,
+                CLIENT_ID,
+                createAuthorityList("user", "admin"),
+                true,
+                SCOPES,
+                singleton("api"),
+                null,
+                null,
+                null
+        );
+        return new OAuth2Authentication(oAuth2Request, null);
+    }
+
+}
@@ -0,0 +1,65 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.cache.ClientSecretCache;
+import com.bakery.auth.model.Oauth2ClientDetails;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
+import org.springframework.security.oauth2.provider.client.ClientDetailsUserDetailsService;
+
+import java.time.Duration;
+
+import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.security.crypto.factory.PasswordEncoderFactories.createDelegatingPasswordEncoder;
+
+/**
+ * confidential 클라이언트(bcrypt secret)의 client_credentials 토큰 발급 처리량 측정
+ * AuthorizationServerSecurityConfigurer 와 동일하게 DaoAuthenticationProvider 로 클라이언트를 인증한 뒤 토큰을 발급한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(4)
+public class ClientSecretCacheBenchmark {
+
+    @Param({"false", "true"})
+    private boolean cached;
+
+    private DaoAuthenticationProvider clientAuthenticationProvider;
+
+    private TokenGranter tokenGranter;
+
+    private TokenRequest tokenRequest;
+
+    @Setup
+    public void setup() {
+        TokenEndpointFixture fixture = new TokenEndpointFixture();
+        PasswordEncoder passwordEncoder = createDelegatingPasswordEncoder();
+        Oauth2ClientDetails clientDetails = AuthFixtures.clientDetails();
+        clientDetails.setClientSecret(passwordEncoder.encode(AuthFixtures.CLIENT_SECRET));
+        ClientSecretCache clientSecretCache = new ClientSecretCache(cached, 10000, Duration.ofSeconds(60), new SimpleMeterRegistry());
+        clientAuthenticationProvider = new DaoAuthenticationProvider();
+        clientAuthenticationProvider.setUserDetailsService(new ClientDetailsUserDetailsService(clientId -> clientDetails));
+        clientAuthenticationProvider.setPasswordEncoder(clientSecretCache.wrap(passwordEncoder));
+        tokenGranter = fixture.tokenGranter();
+        tokenRequest = fixture.clientCredentialsTokenRequest();
+    }
+
+    @Benchmark
+    public OAuth2AccessToken clientCredentials() {
+        clientAuthenticationProvider.authenticate(
+                new UsernamePasswordAuthenticationToken(AuthFixtures.CLIENT_ID, AuthFixtures.CLIENT_SECRET)
+        );
+        return tokenGranter.grant(CLIENT_CREDENTIALS.toString(), tokenRequest);
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.bakery.bench.auth;
+
+import org.openjdk.jmh.annotations.*;
+
+import static com.bakery.auth.enums.CodeChallengeMethod.S256;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * code_verifier 의 SHA-256 변환 및 BASE64 URL 인코딩 비용 측정, code_verifier 는 최소 43 ~ 최대 128 자
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CodeChallengeMethodBenchmark {
+
+    @Param({"43", "128"})
+    private int length;
+
+    private String codeVerifier;
+
+    @Setup
+    public void setup() {
+        codeVerifier = AuthFixtures.CODE_VERIFIER.substring(0, length);
+    }
+
+    @Benchmark
+    public String transform() {
+        return S256.transform(codeVerifier);
+    }
+
+}
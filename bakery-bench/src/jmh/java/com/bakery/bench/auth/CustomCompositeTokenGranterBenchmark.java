@@ -0,0 +1,62 @@
+package com.bakery.bench.auth;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
+
+import static com.bakery.auth.enums.Oauth2GrantType.*;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * /auth/oauth/token 엔드포인트에서 클라이언트 인증 이후 토큰 발급 방식별 granter 처리 비용 측정
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomCompositeTokenGranterBenchmark {
+
+    @Param({"password", "refresh_token", "authorization_code"})
+    private String grantType;
+
+    private TokenEndpointFixture fixture;
+
+    private TokenGranter tokenGranter;
+
+    private String refreshToken;
+
+    private TokenRequest tokenRequest;
+
+    @Setup
+    public void setup() {
+        fixture = new TokenEndpointFixture();
+        tokenGranter = fixture.tokenGranter();
+        refreshToken = tokenGranter
+                .grant(PASSWORD.toString(), fixture.passwordTokenRequest())
+                .getRefreshToken()
+                .getValue();
+    }
+
+    /**
+     * authorization_code 는 한 번 교환하면 제거되므로 매 호출마다 새로 발급한다.
+     */
+    @Setup(Level.Invocation)
+    public void prepareTokenRequest() {
+        if (AUTHORIZATION_CODE.toString().equals(grantType)) {
+            tokenRequest = fixture.authorizationCodeTokenRequest(fixture.issueAuthorizationCode());
+        } else if (REFRESH_TOKEN.toString().equals(grantType)) {
+            tokenRequest = fixture.refreshTokenRequest(refreshToken);
+        } else {
+            tokenRequest = fixture.passwordTokenRequest();
+        }
+    }
+
+    @Benchmark
+    public OAuth2AccessToken grant() {
+        return tokenGranter.grant(grantType, tokenRequest);
+    }
+
+}
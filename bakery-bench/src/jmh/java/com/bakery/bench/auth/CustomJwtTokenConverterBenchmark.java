@@ -0,0 +1,64 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.common.JwtSignatureAlgorithm;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.util.Date;
+
+import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static java.lang.System.currentTimeMillis;
+import static java.util.UUID.randomUUID;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * 토큰 발급 시 JWT 인코딩 및 서명 비용 측정(RS256: RSA-2048, ES256: EC P-256)
+ * 사용자 인증 토큰은 실제 발급 흐름과 동일하게 refresh_token 을 포함하여 발급마다 두 번의 서명이 일어난다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CustomJwtTokenConverterBenchmark {
+
+    @Param({"password", "client_credentials"})
+    private String grantType;
+
+    @Param({"RS256", "ES256"})
+    private JwtSignatureAlgorithm algorithm;
+
+    private CustomJwtTokenConverter converter;
+
+    private OAuth2Authentication authentication;
+
+    @Setup
+    public void setup() {
+        converter = AuthFixtures.jwtTokenConverter(algorithm);
+        authentication = CLIENT_CREDENTIALS.toString().equals(grantType)
+                ? AuthFixtures.clientAuthentication()
+                : AuthFixtures.userAuthentication(grantType);
+    }
+
+    @Benchmark
+    public OAuth2AccessToken enhance() {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(randomUUID().toString());
+        accessToken.setExpiration(new Date(currentTimeMillis() + 60 * 15 * 1000L));
+        accessToken.setScope(AuthFixtures.SCOPES);
+        if (!authentication.isClientOnly()) {
+            accessToken.setRefreshToken(
+                    new DefaultExpiringOAuth2RefreshToken(
+                            randomUUID().toString(),
+                            new Date(currentTimeMillis() + 60 * 60 * 24 * 5 * 1000L)
+                    )
+            );
+        }
+        return converter.enhance(accessToken, authentication);
+    }
+
+}
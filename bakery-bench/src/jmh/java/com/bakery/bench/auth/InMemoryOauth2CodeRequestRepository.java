@@ -0,0 +1,42 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.model.Oauth2CodeRequest;
+import com.bakery.auth.model.Oauth2CodeRequestCodec;
+import com.bakery.auth.repository.Oauth2CodeRequestRedisRepository;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static java.util.Optional.ofNullable;
+
+/**
+ * Redis 왕복 비용을 제외하고 authorization_code 발급/교환 흐름만 측정하기 위한 메모리 저장소
+ * Redis 저장소와 동일하게 인코딩한 값을 저장하므로 인코딩/디코딩 비용은 측정에 포함된다.
+ */
+public class InMemoryOauth2CodeRequestRepository implements Oauth2CodeRequestRedisRepository {
+
+    private final Map<String, byte[]> store = new ConcurrentHashMap<>();
+
+    @Override
+    public Oauth2CodeRequest save(Oauth2CodeRequest oauth2CodeRequest) {
+        store.put(oauth2CodeRequest.getCode(), Oauth2CodeRequestCodec.encode(oauth2CodeRequest));
+        return oauth2CodeRequest;
+    }
+
+    @Override
+    public Optional<Oauth2CodeRequest> findById(String code) {
+        return ofNullable(store.get(code)).map(Oauth2CodeRequestCodec::decode);
+    }
+
+    @Override
+    public Optional<Oauth2CodeRequest> consumeById(String code) {
+        return ofNullable(store.remove(code)).map(Oauth2CodeRequestCodec::decode);
+    }
+
+    @Override
+    public void deleteById(String code) {
+        store.remove(code);
+    }
+
+}
@@ -0,0 +1,119 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.model.AccountDetails;
+import com.bakery.auth.model.Oauth2CodeRequest;
+import com.bakery.auth.model.Oauth2CodeRequestCodec;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.data.redis.core.convert.Bucket;
+import org.springframework.data.redis.core.convert.MappingRedisConverter;
+import org.springframework.data.redis.core.convert.RedisData;
+import org.springframework.data.redis.core.mapping.RedisMappingContext;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+
+import java.util.Map;
+
+import static com.bakery.auth.enums.CodeChallengeMethod.S256;
+import static com.bakery.auth.enums.Oauth2GrantType.AUTHORIZATION_CODE;
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * authorization_code 요청 저장 형식별 인코딩/디코딩 비용 측정
+ * hash 는 기존 @RedisHash 저장 시 MappingRedisConverter 가 생성하던 해시 필드, codec 은 Oauth2CodeRequestCodec 의 단일 값이다.
+ * 저장 크기는 encodeCodec, encodeHash 의 보조 결과(codecBytes, hashFields, hashBytes)로 기록한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class Oauth2CodeRequestCodecBenchmark {
+
+    private MappingRedisConverter converter;
+
+    private Oauth2CodeRequest codeRequest;
+
+    private byte[] encoded;
+
+    private Map<byte[], byte[]> hash;
+
+    private int hashBytes;
+
+    @Setup
+    public void setup() {
+        converter = new MappingRedisConverter(new RedisMappingContext());
+        converter.afterPropertiesSet();
+        OAuth2Authentication authentication = AuthFixtures.userAuthentication(AUTHORIZATION_CODE.toString());
+        codeRequest = new Oauth2CodeRequest(
+                "JXrJ2y",
+                AuthFixtures.CODE_CHALLENGE,
+                S256,
+                authentication.getOAuth2Request(),
+                (AccountDetails) authentication.getPrincipal()
+        );
+        encoded = Oauth2CodeRequestCodec.encode(codeRequest);
+        hash = write();
+        hashBytes = hash
+                .entrySet()
+                .stream()
+                .mapToInt(entry -> entry.getKey().length + entry.getValue().length)
+                .sum();
+    }
+
+    @Benchmark
+    public byte[] encodeCodec(CodecSize size) {
+        size.codecBytes = encoded.length;
+        return Oauth2CodeRequestCodec.encode(codeRequest);
+    }
+
+    @Benchmark
+    public Oauth2CodeRequest decodeCodec() {
+        return Oauth2CodeRequestCodec.decode(encoded);
+    }
+
+    @Benchmark
+    public Map<byte[], byte[]> encodeHash(HashSize size) {
+        size.hashFields = hash.size();
+        size.hashBytes = hashBytes;
+        return write();
+    }
+
+    @Benchmark
+    public Oauth2CodeRequest decodeHash() {
+        return converter.read(Oauth2CodeRequest.class, new RedisData(Bucket.newBucketFromRawMap(hash)));
+    }
+
+    private Map<byte[], byte[]> write() {
+        RedisData redisData = new RedisData();
+        converter.write(codeRequest, redisData);
+        return redisData
+                .getBucket()
+                .rawMap();
+    }
+
+    /**
+     * Oauth2CodeRequestCodec 단일 값의 저장 크기
+     * JMH 가 반복마다 카운터를 초기화하므로 벤치마크 메서드에서 Setup 에서 계산한 값을 대입한다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class CodecSize {
+
+        public long codecBytes;
+
+    }
+
+    /**
+     * MappingRedisConverter 해시의 필드 수와 필드 이름, 값을 합한 저장 크기
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class HashSize {
+
+        public long hashFields;
+
+        public long hashBytes;
+
+    }
+
+}
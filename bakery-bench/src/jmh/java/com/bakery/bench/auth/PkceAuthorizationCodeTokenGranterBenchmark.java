@@ -0,0 +1,75 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.config.custom.PkceAuthorizationCodeService;
+import com.bakery.auth.config.custom.PkceAuthorizationCodeTokenGranter;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.oauth2.provider.ClientDetails;
+import org.springframework.security.oauth2.provider.ClientDetailsService;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2RequestFactory;
+import org.springframework.security.oauth2.provider.TokenRequest;
+import org.springframework.security.oauth2.provider.token.AuthorizationServerTokenServices;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+
+/**
+ * authorization_code 교환 시 code 조회, code_verifier 검증, 인증 객체 재구성 비용 측정(토큰 서명 제외)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PkceAuthorizationCodeTokenGranterBenchmark {
+
+    private TokenEndpointFixture fixture;
+
+    private ExposedPkceAuthorizationCodeTokenGranter tokenGranter;
+
+    private ClientDetails clientDetails;
+
+    private TokenRequest tokenRequest;
+
+    @Setup
+    public void setup() {
+        fixture = new TokenEndpointFixture();
+        clientDetails = fixture.clientDetails();
+        tokenGranter = new ExposedPkceAuthorizationCodeTokenGranter(
+                fixture.endpoints().getTokenServices(),
+                fixture.pkceAuthorizationCodeService(),
+                fixture.clientDetailsService(),
+                fixture.endpoints().getOAuth2RequestFactory()
+        );
+    }
+
+    @Setup(Level.Invocation)
+    public void prepareTokenRequest() {
+        tokenRequest = fixture.authorizationCodeTokenRequest(fixture.issueAuthorizationCode());
+    }
+
+    @Benchmark
+    public OAuth2Authentication getOAuth2Authentication() {
+        return tokenGranter.getOAuth2Authentication(clientDetails, tokenRequest);
+    }
+
+    /**
+     * protected 메소드인 getOAuth2Authentication 을 직접 호출하기 위한 하위 클래스
+     */
+    private static class ExposedPkceAuthorizationCodeTokenGranter extends PkceAuthorizationCodeTokenGranter {
+
+        ExposedPkceAuthorizationCodeTokenGranter(AuthorizationServerTokenServices tokenServices,
+                                                 PkceAuthorizationCodeService pkceAuthorizationCodeService,
+                                                 ClientDetailsService clientDetailsService,
+                                                 OAuth2RequestFactory requestFactory) {
+            super(tokenServices, pkceAuthorizationCodeService, clientDetailsService, requestFactory);
+        }
+
+        @Override
+        public OAuth2Authentication getOAuth2Authentication(ClientDetails client, TokenRequest tokenRequest) {
+            return super.getOAuth2Authentication(client, tokenRequest);
+        }
+
+    }
+
+}
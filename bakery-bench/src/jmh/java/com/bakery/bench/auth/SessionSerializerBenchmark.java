@@ -0,0 +1,177 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.config.custom.VersionedRedisSerializer;
+import com.bakery.auth.config.custom.VersionedRedisSerializer.Format;
+import com.bakery.auth.model.AccountDetails;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.oauth2.provider.AuthorizationRequest;
+import org.springframework.security.web.authentication.WebAuthenticationDetails;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.security.web.savedrequest.DefaultSavedRequest;
+
+import javax.servlet.http.HttpServletRequest;
+import java.lang.reflect.Proxy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+
+/**
+ * 로그인, 인가 요청 과정에서 Spring Session 이 저장하는 세션 속성의 형식별 직렬화/역직렬화 비용 측정
+ * Spring Session 과 동일하게 속성마다 값을 직렬화하며, 세션당 저장 크기는 serialize 의 보조 결과(sessionBytes, securityContextBytes)로 기록한다.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class SessionSerializerBenchmark {
+
+    @Param({"JDK", "JSON", "CBOR"})
+    private Format format;
+
+    private VersionedRedisSerializer serializer;
+
+    private Map<String, Object> attributes;
+
+    private Map<String, byte[]> serialized;
+
+    private int sessionBytes;
+
+    private int securityContextBytes;
+
+    @Setup
+    public void setup() {
+        serializer = new VersionedRedisSerializer(format, getClass().getClassLoader());
+        attributes = attributes();
+        serialized = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> attribute : attributes.entrySet()) {
+            serialized.put(attribute.getKey(), serializer.serialize(attribute.getValue()));
+        }
+        sessionBytes = serialized
+                .values()
+                .stream()
+                .mapToInt(value -> value.length)
+                .sum();
+        securityContextBytes = serialized.get("SPRING_SECURITY_CONTEXT").length;
+    }
+
+    @Benchmark
+    public void serialize(SessionSize size, Blackhole blackhole) {
+        size.sessionBytes = sessionBytes;
+        size.securityContextBytes = securityContextBytes;
+        for (Object value : attributes.values()) {
+            blackhole.consume(serializer.serialize(value));
+        }
+    }
+
+    @Benchmark
+    public void deserialize(Blackhole blackhole) {
+        for (byte[] value : serialized.values()) {
+            blackhole.consume(serializer.deserialize(value));
+        }
+    }
+
+    @Benchmark
+    public Object deserializeSecurityContext() {
+        return serializer.deserialize(serialized.get("SPRING_SECURITY_CONTEXT"));
+    }
+
+    /**
+     * 세션 속성 전체와 SPRING_SECURITY_CONTEXT 의 직렬화 크기
+     * JMH 가 반복마다 카운터를 초기화하므로 벤치마크 메서드에서 Setup 에서 계산한 값을 대입한다.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class SessionSize {
+
+        public long sessionBytes;
+
+        public long securityContextBytes;
+
+    }
+
+    private static Map<String, Object> attributes() {
+        AccountDetails accountDetails = AuthFixtures.accountDetails();
+        accountDetails.eraseCredentials();
+        UsernamePasswordAuthenticationToken authentication =
+                new UsernamePasswordAuthenticationToken(accountDetails, null, accountDetails.getAuthorities());
+        authentication.setDetails(new WebAuthenticationDetails(request()));
+        AuthorizationRequest authorizationRequest = authorizationRequest();
+        Map<String, Object> originalRequest = new HashMap<>();
+        originalRequest.put("client_id", authorizationRequest.getClientId());
+        originalRequest.put("redirect_uri", authorizationRequest.getRedirectUri());
+        originalRequest.put("response_type", Collections.unmodifiableSet(authorizationRequest.getResponseTypes()));
+        originalRequest.put("scope", Collections.unmodifiableSet(authorizationRequest.getScope()));
+        originalRequest.put("approved", authorizationRequest.isApproved());
+        Map<String, Object> attributes = new LinkedHashMap<>();
+        attributes.put("creationTime", System.currentTimeMillis());
+        attributes.put("lastAccessedTime", System.currentTimeMillis());
+        attributes.put("maxInactiveInterval", 1800);
+        attributes.put("SPRING_SECURITY_CONTEXT", new SecurityContextImpl(authentication));
+        attributes.put("org.springframework.security.web.csrf.HttpSessionCsrfTokenRepository.CSRF_TOKEN",
+                new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "0f2d7c4e-3b8a-4f7e-9d61-5a2c8e1b7f30"));
+        attributes.put("SPRING_SECURITY_SAVED_REQUEST", savedRequest());
+        attributes.put("authorizationRequest", authorizationRequest);
+        attributes.put("org.springframework.security.oauth2.provider.endpoint.AuthorizationEndpoint.ORIGINAL_AUTHORIZATION_REQUEST",
+                Collections.unmodifiableMap(originalRequest));
+        return attributes;
+    }
+
+    private static AuthorizationRequest authorizationRequest() {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("response_type", "code");
+        parameters.put("client_id", AuthFixtures.CLIENT_ID);
+        parameters.put("redirect_uri", AuthFixtures.REDIRECT_URI);
+        parameters.put("code_challenge", AuthFixtures.CODE_CHALLENGE);
+        parameters.put("code_challenge_method", "S256");
+        return new AuthorizationRequest(
+                parameters,
+                Collections.emptyMap(),
+                AuthFixtures.CLIENT_ID,
+                AuthFixtures.SCOPES,
+                singleton("api"),
+                createAuthorityList("user"),
+                false,
+                null,
+                AuthFixtures.REDIRECT_URI,
+                singleton("code")
+        );
+    }
+
+    private static DefaultSavedRequest savedRequest() {
+        return new DefaultSavedRequest.Builder()
+                .setScheme("https")
+                .setServerName("auth.example.com")
+                .setServerPort(443)
+                .setMethod("GET")
+                .setRequestURI("/oauth/authorize")
+                .setServletPath("/oauth/authorize")
+                .setQueryString("response_type=code&client_id=" + AuthFixtures.CLIENT_ID + "&code_challenge=" + AuthFixtures.CODE_CHALLENGE)
+                .setRequestURL("https://auth.example.com/oauth/authorize")
+                .setLocales(singletonList(Locale.KOREA))
+                .build();
+    }
+
+    /**
+     * WebAuthenticationDetails 는 요청으로만 생성할 수 있으므로 원격 주소만 반환하는 요청을 사용한다.
+     */
+    private static HttpServletRequest request() {
+        return (HttpServletRequest) Proxy.newProxyInstance(
+                HttpServletRequest.class.getClassLoader(),
+                new Class<?>[]{HttpServletRequest.class},
+                (proxy, method, args) -> "getRemoteAddr".equals(method.getName()) ? "127.0.0.1" : null
+        );
+    }
+
+}
@@ -0,0 +1,153 @@
+package com.bakery.bench.auth;
+
+import com.bakery.auth.cache.ClientSecretCache;
+import com.bakery.auth.config.AuthConfig;
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.auth.config.custom.PkceAuthorizationCodeService;
+import com.bakery.auth.model.AccountDetails;
+import com.bakery.auth.model.Oauth2ClientDetails;
+import com.bakery.auth.service.Oauth2ClientService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.oauth2.config.annotation.web.configurers.AuthorizationServerEndpointsConfigurer;
+import org.springframework.security.oauth2.provider.ClientDetails;
+import org.springframework.security.oauth2.provider.NoSuchClientException;
+import org.springframework.security.oauth2.provider.TokenGranter;
+import org.springframework.security.oauth2.provider.TokenRequest;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import static com.bakery.auth.enums.Oauth2GrantType.*;
+import static org.springframework.security.crypto.factory.PasswordEncoderFactories.createDelegatingPasswordEncoder;
+
+/**
+ * AuthConfig 의 토큰 엔드포인트 구성을 스프링 컨텍스트 없이 그대로 재현한다.
+ * DB, Redis, 비밀번호 해싱 비용은 제외하고 토큰 발급 경로의 CPU, 할당 비용만 측정하기 위해
+ * 클라이언트/계정 조회와 계정 인증은 메모리 스텁으로 대체한다.
+ */
+public class TokenEndpointFixture {
+
+    private final CustomJwtTokenConverter converter = AuthFixtures.jwtTokenConverter();
+
+    private final AccountDetails accountDetails = AuthFixtures.accountDetails();
+
+    private final Oauth2ClientDetails clientDetails = AuthFixtures.clientDetails();
+
+    private final PasswordEncoder passwordEncoder = createDelegatingPasswordEncoder();
+
+    private final Oauth2ClientService clientDetailsService = new Oauth2ClientService(null, null, null) {
+        @Override
+        public ClientDetails loadClientByClientId(String clientId) {
+            if (!clientDetails.getClientId().equals(clientId)) {
+                throw new NoSuchClientException(clientId);
+            }
+            return clientDetails;
+        }
+    };
+
+    private final UserDetailsService userDetailsService = username -> {
+        if (!accountDetails.getUsername().equals(username)) {
+            throw new UsernameNotFoundException(username);
+        }
+        return accountDetails;
+    };
+
+    private final AuthenticationManager authenticationManager = authentication -> new UsernamePasswordAuthenticationToken(
+            userDetailsService.loadUserByUsername(authentication.getName()),
+            null,
+            accountDetails.getAuthorities()
+    );
+
+    private final PkceAuthorizationCodeService pkceAuthorizationCodeService = new PkceAuthorizationCodeService(
+            new InMemoryOauth2CodeRequestRepository(),
+            clientDetailsService,
+            passwordEncoder
+    );
+
+    private final AuthorizationServerEndpointsConfigurer endpoints = new AuthorizationServerEndpointsConfigurer();
+
+    public TokenEndpointFixture() {
+        endpoints.setClientDetailsService(clientDetailsService);
+        new AuthConfig(
+                passwordEncoder,
+                authenticationManager,
+                userDetailsService,
+                clientDetailsService,
+                converter,
+                pkceAuthorizationCodeService,
+                new SimpleMeterRegistry(),
+                new ClientSecretCache(false, 0, Duration.ZERO, new SimpleMeterRegistry())
+        ).configure(endpoints);
+    }
+
+    public TokenGranter tokenGranter() {
+        return endpoints.getTokenGranter();
+    }
+
+    public AuthorizationServerEndpointsConfigurer endpoints() {
+        return endpoints;
+    }
+
+    public PkceAuthorizationCodeService pkceAuthorizationCodeService() {
+        return pkceAuthorizationCodeService;
+    }
+
+    public Oauth2ClientService clientDetailsService() {
+        return clientDetailsService;
+    }
+
+    public ClientDetails clientDetails() {
+        return clientDetails;
+    }
+
+    public TokenRequest passwordTokenRequest() {
+        Map<String, String> parameters = baseParameters(PASSWORD.toString());
+        parameters.put("username", AuthFixtures.USERNAME);
+        parameters.put("password", "1234qwer!@");
+        return new TokenRequest(parameters, AuthFixtures.CLIENT_ID, AuthFixtures.SCOPES, PASSWORD.toString());
+    }
+
+    public TokenRequest clientCredentialsTokenRequest() {
+        return new TokenRequest(baseParameters(CLIENT_CREDENTIALS.toString()), AuthFixtures.CLIENT_ID, AuthFixtures.SCOPES, CLIENT_CREDENTIALS.toString());
+    }
+
+    public TokenRequest refreshTokenRequest(String refreshToken) {
+        Map<String, String> parameters = baseParameters(REFRESH_TOKEN.toString());
+        parameters.put("refresh_token", refreshToken);
+        return new TokenRequest(parameters, AuthFixtures.CLIENT_ID, AuthFixtures.SCOPES, REFRESH_TOKEN.toString());
+    }
+
+    public TokenRequest authorizationCodeTokenRequest(String code) {
+        Map<String, String> parameters = baseParameters(AUTHORIZATION_CODE.toString());
+        parameters.put("code", code);
+        parameters.put("redirect_uri", AuthFixtures.REDIRECT_URI);
+        parameters.put("code_verifier", AuthFixtures.CODE_VERIFIER);
+        return new TokenRequest(parameters, AuthFixtures.CLIENT_ID, AuthFixtures.SCOPES, AUTHORIZATION_CODE.toString());
+    }
+
+    /**
+     * 인가 코드 발급 엔드포인트를 거친 것과 동일하게 code_challenge 를 저장하고 교환할 code 를 발급한다.
+     *
+     * @return authorization_code
+     */
+    public String issueAuthorizationCode() {
+        return pkceAuthorizationCodeService.createAuthorizationCode(
+                AuthFixtures.userAuthentication(AUTHORIZATION_CODE.toString())
+        );
+    }
+
+    private Map<String, String> baseParameters(String grantType) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("client_id", AuthFixtures.CLIENT_ID);
+        parameters.put("grant_type", grantType);
+        parameters.put("scope", String.join(" ", AuthFixtures.SCOPES));
+        return parameters;
+    }
+
+}
@@ -0,0 +1,191 @@
+package com.bakery.bench;
+
+import com.bakery.api.config.ResourceConfig;
+import com.bakery.api.config.custom.DecodedAccessToken;
+import com.bakery.api.config.custom.StreamingJwtAccessTokenConverter;
+import com.bakery.api.config.custom.TokenUser;
+import com.bakery.auth.config.custom.CustomJwtTokenConverter;
+import com.bakery.auth.entity.Account;
+import com.bakery.auth.entity.AccountAuthority;
+import com.bakery.auth.entity.Authority;
+import com.bakery.auth.model.AccountDetails;
+import com.bakery.common.JsonWebKey;
+import com.bakery.common.JwtSignatureAlgorithm;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+import org.springframework.security.oauth2.common.DefaultExpiringOAuth2RefreshToken;
+import org.springframework.security.oauth2.common.DefaultOAuth2AccessToken;
+import org.springframework.security.oauth2.common.OAuth2AccessToken;
+import org.springframework.security.oauth2.common.exceptions.InvalidTokenException;
+import org.springframework.security.oauth2.provider.OAuth2Authentication;
+import org.springframework.security.oauth2.provider.OAuth2Request;
+import org.springframework.security.oauth2.provider.token.store.JwtTokenStore;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.GeneralSecurityException;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static com.bakery.auth.enums.Oauth2GrantType.CLIENT_CREDENTIALS;
+import static com.bakery.auth.enums.Oauth2GrantType.PASSWORD;
+import static com.bakery.common.JsonWebKeyVerifiers.verifierOf;
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singleton;
+import static java.util.UUID.randomUUID;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.core.authority.AuthorityUtils.authorityListToSet;
+import static org.springframework.security.core.authority.AuthorityUtils.createAuthorityList;
+import static org.springframework.util.StreamUtils.copyToString;
+
+/**
+ * 인증 모듈의 JwtTokenEncoder 로 발급한 토큰을 API 모듈의 CustomAccessTokenConverter 로 읽을 수 있는지 확인하는 모듈 간 호환성 테스트
+ */
+@DisplayName("인증 모듈 발급 토큰, API 모듈 검증 호환성 테스트")
+public class AccessTokenCompatibilityTest {
+
+    private static final String ESCAPED_VALUE = "\"quote\" \\back\\slash\\ /slash\nnew line\t한글 \u0001 </script>";
+
+    @ParameterizedTest
+    @EnumSource(JwtSignatureAlgorithm.class)
+    @DisplayName("password 토큰을 API 모듈에서 스트리밍 변환, Map 변환으로 같은 인증 정보로 읽는 경우")
+    public void read_PasswordGrant(JwtSignatureAlgorithm algorithm) throws Exception {
+        // given
+        StreamingJwtAccessTokenConverter accessTokenConverter = accessTokenConverter(algorithm);
+        OAuth2AccessToken accessToken = jwtTokenConverter(algorithm).enhance(accessToken(), userAuthentication());
+        // when
+        DecodedAccessToken decoded = accessTokenConverter.decodeAccessToken(accessToken.getValue());
+        // then
+        OAuth2Authentication authentication = decoded.getAuthentication();
+        OAuth2Authentication expected = new JwtTokenStore(accessTokenConverter).readAuthentication(accessToken.getValue());
+        assertEquals(expected.getOAuth2Request(), authentication.getOAuth2Request());
+        assertEquals(expected.getAuthorities(), authentication.getAuthorities());
+        assertEquals(1L, ((TokenUser) authentication.getPrincipal()).getId());
+        assertEquals("bakery@example.com", authentication.getName());
+        assertEquals(new HashSet<>(asList("user", "admin")), authorityListToSet(authentication.getAuthorities()));
+        assertEquals("client", authentication.getOAuth2Request().getClientId());
+        assertEquals(singleton("api"), authentication.getOAuth2Request().getResourceIds());
+        assertEquals(accessToken.getScope(), decoded.getAccessToken().getScope());
+        assertEquals(accessToken.getExpiration().getTime() / 1000, decoded.getAccessToken().getExpiration().getTime() / 1000);
+        assertEquals(ESCAPED_VALUE, decoded.getAccessToken().getAdditionalInformation().get("note"));
+        assertThrows(InvalidTokenException.class, () -> accessTokenConverter.decodeAccessToken(accessToken.getRefreshToken().getValue()));
+    }
+
+    @ParameterizedTest
+    @EnumSource(JwtSignatureAlgorithm.class)
+    @DisplayName("client_credentials 토큰을 API 모듈에서 클라이언트 인증으로 읽는 경우")
+    public void read_ClientCredentialsGrant(JwtSignatureAlgorithm algorithm) throws Exception {
+        // given
+        StreamingJwtAccessTokenConverter accessTokenConverter = accessTokenConverter(algorithm);
+        DefaultOAuth2AccessToken token = accessToken();
+        token.setRefreshToken(null);
+        OAuth2AccessToken accessToken = jwtTokenConverter(algorithm).enhance(token, clientAuthentication());
+        // when
+        OAuth2Authentication authentication = accessTokenConverter
+                .decodeAccessToken(accessToken.getValue())
+                .getAuthentication();
+        // then
+        assertTrue(authentication.isClientOnly());
+        assertEquals(new JwtTokenStore(accessTokenConverter).readAuthentication(accessToken.getValue()), authentication);
+        assertEquals(singleton("client"), authorityListToSet(authentication.getAuthorities()));
+    }
+
+    private StreamingJwtAccessTokenConverter accessTokenConverter(JwtSignatureAlgorithm algorithm) throws Exception {
+        ResourceConfig resourceConfig = new ResourceConfig();
+        StreamingJwtAccessTokenConverter accessTokenConverter = resourceConfig.accessTokenConverter(publicKeyVerifier(
+                algorithm == ES256 ? "classpath:/publicKey-ec.txt" : "classpath:/publicKey.txt"
+        ));
+        accessTokenConverter.afterPropertiesSet();
+        return accessTokenConverter;
+    }
+
+    /**
+     * ResourceConfig 와 동일하게 PEM 공개키로 검증기를 생성한다.
+     */
+    private static SignatureVerifier publicKeyVerifier(String location) throws IOException, GeneralSecurityException {
+        try (InputStream inputStream = new DefaultResourceLoader().getResource(location).getInputStream()) {
+            return verifierOf(JsonWebKey.readPem(copyToString(inputStream, UTF_8)));
+        }
+    }
+
+    private CustomJwtTokenConverter jwtTokenConverter(JwtSignatureAlgorithm algorithm) {
+        return new CustomJwtTokenConverter(
+                algorithm == ES256 ? "classpath:/jwtKeyPair-ec.jks" : "classpath:/jwtKeyPair.jks",
+                "localpass",
+                "jwtKeyPair",
+                algorithm,
+                new String[0],
+                new DefaultResourceLoader()
+        );
+    }
+
+    private DefaultOAuth2AccessToken accessToken() {
+        DefaultOAuth2AccessToken accessToken = new DefaultOAuth2AccessToken(randomUUID().toString());
+        accessToken.setExpiration(new Date(System.currentTimeMillis() + 3600_000));
+        accessToken.setScope(new HashSet<>(asList("profile", "review")));
+        accessToken.setRefreshToken(new DefaultExpiringOAuth2RefreshToken(randomUUID().toString(), new Date(System.currentTimeMillis() + 7200_000)));
+        Map<String, Object> information = new LinkedHashMap<>();
+        information.put("note", ESCAPED_VALUE);
+        accessToken.setAdditionalInformation(information);
+        return accessToken;
+    }
+
+    private OAuth2Authentication userAuthentication() {
+        Account account = Account
+                .builder()
+                .id(1L)
+                .email("bakery@example.com")
+                .password("{noop}1234qwer!@")
+                .build();
+        for (String name : asList("user", "admin")) {
+            AccountAuthority
+                    .builder()
+                    .account(account)
+                    .authority(
+                            Authority
+                                    .builder()
+                                    .name(name)
+                                    .build()
+                    )
+                    .build();
+        }
+        AccountDetails accountDetails = new AccountDetails(account);
+        UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
+                accountDetails,
+                null,
+                accountDetails.getAuthorities()
+        );
+        return new OAuth2Authentication(oAuth2Request(PASSWORD.toString()), authentication);
+    }
+
+    private OAuth2Authentication clientAuthentication() {
+        return new OAuth2Authentication(oAuth2Request(CLIENT_CREDENTIALS.toString()), null);
+    }
+
+    private OAuth2Request oAuth2Request(String grantType) {
+        Map<String, String> parameters = new HashMap<>();
+        parameters.put("client_id", "client");
+        parameters.put("grant_type", grantType);
+        return new OAuth2Request(
+                parameters,
+                "client",
+                createAuthorityList("client"),
+                true,
+                new HashSet<>(asList("profile", "review")),
+                singleton("api"),
+                null,
+                null,
+                null
+        );
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.bakery.common;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static java.util.Collections.*;
+
+/**
+ * 권한(Authority.name)은 종류가 적으므로 권한 이름별 GrantedAuthority 와 권한 조합별 불변 Set 을 한 번만 생성하여 공유한다.
+ * 인증 모듈의 AccountDetails, API 모듈의 토큰 클레임 변환처럼 요청마다 생성되던 권한 객체 할당을 제거하기 위해 사용한다.
+ * 예상하지 못한 권한 이름이 계속 유입되는 경우를 대비해 등록 개수를 제한하고, 초과한 경우 공유하지 않고 새로 생성한다.
+ */
+public final class GrantedAuthorities {
+
+    private static final int MAXIMUM_SIZE = 1024;
+
+    private static final ConcurrentMap<String, GrantedAuthority> AUTHORITIES = new ConcurrentHashMap<>();
+
+    private static final ConcurrentMap<List<String>, Set<GrantedAuthority>> AUTHORITY_SETS = new ConcurrentHashMap<>();
+
+    private GrantedAuthorities() {
+    }
+
+    /**
+     * @param name 권한 이름
+     * @return 권한 이름에 해당하는 공유 GrantedAuthority
+     */
+    public static GrantedAuthority of(String name) {
+        GrantedAuthority authority = AUTHORITIES.get(name);
+        if (authority != null) {
+            return authority;
+        }
+        if (AUTHORITIES.size() >= MAXIMUM_SIZE) {
+            return new SimpleGrantedAuthority(name);
+        }
+        return AUTHORITIES.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * 조회 시에는 전달받은 목록을 그대로 키로 사용하므로 이미 등록된 조합은 할당 없이 반환된다.
+     *
+     * @param names 권한 이름 목록
+     * @return 권한 조합에 해당하는 공유 불변 Set
+     */
+    public static Set<GrantedAuthority> setOf(List<String> names) {
+        if (names.isEmpty()) {
+            return emptySet();
+        }
+        Set<GrantedAuthority> authorities = AUTHORITY_SETS.get(names);
+        if (authorities != null) {
+            return authorities;
+        }
+        Set<GrantedAuthority> created = create(names);
+        if (AUTHORITY_SETS.size() >= MAXIMUM_SIZE) {
+            return created;
+        }
+        Set<GrantedAuthority> previous = AUTHORITY_SETS.putIfAbsent(unmodifiableList(new ArrayList<>(names)), created);
+        return previous != null ? previous : created;
+    }
+
+    private static Set<GrantedAuthority> create(List<String> names) {
+        if (names.size() == 1) {
+            return singleton(of(names.get(0)));
+        }
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>(names.size() * 2);
+        for (String name : names) {
+            authorities.add(of(name));
+        }
+        return unmodifiableSet(authorities);
+    }
+
+}
@@ -0,0 +1,305 @@
+package com.bakery.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.Getter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.security.AlgorithmParameters;
+import java.security.GeneralSecurityException;
+import java.security.KeyFactory;
+import java.security.MessageDigest;
+import java.security.PublicKey;
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+import java.security.spec.ECGenParameterSpec;
+import java.security.spec.ECParameterSpec;
+import java.security.spec.ECPoint;
+import java.security.spec.ECPublicKeySpec;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.RSAPublicKeySpec;
+import java.security.spec.X509EncodedKeySpec;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.List;
+
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+
+/**
+ * JWT 서명 검증용 공개키의 JWK(RFC 7517) 표현, RS256 은 RSA 키, ES256 은 EC P-256 키만 지원한다.
+ * kid 는 키 값으로 계산한 JWK Thumbprint(RFC 7638)이므로 같은 키는 인증 모듈과 API 모듈에서 항상 같은 kid 를 가진다.
+ */
+@Getter
+public final class JsonWebKey {
+
+    public static final String JWK_SET_CONTENT_TYPE = "application/jwk-set+json";
+
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    private static final JsonFactory JSON_FACTORY = OBJECT_MAPPER.getFactory();
+
+    private static final String P256 = "P-256";
+
+    /**
+     * rsaEncryption(1.2.840.113549.1.1.1) OID 의 DER 인코딩
+     */
+    private static final byte[] RSA_OID = {0x06, 0x09, 0x2A, (byte) 0x86, 0x48, (byte) 0x86, (byte) 0xF7, 0x0D, 0x01, 0x01, 0x01};
+
+    /**
+     * id-ecPublicKey(1.2.840.10045.2.1) OID 의 DER 인코딩
+     */
+    private static final byte[] EC_OID = {0x06, 0x07, 0x2A, (byte) 0x86, 0x48, (byte) 0xCE, 0x3D, 0x02, 0x01};
+
+    private final String keyId;
+
+    private final JwtSignatureAlgorithm algorithm;
+
+    private final PublicKey publicKey;
+
+    private JsonWebKey(String keyId, JwtSignatureAlgorithm algorithm, PublicKey publicKey) {
+        this.keyId = keyId;
+        this.algorithm = algorithm;
+        this.publicKey = publicKey;
+    }
+
+    /**
+     * @throws IllegalArgumentException RSA, EC P-256 이외의 키인 경우
+     */
+    public static JsonWebKey of(PublicKey publicKey) {
+        if (publicKey instanceof RSAPublicKey) {
+            return new JsonWebKey(thumbprint((RSAPublicKey) publicKey), RS256, publicKey);
+        }
+        if (publicKey instanceof ECPublicKey && coordinateLength((ECPublicKey) publicKey) == 32) {
+            return new JsonWebKey(thumbprint((ECPublicKey) publicKey), ES256, publicKey);
+        }
+        throw new IllegalArgumentException("Unsupported public key: " + publicKey.getAlgorithm());
+    }
+
+    /**
+     * 키 알고리즘은 SubjectPublicKeyInfo 의 AlgorithmIdentifier 로 판별한다.
+     *
+     * @param pem PEM(X.509 SubjectPublicKeyInfo) 형식의 RSA 또는 EC P-256 공개키
+     * @throws GeneralSecurityException PEM 형식이 아니거나 RSA, EC 이외의 키인 경우
+     * @throws IllegalArgumentException EC P-256 이외의 곡선인 경우
+     */
+    public static JsonWebKey readPem(String pem) throws GeneralSecurityException {
+        byte[] encoded;
+        try {
+            encoded = Base64
+                    .getDecoder()
+                    .decode(pem
+                            .replaceAll("-----(BEGIN|END) PUBLIC KEY-----", "")
+                            .replaceAll("\\s", ""));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidKeySpecException("PEM is not base64", e);
+        }
+        PublicKey publicKey = KeyFactory
+                .getInstance(keyAlgorithm(encoded))
+                .generatePublic(new X509EncodedKeySpec(encoded));
+        return of(publicKey);
+    }
+
+    /**
+     * @return {"keys":[...]} 형식의 JWK Set
+     */
+    public static byte[] writeSet(Collection<JsonWebKey> keys) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("keys");
+            for (JsonWebKey key : keys) {
+                key.write(generator);
+            }
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        return out.toByteArray();
+    }
+
+    /**
+     * 서명 용도(use 가 없거나 sig)의 RSA, EC P-256 키만 읽고, 그 외의 키는 무시한다.
+     * kid 가 없는 키는 JWK Thumbprint 를 kid 로 사용한다.
+     *
+     * @param jwkSet {"keys":[...]} 형식의 JWK Set
+     * @throws IOException              JSON 형식이 아닌 경우
+     * @throws GeneralSecurityException 키 값이 잘못된 경우
+     */
+    public static List<JsonWebKey> readSet(byte[] jwkSet) throws IOException, GeneralSecurityException {
+        JsonNode keys = OBJECT_MAPPER
+                .readTree(jwkSet)
+                .path("keys");
+        if (!keys.isArray()) {
+            throw new IOException("JWK Set has no keys");
+        }
+        List<JsonWebKey> result = new ArrayList<>(keys.size());
+        for (JsonNode key : keys) {
+            String use = key.path("use").asText("sig");
+            String type = key.path("kty").asText();
+            PublicKey publicKey;
+            if (!"sig".equals(use)) {
+                continue;
+            } else if ("RSA".equals(type)) {
+                publicKey = KeyFactory
+                        .getInstance(RS256.getKeyAlgorithm())
+                        .generatePublic(new RSAPublicKeySpec(unsigned(key, "n"), unsigned(key, "e")));
+            } else if ("EC".equals(type) && P256.equals(key.path("crv").asText())) {
+                ECPoint point = new ECPoint(unsigned(key, "x"), unsigned(key, "y"));
+                publicKey = KeyFactory
+                        .getInstance(ES256.getKeyAlgorithm())
+                        .generatePublic(new ECPublicKeySpec(point, p256()));
+            } else {
+                continue;
+            }
+            JsonWebKey jsonWebKey = of(publicKey);
+            String keyId = key.path("kid").asText(null);
+            result.add(keyId != null ? new JsonWebKey(keyId, jsonWebKey.algorithm, publicKey) : jsonWebKey);
+        }
+        return result;
+    }
+
+    private void write(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("kty", algorithm == ES256 ? "EC" : "RSA");
+        generator.writeStringField("kid", keyId);
+        generator.writeStringField("use", "sig");
+        generator.writeStringField("alg", algorithm.name());
+        if (algorithm == ES256) {
+            ECPublicKey ecPublicKey = (ECPublicKey) publicKey;
+            generator.writeStringField("crv", P256);
+            generator.writeStringField("x", coordinate(ecPublicKey.getW().getAffineX()));
+            generator.writeStringField("y", coordinate(ecPublicKey.getW().getAffineY()));
+        } else {
+            RSAPublicKey rsaPublicKey = (RSAPublicKey) publicKey;
+            generator.writeStringField("n", unsigned(rsaPublicKey.getModulus()));
+            generator.writeStringField("e", unsigned(rsaPublicKey.getPublicExponent()));
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * RFC 7638: 필수 멤버만 사전 순으로 공백 없이 직렬화한 JSON 의 SHA-256
+     */
+    private static String thumbprint(RSAPublicKey publicKey) {
+        return sha256(String.format(
+                "{\"e\":\"%s\",\"kty\":\"RSA\",\"n\":\"%s\"}",
+                unsigned(publicKey.getPublicExponent()),
+                unsigned(publicKey.getModulus())
+        ));
+    }
+
+    private static String thumbprint(ECPublicKey publicKey) {
+        return sha256(String.format(
+                "{\"crv\":\"%s\",\"kty\":\"EC\",\"x\":\"%s\",\"y\":\"%s\"}",
+                P256,
+                coordinate(publicKey.getW().getAffineX()),
+                coordinate(publicKey.getW().getAffineY())
+        ));
+    }
+
+    /**
+     * SubjectPublicKeyInfo ::= SEQUENCE { algorithm SEQUENCE { OID, parameters }, subjectPublicKey BIT STRING }
+     *
+     * @return AlgorithmIdentifier 의 OID 에 해당하는 KeyFactory 알고리즘
+     */
+    private static String keyAlgorithm(byte[] encoded) throws InvalidKeySpecException {
+        int offset = sequenceContent(encoded, sequenceContent(encoded, 0));
+        if (startsWith(encoded, offset, RSA_OID)) {
+            return RS256.getKeyAlgorithm();
+        }
+        if (startsWith(encoded, offset, EC_OID)) {
+            return ES256.getKeyAlgorithm();
+        }
+        throw new InvalidKeySpecException("Unsupported public key algorithm");
+    }
+
+    /**
+     * @return offset 위치의 DER SEQUENCE 의 내용 시작 위치
+     */
+    private static int sequenceContent(byte[] encoded, int offset) throws InvalidKeySpecException {
+        if (offset + 1 >= encoded.length || encoded[offset] != 0x30) {
+            throw new InvalidKeySpecException("Public key is not X.509 SubjectPublicKeyInfo");
+        }
+        int length = encoded[offset + 1] & 0xFF;
+        return length < 0x80 ? offset + 2 : offset + 2 + (length & 0x7F);
+    }
+
+    private static boolean startsWith(byte[] encoded, int offset, byte[] prefix) {
+        if (offset + prefix.length > encoded.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if (encoded[offset + i] != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest
+                    .getInstance("SHA-256")
+                    .digest(value.getBytes(UTF_8));
+            return encode(digest);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static int coordinateLength(ECPublicKey publicKey) {
+        return (publicKey.getParams().getOrder().bitLength() + 7) / 8;
+    }
+
+    /**
+     * @return 앞의 0 바이트를 제외한 부호 없는 big-endian 값
+     */
+    private static String unsigned(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        return bytes.length > 1 && bytes[0] == 0 ? encode(Arrays.copyOfRange(bytes, 1, bytes.length)) : encode(bytes);
+    }
+
+    /**
+     * @return P-256 좌표 길이(32 바이트)로 앞을 0 으로 채운 big-endian 값
+     */
+    private static String coordinate(BigInteger value) {
+        byte[] bytes = value.toByteArray();
+        byte[] padded = new byte[32];
+        int length = Math.min(bytes.length, padded.length);
+        System.arraycopy(bytes, bytes.length - length, padded, padded.length - length, length);
+        return encode(padded);
+    }
+
+    private static BigInteger unsigned(JsonNode key, String name) throws GeneralSecurityException {
+        String value = key.path(name).asText(null);
+        if (value == null) {
+            throw new GeneralSecurityException("JWK has no " + name);
+        }
+        try {
+            return new BigInteger(1, Base64.getUrlDecoder().decode(value));
+        } catch (IllegalArgumentException e) {
+            throw new GeneralSecurityException("JWK " + name + " is not base64url", e);
+        }
+    }
+
+    private static ECParameterSpec p256() throws GeneralSecurityException {
+        AlgorithmParameters parameters = AlgorithmParameters.getInstance(ES256.getKeyAlgorithm());
+        parameters.init(new ECGenParameterSpec("secp256r1"));
+        return parameters.getParameterSpec(ECParameterSpec.class);
+    }
+
+    private static String encode(byte[] bytes) {
+        return Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString(bytes);
+    }
+
+}
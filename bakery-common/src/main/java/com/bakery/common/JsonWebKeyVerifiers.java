@@ -0,0 +1,33 @@
+package com.bakery.common;
+
+import org.springframework.security.jwt.crypto.sign.EllipticCurveVerifier;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+
+import java.security.interfaces.ECPublicKey;
+import java.security.interfaces.RSAPublicKey;
+
+/**
+ * JsonWebKey 의 공개키로 서명 검증기를 생성한다.
+ * 인증 모듈의 KeyIdSignatureVerifier, API 모듈의 JwkSetSignatureVerifier 가 같은 방식으로 kid 별 검증기를 만들도록 공유한다.
+ */
+public final class JsonWebKeyVerifiers {
+
+    private JsonWebKeyVerifiers() {
+    }
+
+    /**
+     * @param key JWK Set 에 게시된 키
+     * @return ES256 은 EllipticCurveVerifier, RS256 은 RsaVerifier
+     */
+    public static SignatureVerifier verifierOf(JsonWebKey key) {
+        switch (key.getAlgorithm()) {
+            case ES256:
+                return new EllipticCurveVerifier((ECPublicKey) key.getPublicKey(), key.getAlgorithm().getJcaName());
+            case RS256:
+            default:
+                return new RsaVerifier((RSAPublicKey) key.getPublicKey(), key.getAlgorithm().getJcaName());
+        }
+    }
+
+}
@@ -0,0 +1,80 @@
+package com.bakery.common;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Base64;
+
+/**
+ * 서명 검증 키를 선택하기 위한 JWT 헤더의 alg, kid
+ */
+@Getter
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class JwtHeader {
+
+    private static final JsonFactory JSON_FACTORY = new ObjectMapper().getFactory();
+
+    /**
+     * 지원하지 않는 알고리즘인 경우 null
+     */
+    private final JwtSignatureAlgorithm algorithm;
+
+    /**
+     * kid 가 없는 토큰(kid 추가 이전 발급)인 경우 null
+     */
+    private final String keyId;
+
+    /**
+     * @param signingInput BASE64URL(header).BASE64URL(claims), SignatureVerifier.verify 에 전달되는 서명 대상
+     * @throws IllegalArgumentException 헤더를 읽을 수 없는 경우
+     */
+    public static JwtHeader parse(byte[] signingInput) {
+        int period = 0;
+        while (period < signingInput.length && signingInput[period] != '.') {
+            period++;
+        }
+        String algorithm = null;
+        String keyId = null;
+        try {
+            ByteBuffer header = Base64
+                    .getUrlDecoder()
+                    .decode(ByteBuffer.wrap(signingInput, 0, period));
+            try (JsonParser parser = JSON_FACTORY.createParser(header.array(), header.arrayOffset(), header.remaining())) {
+                if (parser.nextToken() != JsonToken.START_OBJECT) {
+                    throw new IllegalArgumentException("JWT header is not an object");
+                }
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String name = parser.getCurrentName();
+                    JsonToken token = parser.nextToken();
+                    if ("alg".equals(name) && token == JsonToken.VALUE_STRING) {
+                        algorithm = parser.getText();
+                    } else if ("kid".equals(name) && token == JsonToken.VALUE_STRING) {
+                        keyId = parser.getText();
+                    } else {
+                        parser.skipChildren();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read JWT header", e);
+        }
+        return new JwtHeader(algorithmOf(algorithm), keyId);
+    }
+
+    private static JwtSignatureAlgorithm algorithmOf(String name) {
+        for (JwtSignatureAlgorithm algorithm : JwtSignatureAlgorithm.values()) {
+            if (algorithm.name().equals(name)) {
+                return algorithm;
+            }
+        }
+        return null;
+    }
+
+}
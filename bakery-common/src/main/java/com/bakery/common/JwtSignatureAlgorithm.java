@@ -0,0 +1,26 @@
+package com.bakery.common;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * JWT 서명 알고리즘, 인증 모듈(서명)과 API 모듈(검증)의 jwt.algorithm 설정 값이 같아야 한다.
+ */
+@Getter
+@RequiredArgsConstructor
+public enum JwtSignatureAlgorithm {
+
+    RS256("SHA256withRSA", "RSA"),
+    ES256("SHA256withECDSA", "EC");
+
+    /**
+     * java.security.Signature 알고리즘 이름
+     */
+    private final String jcaName;
+
+    /**
+     * java.security.KeyFactory 키 알고리즘 이름
+     */
+    private final String keyAlgorithm;
+
+}
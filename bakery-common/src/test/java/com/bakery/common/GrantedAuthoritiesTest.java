@@ -0,0 +1,41 @@
+package com.bakery.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GrantedAuthoritiesTest {
+
+    @Test
+    public void of_Success() {
+        GrantedAuthority expect = GrantedAuthorities.of("user");
+        GrantedAuthority actual = GrantedAuthorities.of("user");
+        assertSame(expect, actual);
+        assertEquals(new SimpleGrantedAuthority("user"), actual);
+    }
+
+    @Test
+    public void setOf_Success() {
+        List<String> names = new ArrayList<>(asList("user", "admin"));
+        Set<GrantedAuthority> expect = GrantedAuthorities.setOf(names);
+        names.add("manager");
+        Set<GrantedAuthority> actual = GrantedAuthorities.setOf(asList("user", "admin"));
+        assertSame(expect, actual);
+        assertEquals(2, actual.size());
+        assertTrue(actual.contains(new SimpleGrantedAuthority("admin")));
+        assertThrows(UnsupportedOperationException.class, () -> actual.add(new SimpleGrantedAuthority("manager")));
+    }
+
+    @Test
+    public void setOfEmpty_Success() {
+        assertTrue(GrantedAuthorities.setOf(new ArrayList<>()).isEmpty());
+    }
+
+}
@@ -0,0 +1,138 @@
+package com.bakery.common;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.jwt.crypto.sign.EllipticCurveVerifier;
+import org.springframework.security.jwt.crypto.sign.InvalidSignatureException;
+import org.springframework.security.jwt.crypto.sign.RsaVerifier;
+import org.springframework.security.jwt.crypto.sign.SignatureVerifier;
+
+import java.security.KeyPair;
+import java.security.KeyPairGenerator;
+import java.security.PublicKey;
+import java.security.Signature;
+import java.security.spec.InvalidKeySpecException;
+import java.security.spec.ECGenParameterSpec;
+import java.util.Base64;
+import java.util.List;
+
+import static com.bakery.common.JwtSignatureAlgorithm.ES256;
+import static com.bakery.common.JwtSignatureAlgorithm.RS256;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Arrays.asList;
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JsonWebKeyTest {
+
+    @Test
+    public void writeSet_ReadSet_Success() throws Exception {
+        PublicKey rsaPublicKey = rsaPublicKey();
+        PublicKey ecPublicKey = ecPublicKey();
+        JsonWebKey rsa = JsonWebKey.of(rsaPublicKey);
+        JsonWebKey ec = JsonWebKey.of(ecPublicKey);
+        List<JsonWebKey> keys = JsonWebKey.readSet(JsonWebKey.writeSet(asList(rsa, ec)));
+        assertEquals(2, keys.size());
+        assertEquals(rsa.getKeyId(), keys.get(0).getKeyId());
+        assertEquals(RS256, keys.get(0).getAlgorithm());
+        assertEquals(rsaPublicKey, keys.get(0).getPublicKey());
+        assertEquals(ec.getKeyId(), keys.get(1).getKeyId());
+        assertEquals(ES256, keys.get(1).getAlgorithm());
+        assertEquals(ecPublicKey, keys.get(1).getPublicKey());
+    }
+
+    @Test
+    public void of_SameKeySameKeyId() throws Exception {
+        PublicKey publicKey = rsaPublicKey();
+        assertEquals(JsonWebKey.of(publicKey).getKeyId(), JsonWebKey.of(publicKey).getKeyId());
+        assertNotEquals(JsonWebKey.of(publicKey).getKeyId(), JsonWebKey.of(rsaPublicKey()).getKeyId());
+    }
+
+    @Test
+    public void verifierOf_Algorithm() throws Exception {
+        KeyPair keyPair = rsaKeyPair();
+        byte[] content = "content".getBytes(UTF_8);
+        Signature signature = Signature.getInstance(RS256.getJcaName());
+        signature.initSign(keyPair.getPrivate());
+        signature.update(content);
+        SignatureVerifier rsa = JsonWebKeyVerifiers.verifierOf(JsonWebKey.of(keyPair.getPublic()));
+        SignatureVerifier ec = JsonWebKeyVerifiers.verifierOf(JsonWebKey.of(ecPublicKey()));
+        assertTrue(rsa instanceof RsaVerifier);
+        assertEquals(RS256.getJcaName(), rsa.algorithm());
+        rsa.verify(content, signature.sign());
+        assertThrows(InvalidSignatureException.class, () -> rsa.verify(content, new byte[256]));
+        assertTrue(ec instanceof EllipticCurveVerifier);
+        assertEquals(ES256.getJcaName(), ec.algorithm());
+    }
+
+    @Test
+    public void readPem_DetectAlgorithm() throws Exception {
+        PublicKey rsaPublicKey = rsaPublicKey();
+        PublicKey ecPublicKey = ecPublicKey();
+        JsonWebKey rsa = JsonWebKey.readPem(pem(rsaPublicKey));
+        JsonWebKey ec = JsonWebKey.readPem(pem(ecPublicKey));
+        assertEquals(RS256, rsa.getAlgorithm());
+        assertEquals(rsaPublicKey, rsa.getPublicKey());
+        assertEquals(JsonWebKey.of(rsaPublicKey).getKeyId(), rsa.getKeyId());
+        assertEquals(ES256, ec.getAlgorithm());
+        assertEquals(ecPublicKey, ec.getPublicKey());
+        assertThrows(InvalidKeySpecException.class, () -> JsonWebKey.readPem("not-base64!"));
+        assertThrows(InvalidKeySpecException.class, () -> JsonWebKey.readPem(Base64.getEncoder().encodeToString(new byte[]{0x30, 0x03, 0x30, 0x01, 0x05})));
+    }
+
+    @Test
+    public void readSet_SkipUnsupportedKeys() throws Exception {
+        String jwkSet = "{\"keys\":["
+                + "{\"kty\":\"oct\",\"k\":\"AAAA\"},"
+                + "{\"kty\":\"RSA\",\"use\":\"enc\",\"n\":\"AQAB\",\"e\":\"AQAB\"},"
+                + "{\"kty\":\"EC\",\"crv\":\"P-384\",\"x\":\"AAAA\",\"y\":\"AAAA\"}"
+                + "]}";
+        assertTrue(JsonWebKey.readSet(jwkSet.getBytes(UTF_8)).isEmpty());
+    }
+
+    @Test
+    public void parseHeader_Success() {
+        String header = Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString("{\"alg\":\"ES256\",\"kid\":\"key-1\",\"typ\":\"JWT\"}".getBytes(UTF_8));
+        JwtHeader jwtHeader = JwtHeader.parse((header + ".e30").getBytes(UTF_8));
+        assertEquals(ES256, jwtHeader.getAlgorithm());
+        assertEquals("key-1", jwtHeader.getKeyId());
+    }
+
+    @Test
+    public void parseHeader_WithoutKeyId() {
+        String header = Base64
+                .getUrlEncoder()
+                .withoutPadding()
+                .encodeToString("{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(UTF_8));
+        JwtHeader jwtHeader = JwtHeader.parse((header + ".e30").getBytes(UTF_8));
+        assertNull(jwtHeader.getAlgorithm());
+        assertNull(jwtHeader.getKeyId());
+        assertThrows(IllegalArgumentException.class, () -> JwtHeader.parse("bm90anNvbg.e30".getBytes(UTF_8)));
+    }
+
+    private String pem(PublicKey publicKey) {
+        return "-----BEGIN PUBLIC KEY-----\n"
+                + Base64.getMimeEncoder(64, "\n".getBytes(UTF_8)).encodeToString(publicKey.getEncoded())
+                + "\n-----END PUBLIC KEY-----\n";
+    }
+
+    private PublicKey rsaPublicKey() throws Exception {
+        return rsaKeyPair().getPublic();
+    }
+
+    private KeyPair rsaKeyPair() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("RSA");
+        keyPairGenerator.initialize(2048);
+        return keyPairGenerator.generateKeyPair();
+    }
+
+    private PublicKey ecPublicKey() throws Exception {
+        KeyPairGenerator keyPairGenerator = KeyPairGenerator.getInstance("EC");
+        keyPairGenerator.initialize(new ECGenParameterSpec("secp256r1"));
+        return keyPairGenerator
+                .generateKeyPair()
+                .getPublic();
+    }
+
+}